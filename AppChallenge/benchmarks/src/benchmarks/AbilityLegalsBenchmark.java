@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.abilities.*;
+import logic.units.*;
+
+/**
+ * Benchmarks {@link Ability#getLegals()} and {@link Ability#getLegals(int[])} for every {@link Ability} other than {@link StepMove} (which has
+ * its own {@link StepMoveBenchmark benchmark}), on {@link Board Boards} of every size with different amounts of liquid and obstacles. Each
+ * {@code Ability} belongs to the {@link Unit} that has it in the game, so it has that {@code Unit's} usual range and damage.
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbilityLegalsBenchmark {
+
+	@Param({"" + Board.MIN_ROWS, "8", "14", "" + Board.MAX_ROWS})
+	public int size;
+
+	@Param({"0.0", "0.2", "0.5"})
+	public double liquidPercent;
+
+	@Param({"0.0", "0.08", "0.25"})
+	public double obstaclePercent;
+
+	@Param({"DiamondTeleport", "Shoot", "Lob", "Melee", "Smash", "RadiusSummon", "SquareSingleHeal", "SelfHeal"})
+	public String ability;
+
+	private Ability benchmarked;
+	private int[] buffer;
+
+	@Setup
+	public void setup() {
+		final Unit unit;
+		final Class<? extends Ability> abilityClass;
+		switch(ability) {
+			case "DiamondTeleport": unit = new Assassin(); abilityClass = DiamondTeleport.class; break;
+			case "Shoot": unit = new Goob(); abilityClass = Shoot.class; break;
+			case "Lob": unit = new Lobber(); abilityClass = Lob.class; break;
+			case "Melee": unit = new Assassin(); abilityClass = Melee.class; break;
+			case "Smash": unit = new Brute(); abilityClass = Smash.class; break;
+			case "RadiusSummon": unit = new Summoner(); abilityClass = RadiusSummon.class; break;
+			case "SquareSingleHeal": unit = new Kot(); abilityClass = SquareSingleHeal.class; break;
+			case "SelfHeal": unit = new Summoner(); abilityClass = SelfHeal.class; break;
+			default: throw new IllegalArgumentException("Unknown ability: " + ability);
+		}
+		BenchmarkBoards.build(size, liquidPercent, obstaclePercent, BenchmarkBoards.DEFAULT_SEED, unit);
+		benchmarked = BenchmarkBoards.abilityOf(unit, abilityClass);
+		buffer = new int[Bitboard.CAPACITY];
+	}
+
+	@Benchmark
+	public Collection<int[]> legals() {
+		return benchmarked.getLegals();
+	}
+
+	@Benchmark
+	public int legalsIntoBuffer() {
+		return benchmarked.getLegals(buffer);
+	}
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Compares the two ways the graphics have handed the actions of a turn to the FX Thread, without JavaFX: a single-threaded executor stands in
+ * for the FX Thread, and each action is {@link #actionTokens} tokens of {@link Blackhole#consumeCPU(long) busy work} standing in for executing it
+ * and running its listeners. A turn is {@link #moves} {@code Moves} of {@link #actionsPerMove} actions each.</p>
+ * <ul>
+ * <li>{@link #blockingHandshake()} is how the game used to do it: a worker thread hands over each action with the old
+ * {@code Main.runOnFXAndBlock}, which posts it and then waits (with a volatile flag and {@code wait}/{@code notify}) until it has run, so every
+ * action costs a round trip between the two threads.</li>
+ * <li>{@link #asyncPipeline()} is how {@code TerrainGrid} does it now: each {@code Move} is one stage of a chain of {@link CompletableFuture
+ * CompletableFutures} that runs all of its actions on the FX Thread, and only the end of the turn is waited for.</li>
+ * </ul>
+ * <p>Both are run for throughput (turns per second) and for the distribution of the latency of a turn.</p>
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionPipelineBenchmark {
+
+	@Param({"8"})
+	public int moves;
+
+	/** 1 is a step or a shot, and 9 is a Smash that hits everything around it. */
+	@Param({"1", "3", "9"})
+	public int actionsPerMove;
+
+	@Param({"100"})
+	public long actionTokens;
+
+	private ExecutorService fxThread;
+
+	@Setup
+	public void setup() {
+		fxThread = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Stand-in FX Thread");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		fxThread.shutdownNow();
+	}
+
+	@Benchmark
+	public void blockingHandshake() {
+		final Runnable action = () -> Blackhole.consumeCPU(actionTokens);
+		for(int i = 0; i < moves; i++)
+			for(int j = 0; j < actionsPerMove; j++)
+				runAndBlock(action);
+	}
+
+	@Benchmark
+	public void asyncPipeline() {
+		final Runnable move = () -> {
+			for(int j = 0; j < actionsPerMove; j++)
+				Blackhole.consumeCPU(actionTokens);
+		};
+		CompletableFuture<Void> turn = CompletableFuture.completedFuture(null);
+		for(int i = 0; i < moves; i++)
+			turn = turn.thenRunAsync(move, fxThread);
+		turn.join();
+	}
+
+	/** A copy of the old {@code Main.runOnFXAndBlock}, posting to {@link #fxThread} instead of {@code Platform.runLater}. */
+	private void runAndBlock(Runnable runnable) {
+		class Blocker {
+			volatile Object lock;
+			volatile boolean notified;
+			Blocker(Runnable r) {
+				lock = new Object();
+				notified = false;
+				fxThread.execute(() -> {
+					r.run();
+					notified = true;
+					synchronized(lock) {
+						lock.notify();
+					}
+				});
+				while(!notified) {
+					try {
+						synchronized(lock) {
+							lock.wait();
+						}
+					}
+					catch (InterruptedException e) {}
+				}
+			}
+		}
+		new Blocker(runnable);
+	}
+}
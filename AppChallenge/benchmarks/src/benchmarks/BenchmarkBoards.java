@@ -0,0 +1,112 @@
+package benchmarks;
+
+import java.util.*;
+
+import logic.*;
+import logic.obstacles.ObstacleBase;
+import logic.units.*;
+
+/**
+ * Builds reproducible {@link Board Boards} for the benchmarks. Every random choice comes from the given seed, so that each run of a benchmark
+ * measures the same {@code Boards}.
+ * @author Sam Hooper
+ *
+ */
+final class BenchmarkBoards {
+
+	/** Every benchmark {@link Board} has about one {@link PlayerUnit} and one {@link EnemyUnit} per this many tiles (and at least one of each). */
+	static final int TILES_PER_UNIT = 12;
+	static final long DEFAULT_SEED = 42;
+	/** The size and team of the {@link Board Boards} from {@link #generate(long, double)}, which are those of the game's first level. */
+	static final int GENERATED_SIZE = 8;
+
+	private BenchmarkBoards() {
+	}
+
+	/**
+	 * Returns a new square {@link Board} with {@code size} rows and columns, with the given {@link Unit} in the middle. About
+	 * {@code liquidPercent} of the other tiles are {@link TileType#LIQUID liquid}, and about {@code obstaclePercent} of the remaining solid tiles
+	 * have an {@link Obstacle}. {@link Rex Rexes} and {@link Goob Goobs} are scattered over the rest.
+	 */
+	static Board build(int size, double liquidPercent, double obstaclePercent, long seed, Unit middle) {
+		final Board board = new Board(size, size, Board.DEFAULT_MOVES_PER_PLAYER, Board.DEFAULT_MOVES_PER_ENEMY);
+		final SplittableRandom random = new SplittableRandom(seed);
+		final int center = board.indexOf(size / 2, size / 2);
+		final List<Integer> spots = new ArrayList<>(size * size);
+		for(int i = 0; i < size * size; i++)
+			if(i != center)
+				spots.add(i);
+		shuffle(spots, random);
+		final Iterator<Integer> itr = spots.iterator();
+		final int liquid = (int) Math.round(spots.size() * liquidPercent);
+		for(int i = 0; i < liquid; i++)
+			tileAt(board, itr.next()).setType(TileType.LIQUID);
+		final int solid = spots.size() - liquid;
+		final int obstacles = (int) Math.round(solid * obstaclePercent);
+		for(int i = 0; i < obstacles; i++) {
+			final int index = itr.next();
+			board.addObstacleOrThrow(new ObstacleBase(random.nextBoolean() ? ObstacleSize.LARGE : ObstacleSize.SMALL, 1), board.rowOf(index), board.colOf(index));
+		}
+		board.addUnitOrThrow(middle, size / 2, size / 2);
+		final int units = Math.max(1, size * size / TILES_PER_UNIT);
+		for(int i = 0; i < units && itr.hasNext(); i++) {
+			final int index = itr.next();
+			board.addUnitOrThrow(new Rex(), board.rowOf(index), board.colOf(index));
+		}
+		for(int i = 0; i < units && itr.hasNext(); i++) {
+			final int index = itr.next();
+			board.addUnitOrThrow(new Goob(), board.rowOf(index), board.colOf(index));
+		}
+		return board;
+	}
+
+	/**
+	 * Returns a new {@link Board} made by a {@link BoardGenerator} with the given seed and turn difficulty and the usual team of
+	 * {@link PlayerUnit PlayerUnits}.
+	 */
+	static Board generate(long seed, double turnDifficulty) {
+		return new BoardGenerator()
+				.setRowCount(GENERATED_SIZE)
+				.setColumnCount(GENERATED_SIZE)
+				.setTeamUnits(List.of(new Rex(), new Jules(), new Kot(), new Scales()))
+				.setTurnDifficulty(turnDifficulty)
+				.setSeed(seed)
+				.build();
+	}
+
+	/**
+	 * Adds the given {@link Unit} to a random solid, unoccupied tile of the given {@link Board} and returns {@code true}, or returns
+	 * {@code false} if there is no such tile.
+	 */
+	static boolean addAtRandom(Board board, Unit unit, SplittableRandom random) {
+		final List<Integer> free = new ArrayList<>();
+		for(int i = 0; i < board.getRows() * board.getCols(); i++)
+			if(tileAt(board, i).getType() == TileType.SOLID && !tileAt(board, i).isOccupied())
+				free.add(i);
+		if(free.isEmpty())
+			return false;
+		final int index = free.get(random.nextInt(free.size()));
+		board.addUnitOrThrow(unit, board.rowOf(index), board.colOf(index));
+		return true;
+	}
+
+	/**
+	 * Returns the first of the given {@link Unit Unit's} {@link Ability Abilities} that is an instance of the given class.
+	 * @throws IllegalArgumentException if the {@code Unit} has no such {@code Ability}.
+	 */
+	static <A extends Ability> A abilityOf(Unit unit, Class<A> abilityClass) {
+		for(Ability ability : unit.getAbilitiesUnmodifiable())
+			if(abilityClass.isInstance(ability))
+				return abilityClass.cast(ability);
+		throw new IllegalArgumentException(unit + " has no " + abilityClass.getSimpleName());
+	}
+
+	private static BoardTile tileAt(Board board, int index) {
+		return board.getTileAt(board.rowOf(index), board.colOf(index));
+	}
+
+	private static void shuffle(List<Integer> list, SplittableRandom random) {
+		for(int i = list.size() - 1; i > 0; i--)
+			Collections.swap(list, i, random.nextInt(i + 1));
+	}
+}
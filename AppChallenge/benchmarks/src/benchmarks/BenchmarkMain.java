@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmarks with the {@link GCProfiler}, so that the allocation rate of each benchmark is reported along with its throughput.
+ * The arguments are the same as those of JMH's own main class (for example, a regular expression selecting the benchmarks to run, or
+ * {@code -p size=20} to run with only one value of a parameter).
+ *
+ * <p>Unless a result format or file is given with {@code -rf} or {@code -rff}, the results are also saved as JSON to a file named
+ * {@code jmh-results-<date>-<time>.json} in the working directory, so that the results of different commits can be compared.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class BenchmarkMain {
+
+	private BenchmarkMain() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions commandLine = new CommandLineOptions(args);
+		final ChainedOptionsBuilder builder = new OptionsBuilder()
+				.parent(commandLine)
+				.addProfiler(GCProfiler.class);
+		if(!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue())
+			builder.resultFormat(ResultFormatType.JSON)
+					.result("jmh-results-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+		new Runner(builder.build()).run();
+	}
+}
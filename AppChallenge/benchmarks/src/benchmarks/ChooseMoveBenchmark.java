@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.units.*;
+
+/**
+ * Benchmarks {@link EnemyUnit#chooseMove(Board, int)} for every kind of {@link EnemyUnit}. Each {@code EnemyUnit} is added to a random free tile
+ * of a {@link BoardGenerator generated} {@link Board}, along with {@code extraGoobs} more {@link Goob Goobs} to show how the time grows as
+ * summoned {@code Goobs} pile up.
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChooseMoveBenchmark {
+
+	@Param({"Goob", "Brute", "Assassin", "Lobber", "Summoner"})
+	public String unit;
+
+	@Param({"1", "2", "3"})
+	public long seed;
+
+	@Param({"0", "8", "24"})
+	public int extraGoobs;
+
+	@Param({"1", "2"})
+	public int movesRemaining;
+
+	private Board board;
+	private EnemyUnit chooser;
+
+	@Setup
+	public void setup() {
+		switch(unit) {
+			case "Goob": chooser = new Goob(); break;
+			case "Brute": chooser = new Brute(); break;
+			case "Assassin": chooser = new Assassin(); break;
+			case "Lobber": chooser = new Lobber(); break;
+			case "Summoner": chooser = new Summoner(); break;
+			default: throw new IllegalArgumentException("Unknown unit: " + unit);
+		}
+		board = BenchmarkBoards.generate(seed, MatchSimulator.DEFAULT_TURN_DIFFICULTY);
+		final SplittableRandom random = new SplittableRandom(seed);
+		if(!BenchmarkBoards.addAtRandom(board, chooser, random))
+			throw new IllegalStateException("No room for the " + unit);
+		for(int i = 0; i < extraGoobs && BenchmarkBoards.addAtRandom(board, new Goob(), random); i++);
+	}
+
+	@Benchmark
+	public Move chooseMove() {
+		return chooser.chooseMove(board, movesRemaining);
+	}
+}
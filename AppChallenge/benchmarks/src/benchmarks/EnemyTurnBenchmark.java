@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.units.Goob;
+
+/**
+ * Benchmarks a complete enemy turn, played the way {@link MatchSimulator} plays it: {@link Board#setToEnemyTurn()}, then
+ * {@link Board#nextEnemyMove()} and {@link Move#execute(Board)} until there are no more enemy {@code Moves}, then {@link Board#setToPlayerTurn()}.
+ * The {@link Board} has no listeners, so no graphics are involved.
+ *
+ * <p>Playing a turn changes the {@code Board}, so {@link #enemyTurn()} plays it on a fresh {@link Board#copy() copy} each time.
+ * {@link #copyOnly()} measures just the copy, so that it can be subtracted.</p>
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyTurnBenchmark {
+
+	@Param({"1", "2", "3"})
+	public long seed;
+
+	@Param({"6", "12"})
+	public double turnDifficulty;
+
+	@Param({"0", "8", "24"})
+	public int extraGoobs;
+
+	private Board template;
+
+	@Setup
+	public void setup() {
+		template = BenchmarkBoards.generate(seed, turnDifficulty);
+		final SplittableRandom random = new SplittableRandom(seed);
+		for(int i = 0; i < extraGoobs && BenchmarkBoards.addAtRandom(template, new Goob(), random); i++);
+	}
+
+	@Benchmark
+	public Board enemyTurn() {
+		final Board board = template.copy();
+		board.setToEnemyTurn();
+		while(board.hasNextEnemyMove()) {
+			final Move move = board.nextEnemyMove();
+			if(!move.isEmpty())
+				move.execute(board);
+		}
+		board.setToPlayerTurn();
+		return board;
+	}
+
+	@Benchmark
+	public Board copyOnly() {
+		return template.copy();
+	}
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.abilities.TargetingAbility;
+import logic.ai.AbilityUse;
+
+/**
+ * <p>Benchmarks trying a {@link Move} the way a search does: {@link #makeUnmake()} makes it with {@link Board#makeMove(Move, UndoJournal)} and
+ * takes it back with {@link Board#unmakeMove(UndoJournal, int)}, and {@link #copyThenExecute()} executes it on a fresh {@link Board#copy()
+ * copy}, which is what searches did before the {@link UndoJournal}. Both turn an {@link AbilityUse ability use} into the {@code Move} first,
+ * as the searches do.</p>
+ *
+ * <p>The ability uses are every legal use of every {@link Ability} of every {@link Unit} on a generated {@link Board}, so they include steps,
+ * shots, heals, summons, and kills. Each invocation tries the next one.</p>
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeUnmakeBenchmark {
+
+	@Param({"1", "2", "3"})
+	public long seed;
+
+	@Param({"6", "12"})
+	public double turnDifficulty;
+
+	private Board board;
+	private int[] uses;
+	private UndoJournal journal;
+	private int next;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkBoards.generate(seed, turnDifficulty).copy();
+		final List<Integer> legal = new ArrayList<>();
+		final int[] buffer = new int[Bitboard.CAPACITY];
+		for(int i = 0; i < board.getTileCount(); i++) {
+			final Unit unit = board.getTileAtIndex(i).getUnitOrNull();
+			if(unit == null)
+				continue;
+			for(int a = 0; a < unit.getAbilitiesUnmodifiable().size(); a++) {
+				final Ability ability = AbilityUse.abilityAt(unit, a);
+				final int count = ability.getLegals(buffer);
+				for(int j = 0; j < count; j++)
+					if(!(ability instanceof TargetingAbility) || AbilityUse.targetOf(board, ability, buffer[j]) != null)
+						legal.add(AbilityUse.of(i, a, buffer[j]));
+			}
+		}
+		uses = legal.stream().mapToInt(Integer::intValue).toArray();
+		journal = new UndoJournal();
+	}
+
+	@Benchmark
+	public long makeUnmake() {
+		final int mark = board.makeMove(AbilityUse.toMove(board, nextUse()), journal);
+		final long key = board.getZobristKey();
+		board.unmakeMove(journal, mark);
+		return key;
+	}
+
+	@Benchmark
+	public long copyThenExecute() {
+		final int use = nextUse();
+		final Board copy = board.copy();
+		AbilityUse.toMove(copy, use).execute(copy);
+		return copy.getZobristKey();
+	}
+
+	private int nextUse() {
+		final int use = uses[next];
+		next = next + 1 == uses.length ? 0 : next + 1;
+		return use;
+	}
+}
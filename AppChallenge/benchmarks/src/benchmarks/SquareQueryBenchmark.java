@@ -0,0 +1,94 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.units.*;
+
+/**
+ * <p>Benchmarks square counting queries of {@link TileCategory#PLAYER_UNIT}, centered on every tile of the {@link Board}, made three ways:</p>
+ * <ul>
+ * <li>{@link #tileByTile()}: with a lambda, which {@link Board#countSatisfyingInSquare(int, int, int, Board.TilePredicate)} tests tile by tile,</li>
+ * <li>{@link #fromTables()}: from {@link SquareCounts} that are already up to date, and</li>
+ * <li>{@link #rebuildThenFromTables()}: from {@code SquareCounts} that are rebuilt first, because a {@link Unit} has been moved (taken off its tile
+ * and put back).</li>
+ * </ul>
+ * <p>{@link #bruteChooseMove()} measures {@link Brute#chooseMove(Board, int)}, whose smash checks use the tables, after the same change.
+ * {@link #changeOnly()} measures just the change, so that it can be subtracted.</p>
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SquareQueryBenchmark {
+
+	@Param({"8", "14", "" + Board.MAX_ROWS})
+	public int size;
+
+	@Param({"1", "3"})
+	public int radius;
+
+	private Board board;
+	private Brute brute;
+	/** The {@link Unit} that is taken off its tile and put back to change the {@link Board}. */
+	private Unit moved;
+	private int movedRow, movedCol;
+
+	@Setup
+	public void setup() {
+		brute = new Brute();
+		board = BenchmarkBoards.build(size, 0.2, 0.08, BenchmarkBoards.DEFAULT_SEED, brute);
+		final Bitboard players = board.getPlayerUnitMask();
+		final int index = players.nextSetBit(0);
+		movedRow = board.rowOf(index);
+		movedCol = board.colOf(index);
+		moved = board.getTileAt(movedRow, movedCol).getUnitOrNull();
+	}
+
+	@Benchmark
+	public int tileByTile() {
+		int total = 0;
+		for(int row = 0; row < size; row++)
+			for(int col = 0; col < size; col++)
+				total += board.countSatisfyingInSquare(row, col, radius, tile -> tile.hasPlayerUnit());
+		return total;
+	}
+
+	@Benchmark
+	public int fromTables() {
+		return queryTables(board.getSquareCounts());
+	}
+
+	@Benchmark
+	public int rebuildThenFromTables() {
+		changeOnly();
+		return queryTables(board.getSquareCounts());
+	}
+
+	@Benchmark
+	public Move bruteChooseMove() {
+		changeOnly();
+		return brute.chooseMove(board, Board.DEFAULT_MOVES_PER_ENEMY);
+	}
+
+	@Benchmark
+	public Board changeOnly() {
+		board.removeGameObject(moved, movedRow, movedCol);
+		board.addUnitOrThrow(moved, movedRow, movedCol);
+		return board;
+	}
+
+	private int queryTables(SquareCounts counts) {
+		int total = 0;
+		for(int row = 0; row < size; row++)
+			for(int col = 0; col < size; col++)
+				total += counts.countInSquare(TileCategory.PLAYER_UNIT, row, col, radius, false);
+		return total;
+	}
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import logic.*;
+import logic.abilities.StepMove;
+import logic.units.Goob;
+
+/**
+ * Benchmarks {@link StepMove#getLegals()} and {@link StepMove#getLegals(int[])} over the whole range of distances, on {@link Board Boards} of every
+ * size with different amounts of liquid and obstacles. The {@code StepMove} belongs to a {@link Goob}, which can traverse solid and liquid tiles.
+ * @author Sam Hooper
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepMoveBenchmark {
+
+	@Param({"" + Board.MIN_ROWS, "8", "14", "" + Board.MAX_ROWS})
+	public int size;
+
+	@Param({"0.0", "0.2", "0.5"})
+	public double liquidPercent;
+
+	@Param({"0.0", "0.08", "0.25"})
+	public double obstaclePercent;
+
+	@Param({"" + StepMove.MIN_DISTANCE, "3", "10", "40", "" + StepMove.MAX_DISTANCE})
+	public int distance;
+
+	private StepMove stepMove;
+	private int[] buffer;
+
+	@Setup
+	public void setup() {
+		final Goob goob = new Goob();
+		BenchmarkBoards.build(size, liquidPercent, obstaclePercent, BenchmarkBoards.DEFAULT_SEED, goob);
+		stepMove = goob.getStepMoveAbility();
+		stepMove.setDistance(distance);
+		buffer = new int[Bitboard.CAPACITY];
+	}
+
+	@Benchmark
+	public Collection<int[]> legals() {
+		return stepMove.getLegals();
+	}
+
+	@Benchmark
+	public int legalsIntoBuffer() {
+		return stepMove.getLegals(buffer);
+	}
+}
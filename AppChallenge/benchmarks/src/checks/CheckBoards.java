@@ -0,0 +1,49 @@
+package checks;
+
+import java.util.List;
+
+import logic.*;
+import logic.units.*;
+
+/**
+ * Builds reproducible {@link Board Boards} for the checks.
+ * @author Sam Hooper
+ *
+ */
+final class CheckBoards {
+
+	/** How many {@link Board Boards} most checks compare on. Each is generated with a different seed. */
+	static final int BOARD_COUNT = 150;
+
+	private CheckBoards() {
+	}
+
+	/**
+	 * Returns a new {@link Board} made by a {@link BoardGenerator} with the given seed and the usual team of {@link PlayerUnit PlayerUnits}.
+	 * The turn difficulty is between {@code 6} and {@code 17}, depending on the seed, so that the checks see a range of enemy counts.
+	 */
+	static Board generate(long seed) {
+		return new BoardGenerator()
+				.setTeamUnits(List.of(new Rex(), new Jules(), new Kot(), new Scales()))
+				.setTurnDifficulty(6 + Math.floorMod(seed, 12))
+				.setSeed(seed)
+				.build();
+	}
+
+	/**
+	 * Plays one move of the current enemy turn of the given {@link Board}, and returns {@code false} if there were no enemy moves left.
+	 */
+	static boolean playEnemyMove(Board board) {
+		if(!board.hasNextEnemyMove())
+			return false;
+		final Move move = board.nextEnemyMove();
+		if(!move.isEmpty())
+			move.execute(board);
+		return true;
+	}
+
+	/** Returns {@code true} if neither side of the given {@link Board} has been wiped out. */
+	static boolean bothSidesLeft(Board board) {
+		return board.getPlayerUnitCount() > 0 && board.getEnemyUnitCount() > 0;
+	}
+}
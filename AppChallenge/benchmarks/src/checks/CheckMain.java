@@ -0,0 +1,49 @@
+package checks;
+
+import java.util.*;
+
+/**
+ * Runs the {@link ReferenceCheck ReferenceChecks}, which compare optimized parts of the game logic against simple reference implementations on
+ * generated {@link logic.Board Boards}. The arguments are the names of the checks to run (for example {@code SquareCountsCheck}); with no
+ * arguments, all of them are run. Exits with status {@code 1} if any comparison failed.
+ * 
+ * <p>Run with {@code java -cp target/benchmarks.jar checks.CheckMain} after building this module.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class CheckMain {
+
+	private CheckMain() {
+	}
+
+	private static List<ReferenceCheck> allChecks() {
+		return List.of(
+				new SquareCountsCheck(),
+				new UndoRoundTripCheck(),
+				new ThreatMapCheck(),
+				new ShapeTemplateCheck(),
+				new EnemyTurnScriptCheck(),
+				new GameEngineCheck()
+		);
+	}
+
+	public static void main(String[] args) {
+		final Set<String> names = Set.of(args);
+		long failures = 0;
+		int run = 0;
+		for(ReferenceCheck check : allChecks()) {
+			if(!names.isEmpty() && !names.contains(check.getName()))
+				continue;
+			final long start = System.nanoTime();
+			check.run();
+			run++;
+			failures += check.getFailures();
+			System.out.printf("%s: %d comparisons, %d failed (%.1f s)%n", check.getName(), check.getComparisons(), check.getFailures(),
+					(System.nanoTime() - start) / 1e9);
+		}
+		if(run == 0)
+			throw new IllegalArgumentException("No checks are named " + names);
+		if(failures > 0)
+			System.exit(1);
+	}
+}
@@ -0,0 +1,41 @@
+package checks;
+
+import logic.*;
+import logic.ai.AlphaBetaPlanner;
+
+/**
+ * Checks that an {@link EnemyTurnScript} replays exactly: {@link EnemyTurnScript#plan(Board) planning} an enemy turn and then executing its
+ * {@link Move Moves} on the real {@link Board} must leave it with the same {@link Board#getZobristKey() Zobrist key} and unit masks as the
+ * script's {@link EnemyTurnScript#getResultingBoard() resulting board}. Every third {@code Board} uses an {@link AlphaBetaPlanner} instead of
+ * the default planner.
+ * @author Sam Hooper
+ *
+ */
+final class EnemyTurnScriptCheck extends ReferenceCheck {
+
+	private static final int SCRIPT_BOARD_COUNT = 400;
+
+	@Override
+	void run() {
+		for(int seed = 0; seed < SCRIPT_BOARD_COUNT; seed++) {
+			final Board board = CheckBoards.generate(seed);
+			if(seed % 3 == 1)
+				board.setEnemyPlanner(new AlphaBetaPlanner());
+			for(int turn = 0; turn < 4 && CheckBoards.bothSidesLeft(board); turn++) {
+				board.setToEnemyTurn();
+				final EnemyTurnScript script = EnemyTurnScript.plan(board);
+				for(Move move : script.getMovesUnmodifiable())
+					move.execute(board);
+				board.setToPlayerTurn();
+				final Board expected = script.getResultingBoard();
+				final int s = seed, t = turn;
+				expect(board.getZobristKey() == expected.getZobristKey(), () -> String.format("Board %d, turn %d: Zobrist key %x, expected %x",
+						s, t, board.getZobristKey(), expected.getZobristKey()));
+				expect(board.getPlayerUnitMask().equals(expected.getPlayerUnitMask()), () -> String.format(
+						"Board %d, turn %d: player units %s, expected %s", s, t, board.getPlayerUnitMask(), expected.getPlayerUnitMask()));
+				expect(board.getEnemyUnitMask().equals(expected.getEnemyUnitMask()), () -> String.format(
+						"Board %d, turn %d: enemy units %s, expected %s", s, t, board.getEnemyUnitMask(), expected.getEnemyUnitMask()));
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package checks;
+
+import java.util.*;
+
+import logic.*;
+
+/**
+ * Checks that the {@link GameEvent GameEvents} a {@link GameEngine} reports are enough to follow its {@link Board}: after every enemy turn,
+ * replaying the events of its {@link MoveRecord MoveRecords} onto a copy of where each {@link Unit} was and how much health it had must give
+ * what the {@code Board} has, tile by tile. Every other {@code Board} plays its enemy turns {@link GameEngine#playScriptedEnemyTurn() scripted};
+ * the rest play them {@link GameEngine#playNextEnemyMove() one move at a time}.
+ * @author Sam Hooper
+ *
+ */
+final class GameEngineCheck extends ReferenceCheck {
+
+	@Override
+	void run() {
+		for(int seed = 0; seed < CheckBoards.BOARD_COUNT; seed++) {
+			final Board board = CheckBoards.generate(seed);
+			final int cols = board.getCols();
+			final Map<Integer, GameObject> units = new HashMap<>();
+			final Map<GameObject, Integer> healths = new HashMap<>();
+			for(int i = 0; i < board.getTileCount(); i++) {
+				final Unit unit = board.getTileAtIndex(i).getUnitOrNull();
+				if(unit != null) {
+					units.put(i, unit);
+					healths.put(unit, unit.getHealth());
+				}
+			}
+			final GameEngine engine = new GameEngine(board);
+			try {
+				for(int turn = 0; turn < 4; turn++) {
+					engine.startEnemyTurn().join();
+					final List<MoveRecord> records;
+					if(seed % 2 == 0) {
+						records = engine.playScriptedEnemyTurn().join();
+					}
+					else {
+						records = new ArrayList<>();
+						MoveRecord record;
+						while((record = engine.playNextEnemyMove().join()) != null)
+							records.add(record);
+					}
+					engine.endEnemyTurn().join();
+					for(MoveRecord record : records)
+						for(GameEvent event : record.getEventsUnmodifiable())
+							replay(event, cols, units, healths);
+					final List<String> mismatches = engine.submit(b -> mismatches(b, units, healths)).join();
+					final int s = seed, t = turn;
+					expect(mismatches.isEmpty(), () -> String.format("Board %d, turn %d: %s", s, t, mismatches));
+				}
+			}
+			finally {
+				engine.shutdown();
+			}
+		}
+	}
+
+	private static void replay(GameEvent event, int cols, Map<Integer, GameObject> units, Map<GameObject, Integer> healths) {
+		if(event instanceof GameEvent.Relocated) {
+			final GameEvent.Relocated relocated = (GameEvent.Relocated) event;
+			units.put(relocated.getDestRow() * cols + relocated.getDestCol(), units.remove(relocated.getRow() * cols + relocated.getCol()));
+		}
+		else if(event instanceof GameEvent.HealthChanged) {
+			final GameEvent.HealthChanged changed = (GameEvent.HealthChanged) event;
+			healths.put(changed.getObject(), changed.getHealth());
+		}
+		else if(event instanceof GameEvent.Removed) {
+			final GameEvent.Removed removed = (GameEvent.Removed) event;
+			units.remove(removed.getRow() * cols + removed.getCol(), removed.getObject());
+		}
+		else if(event instanceof GameEvent.Placed) {
+			final GameEvent.Placed placed = (GameEvent.Placed) event;
+			if(placed.getObject() instanceof Unit) {
+				units.put(placed.getRow() * cols + placed.getCol(), placed.getObject());
+				healths.put(placed.getObject(), placed.getHealth());
+			}
+		}
+	}
+
+	/** Returns a description of every tile of the given {@link Board} whose {@link Unit} or its health differs from the replayed events. */
+	private static List<String> mismatches(Board board, Map<Integer, GameObject> units, Map<GameObject, Integer> healths) {
+		final List<String> mismatches = new ArrayList<>();
+		for(int i = 0; i < board.getTileCount(); i++) {
+			final Unit unit = board.getTileAtIndex(i).getUnitOrNull();
+			if(unit != units.get(i))
+				mismatches.add(String.format("(%d, %d) has %s, events say %s", board.rowOf(i), board.colOf(i), unit, units.get(i)));
+			else if(unit != null && unit.getHealth() != healths.get(unit))
+				mismatches.add(String.format("%s has %d health, events say %d", unit, unit.getHealth(), healths.get(unit)));
+		}
+		return mismatches;
+	}
+}
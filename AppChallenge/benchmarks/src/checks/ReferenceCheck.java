@@ -0,0 +1,42 @@
+package checks;
+
+import java.util.function.Supplier;
+
+/**
+ * A comparison of an optimized part of the game logic against a simple reference implementation of the same thing. {@link #run()} makes the
+ * comparisons, reporting each one with {@link #expect(boolean, Supplier)}. {@link CheckMain} runs the checks and reports how many comparisons
+ * failed.
+ * @author Sam Hooper
+ *
+ */
+abstract class ReferenceCheck {
+
+	/** At most this many failures are described on the console, so that a broken check does not flood it. */
+	private static final int MAX_DESCRIBED_FAILURES = 10;
+
+	private long comparisons, failures;
+
+	/** Makes the comparisons of this check. */
+	abstract void run();
+
+	/**
+	 * Records one comparison, which failed if {@code ok} is {@code false}. The description of a failure is only computed if it is printed.
+	 */
+	final void expect(boolean ok, Supplier<String> description) {
+		comparisons++;
+		if(!ok && ++failures <= MAX_DESCRIBED_FAILURES)
+			System.out.printf("  %s failed: %s%n", getName(), description.get());
+	}
+
+	String getName() {
+		return getClass().getSimpleName();
+	}
+
+	long getComparisons() {
+		return comparisons;
+	}
+
+	long getFailures() {
+		return failures;
+	}
+}
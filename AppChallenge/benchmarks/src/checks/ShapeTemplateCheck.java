@@ -0,0 +1,98 @@
+package checks;
+
+import java.util.*;
+
+import logic.*;
+import logic.abilities.*;
+import logic.units.Goob;
+
+/**
+ * Checks the {@link Ability Abilities} and {@link Board} methods that use {@link ShapeTemplate ShapeTemplates} against the offset loops they
+ * used before: {@link DiamondTeleport}, {@link RadiusSummon}, and {@link SquareSingleHeal} with every radius from {@code 1} to {@code 7},
+ * {@link Melee}, and {@link Board#forTilesInSquare(int, int, int, Board.TileConsumer, boolean)} (with and without the center), for every
+ * {@link Unit} after every enemy move. The legal spots must be the same, in the same (row-major) order.
+ * @author Sam Hooper
+ *
+ */
+final class ShapeTemplateCheck extends ReferenceCheck {
+
+	private static final int MAX_RADIUS = 7;
+
+	private final int[] actual = new int[Bitboard.CAPACITY], expected = new int[Bitboard.CAPACITY];
+
+	@Override
+	void run() {
+		for(int seed = 0; seed < CheckBoards.BOARD_COUNT; seed++) {
+			final Board board = CheckBoards.generate(seed);
+			for(int turn = 0; turn < 4 && CheckBoards.bothSidesLeft(board); turn++) {
+				board.setToEnemyTurn();
+				while(CheckBoards.playEnemyMove(board))
+					for(int i = 0; i < board.getTileCount(); i++)
+						if(board.hasUnitAt(i))
+							compareAll(board, board.getTileAtIndex(i).getUnitOrNull());
+				board.setToPlayerTurn();
+			}
+		}
+	}
+
+	private void compareAll(Board board, Unit unit) {
+		final int row = unit.getRow(), col = unit.getCol();
+		for(int radius = 1; radius <= MAX_RADIUS; radius++) {
+			final DiamondTeleport teleport = new DiamondTeleport(unit, radius);
+			int count = 0;
+			for(int i = -radius; i <= radius; i++) {
+				final int width = Math.abs(Math.abs(i) - radius);
+				for(int j = -width; j <= width; j++) {
+					final int r = row + i, c = col + j;
+					if(!board.inBounds(r, c))
+						continue;
+					final int index = board.indexOf(r, c);
+					if(!board.hasUnitAt(index) && !board.hasObstacleAt(index) && teleport.canTraverse(board.getTileAtIndex(index).getType()))
+						expected[count++] = index;
+				}
+			}
+			compare("DiamondTeleport", unit, radius, teleport.getLegals(actual), count);
+			count = squareSpots(board, row, col, radius, false);
+			compare("RadiusSummon", unit, radius, new RadiusSummon(unit, Goob.class, Goob::new, radius).getLegals(actual), count);
+			count = squareSpots(board, row, col, radius, true);
+			compare("SquareSingleHeal", unit, radius, new SquareSingleHeal(unit, 1, radius).getLegals(actual), count);
+			for(boolean includeCenter : new boolean[] {false, true}) {
+				final List<BoardTile> visited = new ArrayList<>(), reference = new ArrayList<>();
+				board.forTilesInSquare(row, col, radius, visited::add, includeCenter);
+				for(int r = row - radius; r <= row + radius; r++)
+					for(int c = col - radius; c <= col + radius; c++)
+						if(board.inBounds(r, c) && (includeCenter || r != row || c != col))
+							reference.add(board.getTileAt(r, c));
+				final int rad = radius;
+				expect(visited.equals(reference), () -> String.format("forTilesInSquare around %s, radius %d, includeCenter %b", unit, rad,
+						includeCenter));
+			}
+		}
+		final Melee melee = new Melee(unit, 1);
+		int count = 0;
+		if(melee.canAttackFrom(board.getTileAt(row, col).getType()))
+			for(int r = row - 1; r <= row + 1; r++)
+				for(int c = col - 1; c <= col + 1; c++)
+					if(board.inBounds(r, c) && (r != row || c != col))
+						expected[count++] = board.indexOf(r, c);
+		compare("Melee", unit, 1, melee.getLegals(actual), count);
+	}
+
+	/**
+	 * Fills {@link #expected} with the tiles other than the center of the square of the given radius around the given tile that are occupied
+	 * (if {@code occupied} is {@code true}) or unoccupied (otherwise), in row-major order, and returns how many there are.
+	 */
+	private int squareSpots(Board board, int row, int col, int radius, boolean occupied) {
+		int count = 0;
+		for(int r = row - radius; r <= row + radius; r++)
+			for(int c = col - radius; c <= col + radius; c++)
+				if((r != row || c != col) && board.inBounds(r, c) && board.isOccupied(r, c) == occupied)
+					expected[count++] = board.indexOf(r, c);
+		return count;
+	}
+
+	private void compare(String ability, Unit unit, int radius, int actualCount, int expectedCount) {
+		expect(Arrays.equals(actual, 0, actualCount, expected, 0, expectedCount), () -> String.format("%s of %s, radius %d: %s, expected %s",
+				ability, unit, radius, Arrays.toString(Arrays.copyOf(actual, actualCount)), Arrays.toString(Arrays.copyOf(expected, expectedCount))));
+	}
+}
@@ -0,0 +1,66 @@
+package checks;
+
+import logic.*;
+
+/**
+ * Checks {@link Board#countSatisfyingInSquare(int, int, int, Board.TilePredicate, boolean)} and
+ * {@link Board#anyInSquare(int, int, int, Board.TilePredicate, boolean)} for each {@link TileCategory}, and {@link SquareCounts#countInSquare}, against
+ * the same queries made with an equivalent lambda, which tests the tiles one by one. After every other enemy move, the {@link SquareCounts} are
+ * queried first, which rebuilds them, so that the {@code Board} queries answer from the tables; after the other moves the tables are left out of
+ * date, so that the {@code Board} queries test the tiles. Every center, including ones outside the {@code Board}, and radii {@code 0} to
+ * {@code 4} are queried.
+ * @author Sam Hooper
+ *
+ */
+final class SquareCountsCheck extends ReferenceCheck {
+
+	private static final int MAX_RADIUS = 4;
+	private static final Board.TilePredicate[] REFERENCES = new Board.TilePredicate[TileCategory.values().length];
+
+	static {
+		REFERENCES[TileCategory.PLAYER_UNIT.ordinal()] = BoardTile::hasPlayerUnit;
+		REFERENCES[TileCategory.ENEMY_UNIT.ordinal()] = BoardTile::hasEnemyUnit;
+		REFERENCES[TileCategory.HAS_HEALTH.ordinal()] = BoardTile::hasHasHealth;
+		REFERENCES[TileCategory.OBSTACLE.ordinal()] = BoardTile::hasObstacle;
+	}
+
+	@Override
+	void run() {
+		for(int seed = 0; seed < CheckBoards.BOARD_COUNT; seed++) {
+			final Board board = CheckBoards.generate(seed);
+			int moves = 0;
+			for(int turn = 0; turn < 4 && CheckBoards.bothSidesLeft(board); turn++) {
+				board.setToEnemyTurn();
+				while(CheckBoards.playEnemyMove(board)) {
+					compareAll(board, ++moves % 2 == 0);
+				}
+				board.setToPlayerTurn();
+			}
+		}
+	}
+
+	private void compareAll(Board board, boolean useTables) {
+		for(int row = -2; row < board.getRows() + 2; row++)
+			for(int col = -2; col < board.getCols() + 2; col++)
+				for(int radius = 0; radius <= MAX_RADIUS; radius++)
+					for(TileCategory category : TileCategory.values())
+						for(boolean includeCenter : new boolean[] {false, true})
+							compare(board, row, col, radius, category, includeCenter, useTables);
+	}
+
+	private void compare(Board board, int row, int col, int radius, TileCategory category, boolean includeCenter, boolean useTables) {
+		final Board.TilePredicate reference = REFERENCES[category.ordinal()];
+		final int expected = board.countSatisfyingInSquare(row, col, radius, reference, includeCenter);
+		if(useTables && radius > 0) {
+			final int fromTables = board.getSquareCounts().countInSquare(category, row, col, radius, includeCenter);
+			expect(fromTables == expected, () -> String.format("table count of %s around (%d, %d), radius %d: %d, expected %d", category, row,
+					col, radius, fromTables, expected));
+		}
+		final int count = board.countSatisfyingInSquare(row, col, radius, category, includeCenter);
+		expect(count == expected, () -> String.format("count of %s around (%d, %d), radius %d: %d, expected %d", category, row, col, radius,
+				count, expected));
+		final boolean any = board.anyInSquare(row, col, radius, category, includeCenter);
+		expect(any == board.anyInSquare(row, col, radius, reference, includeCenter),
+				() -> String.format("any %s around (%d, %d), radius %d: %b", category, row, col, radius, any));
+	}
+}
@@ -0,0 +1,87 @@
+package checks;
+
+import logic.*;
+import logic.abilities.*;
+
+/**
+ * Checks {@link Board#getThreatMap(Turn, int)} against a direct computation: for every tile, the sum over the {@link Unit Units} of the
+ * {@link Turn} of the greatest damage any of their {@link AttackAbility AttackAbilities} could do to it, walking each {@link Shoot} ray tile by
+ * tile. After every enemy move, both {@code Turns} are checked with no transparent tile and with the tile of each {@link EnemyUnit} as the
+ * transparent tile, which is how {@code EnemyUnits} look for a safe spot to move to.
+ * @author Sam Hooper
+ *
+ */
+final class ThreatMapCheck extends ReferenceCheck {
+
+	@Override
+	void run() {
+		for(int seed = 0; seed < CheckBoards.BOARD_COUNT; seed++) {
+			final Board board = CheckBoards.generate(seed);
+			for(int turn = 0; turn < 4 && CheckBoards.bothSidesLeft(board); turn++) {
+				board.setToEnemyTurn();
+				while(CheckBoards.playEnemyMove(board)) {
+					compare(board, -1);
+					final Bitboard enemies = board.getEnemyUnitMask();
+					for(int i = enemies.nextSetBit(0); i >= 0; i = enemies.nextSetBit(i + 1))
+						compare(board, i);
+				}
+				board.setToPlayerTurn();
+			}
+		}
+	}
+
+	private void compare(Board board, int transparentIndex) {
+		for(Turn attackers : Turn.values()) {
+			final ThreatMap map = board.getThreatMap(attackers, transparentIndex);
+			for(int i = 0; i < board.getTileCount(); i++) {
+				final int expected = expectedDamage(board, attackers, i, transparentIndex), actual = map.damageAt(i);
+				final int index = i;
+				expect(actual == expected, () -> String.format("%s threat at (%d, %d), transparent tile %d: %d, expected %d", attackers,
+						board.rowOf(index), board.colOf(index), transparentIndex, actual, expected));
+			}
+		}
+	}
+
+	private static int expectedDamage(Board board, Turn attackers, int target, int transparentIndex) {
+		int total = 0;
+		for(int i = 0; i < board.getTileCount(); i++) {
+			final Unit unit = board.getTileAtIndex(i).getUnitOrNull();
+			if(unit == null || (unit instanceof PlayerUnit) != (attackers == Turn.PLAYER))
+				continue;
+			int best = 0;
+			for(Ability ability : unit.getAbilitiesUnmodifiable())
+				best = Math.max(best, damage(board, unit, ability, board.rowOf(target), board.colOf(target), transparentIndex));
+			total += best;
+		}
+		return total;
+	}
+
+	/** Returns the damage the given {@link Ability} of the given {@link Unit} could do to the given tile from where the {@code Unit} is. */
+	private static int damage(Board board, Unit unit, Ability ability, int row, int col, int transparentIndex) {
+		final int r = unit.getRow(), c = unit.getCol();
+		if(!(ability instanceof AttackAbility) || !((AttackAbility) ability).canAttackFrom(board.getTileAt(r, c).getType()))
+			return 0;
+		if(row == r && col == c)
+			return 0;
+		final int chebyshev = Math.max(Math.abs(row - r), Math.abs(col - c));
+		if(ability instanceof Melee)
+			return chebyshev == 1 ? ((Melee) ability).damageProperty().get() : 0;
+		if(ability instanceof Smash)
+			return chebyshev <= ((Smash) ability).getRadius() ? ((Smash) ability).damageProperty().get() : 0;
+		if(row != r && col != c)
+			return 0;
+		final int distance = Math.abs(row - r) + Math.abs(col - c);
+		if(ability instanceof Lob)
+			return distance >= Math.max(1, ((Lob) ability).getMinimumDistance()) ? ((Lob) ability).damageProperty().get() : 0;
+		if(ability instanceof Shoot) {
+			final int dRow = Integer.signum(row - r), dCol = Integer.signum(col - c);
+			for(int k = 1; k < distance; k++) {
+				final int between = board.indexOf(r + k * dRow, c + k * dCol);
+				if(between != transparentIndex && board.isOccupied(r + k * dRow, c + k * dCol))
+					return 0;
+			}
+			return ((Shoot) ability).damageProperty().get();
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,151 @@
+package checks;
+
+import java.util.*;
+
+import logic.*;
+import logic.actions.*;
+import logic.ai.AbilityUse;
+import logic.abilities.TargetingAbility;
+
+/**
+ * Checks that {@link Board#unmakeMove(UndoJournal, int)} restores everything that {@link Board#makeMove(Move, UndoJournal)} changed. On a
+ * {@link Board#copy() copy} of each {@link Board}, random legal ability uses are made. After about one in three of them, that use is unmade
+ * and the {@code Board} is compared with a snapshot taken just before it; at the end, the whole sequence is unmade and compared with the
+ * starting snapshot. A snapshot holds the {@link TileType} and objects of every tile, the {@link Board#getZobristKey() Zobrist key}, the
+ * occupancy masks, the {@link PlayerUnit} counts of every row and column, and the health, alive state, position, and {@code Board} of every
+ * {@link GameObject} that was on the {@code Board} when it was taken (including whether {@link Board#isOnBoard(Unit)} finds each {@link Unit}). After
+ * every make and unmake, the Zobrist key must also equal that of a fresh copy, which computes it from scratch.
+ *
+ * <p>The check also makes sure that it saw every kind of {@link Action} ({@link Relocate}, {@link FireProjectile}, {@link ChangeHealth}, and
+ * {@link PlaceObject}) and at least one kill.</p>
+ * @author Sam Hooper
+ *
+ */
+final class UndoRoundTripCheck extends ReferenceCheck {
+
+	private static final int STEPS_PER_BOARD = 200;
+
+	private final UndoJournal journal = new UndoJournal();
+	private final int[] legals = new int[Bitboard.CAPACITY];
+	private final Map<Class<?>, Integer> actionCounts = new HashMap<>();
+	private int kills;
+
+	@Override
+	void run() {
+		final SplittableRandom random = new SplittableRandom(1);
+		for(int seed = 0; seed < CheckBoards.BOARD_COUNT; seed++)
+			checkBoard(CheckBoards.generate(seed).copy(), random, seed);
+		for(Class<?> type : List.of(Relocate.class, FireProjectile.class, ChangeHealth.class, PlaceObject.class))
+			expect(actionCounts.getOrDefault(type, 0) > 0, () -> "no " + type.getSimpleName() + " was made");
+		expect(kills > 0, () -> "nothing was killed");
+	}
+
+	private void checkBoard(Board board, SplittableRandom random, int seed) {
+		final Set<GameObject> startObjects = objectsOn(board);
+		final String start = snapshot(board, startObjects);
+		final int startMark = journal.mark();
+		for(int step = 0; step < STEPS_PER_BOARD; step++) {
+			final int use = randomUse(board, random);
+			if(use < 0)
+				break;
+			final Move move = AbilityUse.toMove(board, use);
+			for(Action action : move.getActionsUnmodifiable())
+				actionCounts.merge(action.getClass(), 1, Integer::sum);
+			final int objectsBefore = objectCount(board);
+			final Set<GameObject> objectsBeforeMove = objectsOn(board);
+			final String before = snapshot(board, objectsBeforeMove);
+			final int mark = board.makeMove(move, journal);
+			if(objectCount(board) < objectsBefore)
+				kills++;
+			compareKeyWithCopy(board, seed, step);
+			if(random.nextInt(3) == 0) {
+				board.unmakeMove(journal, mark);
+				final String after = snapshot(board, objectsBeforeMove);
+				final int s = step;
+				expect(after.equals(before), () -> String.format("board %d, step %d: unmaking %s did not restore the board", seed, s,
+						AbilityUse.toString(use)));
+				compareKeyWithCopy(board, seed, step);
+			}
+		}
+		board.unmakeMove(journal, startMark);
+		final String end = snapshot(board, startObjects);
+		expect(end.equals(start), () -> String.format("board %d: unmaking every move did not restore the board", seed));
+	}
+
+	private void compareKeyWithCopy(Board board, int seed, int step) {
+		final long key = board.getZobristKey(), fresh = board.copy().getZobristKey();
+		expect(key == fresh, () -> String.format("board %d, step %d: Zobrist key %x, but a copy has %x", seed, step, key, fresh));
+	}
+
+	/** Returns a random legal ability use of a random {@link Unit} on the given {@link Board}, or {@code -1} if it found none. */
+	private int randomUse(Board board, SplittableRandom random) {
+		final List<Integer> units = new ArrayList<>();
+		for(int i = 0; i < board.getTileCount(); i++)
+			if(board.hasUnitAt(i))
+				units.add(i);
+		for(int attempt = 0; attempt < 20 && !units.isEmpty(); attempt++) {
+			final int unitIndex = units.get(random.nextInt(units.size()));
+			final Unit unit = board.getTileAtIndex(unitIndex).getUnitOrNull();
+			final int abilityIndex = random.nextInt(unit.getAbilitiesUnmodifiable().size());
+			final Ability ability = AbilityUse.abilityAt(unit, abilityIndex);
+			final int count = ability.getLegals(legals);
+			if(count == 0)
+				continue;
+			final int dest = legals[random.nextInt(count)];
+			if(ability instanceof TargetingAbility && AbilityUse.targetOf(board, ability, dest) == null)
+				continue;
+			return AbilityUse.of(unitIndex, abilityIndex, dest);
+		}
+		return -1;
+	}
+
+	private static int objectCount(Board board) {
+		return board.getPlayerUnitCount() + board.getEnemyUnitCount() + board.getObstacleMask().cardinality();
+	}
+
+	/** Returns a new identity-based {@link Set} of the {@link GameObject GameObjects} on the given {@link Board}. */
+	private static Set<GameObject> objectsOn(Board board) {
+		final Set<GameObject> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(int i = 0; i < board.getTileCount(); i++)
+			objects.addAll(board.getTileAtIndex(i).getObjectsUnmodifiable());
+		return objects;
+	}
+
+	/**
+	 * Returns a description of everything about the given {@link Board} that unmaking must restore, including the state of each of the given
+	 * {@link GameObject GameObjects}, whether or not it is still on the {@code Board}.
+	 */
+	private static String snapshot(Board board, Set<GameObject> objects) {
+		final StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < board.getTileCount(); i++) {
+			final BoardTile tile = board.getTileAtIndex(i);
+			sb.append(tile.getType()).append('[');
+			for(GameObject object : tile.getObjectsUnmodifiable())
+				sb.append(System.identityHashCode(object)).append(' ');
+			sb.append(']');
+		}
+		sb.append("\nkey=").append(board.getZobristKey())
+				.append(" players=").append(board.getPlayerUnitMask())
+				.append(" enemies=").append(board.getEnemyUnitMask())
+				.append(" obstacles=").append(board.getObstacleMask())
+				.append(" liquid=").append(board.getLiquidMask());
+		sb.append("\nrows=");
+		for(int r = 0; r < board.getRows(); r++)
+			sb.append(board.getPlayerUnitCountInRow(r)).append(',');
+		sb.append(" cols=");
+		for(int c = 0; c < board.getCols(); c++)
+			sb.append(board.getPlayerUnitCountInCol(c)).append(',');
+		final List<String> descriptions = new ArrayList<>();
+		for(GameObject object : objects) {
+			String description = System.identityHashCode(object) + "@" + object.getRow() + "," + object.getCol() + " on=" + (object.getBoard() == board);
+			if(object instanceof HasHealth)
+				description += " health=" + ((HasHealth) object).getHealth() + " alive=" + ((HasHealth) object).isAlive();
+			if(object instanceof Unit)
+				description += " isOnBoard=" + board.isOnBoard((Unit) object);
+			descriptions.add(description);
+		}
+		Collections.sort(descriptions);
+		sb.append('\n').append(descriptions);
+		return sb.toString();
+	}
+}
@@ -104,8 +104,12 @@ public abstract class AbilityPane extends StackPane	{
 	protected final VBox bottomVBox;
 	protected final Ability ability;
 	protected final Button button;
-	/** can optionally be used by subclasses store the legal moves computed in the select method for use in the deselect method. */
-	protected Collection<int[]> legalsCache = null;
+	/** can optionally be used by subclasses store the legal moves computed in the select method for use in the deselect method. The first
+	 * {@link #legalsCacheCount} elements are the {@link Board#indexOf(int, int) packed indices} of the legal spots. */
+	protected final int[] legalsCache = new int[Bitboard.CAPACITY];
+	protected int legalsCacheCount = 0;
+	/** Removes, when run, one of the listeners this {@code AbilityPane} has added. See {@link #dispose()}. */
+	private final List<Runnable> listenerRemovers = new ArrayList<>();
 	private boolean selected;
 	private boolean selectionEnabled;
 	
@@ -127,12 +131,12 @@ public abstract class AbilityPane extends StackPane	{
 		this.selectionEnabled = true;
 		if(unit instanceof PlayerUnit) {
 			PlayerUnit pu = (PlayerUnit) unit;
-			pu.movesRemainingProperty().addChangeListener((oldValue, newValue) -> {
+			listen(pu.movesRemainingProperty(), (oldValue, newValue) -> Main.FX_EXECUTOR.execute(() -> { //changed on the game logic thread.
 				if(newValue == 0)
 					disableSelection();
 				else
 					enableSelection();
-			});
+			}));
 			if(pu.getMovesRemaining() == 0)
 				disableSelection();
 		}
@@ -155,10 +159,26 @@ public abstract class AbilityPane extends StackPane	{
 	protected void prop(IntRef property, IntToString list) {
 		Label label = new Label();
 		label.setText(list.convert(property.get()));
-		property.addChangeListener((o, n) -> label.setText(list.convert(n))); //TODO do we need to remove the listeners at some point?
+		listen(property, (o, n) -> Main.FX_EXECUTOR.execute(() -> label.setText(list.convert(n))));
 		bottomVBox.getChildren().add(label);
 	}
 	
+	/** Adds the given listener to the given property, and remembers to remove it in {@link #dispose()}. */
+	private void listen(IntRef property, IntChangeListener listener) {
+		property.addChangeListener(listener);
+		listenerRemovers.add(() -> property.removeChangeListener(listener));
+	}
+	
+	/**
+	 * Removes the listeners this {@code AbilityPane} has added to its {@link Ability} and {@link Unit}. Must be called once this
+	 * {@code AbilityPane} will no longer be shown, so that it can be garbage collected.
+	 */
+	public void dispose() {
+		for(Runnable remover : listenerRemovers)
+			remover.run();
+		listenerRemovers.clear();
+	}
+	
 	protected void prop(IntRef property, String name) {
 		prop(property, v -> name + ":" + v);
 	}
@@ -179,8 +199,12 @@ public abstract class AbilityPane extends StackPane	{
 		return selected;
 	}
 	
+	/**
+	 * Selects this {@code AbilityPane}, unless it is already selected or the {@link TerrainGrid} is still showing a {@link Move} (see
+	 * {@link TerrainGrid#isIdle()}), in which case this method does nothing.
+	 */
 	public final void select() {
-		if(!isSelected()) {
+		if(!isSelected() && Level.current().getTerrainPane().getGrid().isIdle()) {
 			selectAction();
 			selected = true;
 		}
@@ -201,9 +225,10 @@ public abstract class AbilityPane extends StackPane	{
 		final AbilityInfoPanel abilityInfoPanel = Level.current().getInfoPanel().getAbilityInfoPanel();
 		abilityInfoPanel.setSelectedAbilityPane(this);
 		TerrainGrid grid = Level.current().getTerrainPane().getGrid();
-		legalsCache = ability.getLegals();
-		for(int[] legalSpot : legalsCache) {
-			final TerrainTile tile = grid.getTileAt(legalSpot[0], legalSpot[1]);
+		final Board board = grid.getBackingBoard();
+		legalsCacheCount = ability.getLegals(legalsCache);
+		for(int i = 0; i < legalsCacheCount; i++) {
+			final TerrainTile tile = grid.getTileAt(board.rowOf(legalsCache[i]), board.colOf(legalsCache[i]));
 			if(ability instanceof TargetingAbility) {
 				for(GameObjectRepresentation rep : tile.getGameObjectRepresentations()) {
 					if(((TargetingAbility) ability).canTarget(rep.getGameObject())) {
@@ -228,8 +253,9 @@ public abstract class AbilityPane extends StackPane	{
 	public void deselectAction() {
 		Level.current().getInfoPanel().getAbilityInfoPanel().clearSelectedAbilityPane();
 		TerrainGrid grid = Level.current().getTerrainPane().getGrid();
-		for(int[] legalSpot : legalsCache) {
-			final TerrainTile tile = grid.getTileAt(legalSpot[0], legalSpot[1]);
+		final Board board = grid.getBackingBoard();
+		for(int i = 0; i < legalsCacheCount; i++) {
+			final TerrainTile tile = grid.getTileAt(board.rowOf(legalsCache[i]), board.colOf(legalsCache[i]));
 			tile.clearAllHighlights();
 			tile.clearGameObjectHighlights();
 			tile.setUseCandidate(false);
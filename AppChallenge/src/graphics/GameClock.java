@@ -0,0 +1,85 @@
+package graphics;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+
+import javafx.animation.Transition;
+import javafx.util.Duration;
+
+/**
+ * <p>The global game speed. Every {@link Transition} and every delay between {@link logic.Move Moves} is given in terms of normal speed and
+ * scaled by this class, so that the {@link #getSpeed() current speed} applies to all of them. The speed can be changed at any time; it
+ * affects animations and delays that start afterwards.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class GameClock {
+	
+	public enum Speed {
+		NORMAL("1x", 1), DOUBLE("2x", 2), QUADRUPLE("4x", 4),
+		/** Nothing is animated and there are no delays. */
+		INSTANT("Instant", Double.POSITIVE_INFINITY);
+		
+		private final String label;
+		private final double factor;
+		
+		Speed(String label, double factor) {
+			this.label = label;
+			this.factor = factor;
+		}
+		
+		/** Returns how many times faster than normal this speed is. {@link #INSTANT} is infinitely fast. */
+		public double getFactor() {
+			return factor;
+		}
+		
+		/** Returns the speed after this one, going back to {@link #NORMAL} after {@link #INSTANT}. */
+		public Speed next() {
+			Speed[] values = values();
+			return values[(ordinal() + 1) % values.length];
+		}
+		
+		@Override
+		public String toString() {
+			return label;
+		}
+	}
+	
+	private static volatile Speed speed = Speed.NORMAL;
+	
+	private GameClock() {}
+	
+	public static Speed getSpeed() {
+		return speed;
+	}
+	
+	/** May be called from any thread. */
+	public static void setSpeed(Speed speed) {
+		GameClock.speed = Objects.requireNonNull(speed);
+	}
+	
+	/**
+	 * Returns {@code true} if the current speed is {@link Speed#INSTANT}, in which case animations should be skipped entirely.
+	 */
+	public static boolean isInstant() {
+		return speed == Speed.INSTANT;
+	}
+	
+	/**
+	 * Returns the {@link Duration} that something that takes the given number of milliseconds at normal speed takes at the current speed.
+	 */
+	public static Duration duration(double normalMillis) {
+		return Duration.millis(normalMillis / speed.getFactor());
+	}
+	
+	/**
+	 * Returns an {@link Executor} that runs tasks on the FX Thread after a delay of the given number of milliseconds at normal speed, scaled to the
+	 * current speed. At {@link Speed#INSTANT}, it is {@link Main#FX_EXECUTOR}.
+	 */
+	public static Executor delay(long normalMillis) {
+		Speed current = speed;
+		if(current == Speed.INSTANT)
+			return Main.FX_EXECUTOR;
+		return CompletableFuture.delayedExecutor(Math.round(normalMillis / current.getFactor()), TimeUnit.MILLISECONDS, Main.FX_EXECUTOR);
+	}
+}
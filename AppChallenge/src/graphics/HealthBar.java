@@ -5,10 +5,11 @@ import javafx.geometry.Pos;
 import javafx.scene.layout.*;
 import javafx.scene.Node;
 import logic.HasHealth;
-import utils.IntChangeListener;
 
 /**
- * A Health bar that can be used to display a {@link HasHealth}'s health.
+ * A Health bar that can be used to display a {@link HasHealth}'s health. It does not listen to the {@code HasHealth}, which is changed on the
+ * {@link logic.GameEngine game logic thread}; the health it displays is {@link #showHealth(int) set} from the
+ * {@link logic.GameEvent GameEvents} that report the changes.
  * @author Sam Hooper
  *
  */
@@ -23,11 +24,8 @@ public class HealthBar extends HBox {
 	private static final ImageInfo MISSING_HEALTH_POINT_INFO = new ImageInfo("MissingHealthPoint.png");
 	private static final double HEALTH_BAR_SPACING = 2;
 	
-	private final IntChangeListener healthListener = (oldValue, newValue) -> {
-		clearAndfillHealthBar();
-	};
-	
 	private HasHealth gameObject;
+	private int health;
 	private boolean displayOnMax;
 	
 	public HealthBar(boolean displayWhenAtMaxHealth) {
@@ -37,10 +35,18 @@ public class HealthBar extends HBox {
 		this.setAlignment(Pos.CENTER);
 	}
 	
+	/**
+	 * Loads the images of the health points, so that {@link HealthBar HealthBars} do not have to. May be called from any thread.
+	 */
+	static void loadImages() {
+		HEALTH_POINT_INFO.getImage();
+		MISSING_HEALTH_POINT_INFO.getImage();
+	}
+	
 	private void clearAndfillHealthBar() {
 		getChildren().clear();
 		int pointsAdded = 0;
-		int currentHealth = gameObject.getHealth();
+		int currentHealth = health;
 		int maxHealth = gameObject.getMaxHealth();
 		if(!displayOnMax && currentHealth == maxHealth)
 			return;
@@ -59,23 +65,46 @@ public class HealthBar extends HBox {
 	}
 	
 	/**
-	 * Sets the current {@link HasHealth} to the given one. Updates the displayed health points
-	 * as appropriate, and adds a listener to the {@code HasHealth} so that future changes to
-	 * its health are automatically reflected on this {@link HealthBar}.
+	 * Sets the current {@link HasHealth} to the given one, displaying its current health. Must only be called while the {@code HasHealth} is
+	 * not being changed by another thread.
 	 */
 	public void setGameObject(HasHealth gameObject) {
+		setGameObject(gameObject, gameObject.getHealth());
+	}
+	
+	/**
+	 * Sets the current {@link HasHealth} to the given one, displaying the given health.
+	 */
+	public void setGameObject(HasHealth gameObject, int health) {
 		this.gameObject = gameObject;
+		this.health = health;
 		clearAndfillHealthBar();
-		gameObject.healthProperty().addChangeListener(healthListener);
 	}
 	
 	/**
-	 * Removes all children from this {@link Node} and unlinks the {@link IntChangeListener}s
-	 * that are listening to the current {@link HasHealth}. Sets the current game object to {@code null}.
+	 * Sets the displayed health to the given value. The health points are redrawn once per {@link UpdateBatch}.
+	 */
+	public void showHealth(int health) {
+		this.health = health;
+		UpdateBatch.runOrDefer(this, () -> {
+			if(this.gameObject != null)
+				clearAndfillHealthBar();
+		});
+	}
+	
+	/**
+	 * Returns the health that is displayed, which may be behind the health of the {@link #getGameObject() game object} while changes to it are
+	 * still being shown.
+	 */
+	public int getDisplayedHealth() {
+		return health;
+	}
+	
+	/**
+	 * Removes all children from this {@link Node}. Sets the current game object to {@code null}.
 	 */
 	public void clearGameObject() {
 		getChildren().clear();
-		gameObject.healthProperty().removeChangeListener(healthListener);
 		gameObject = null;
 	}
 	
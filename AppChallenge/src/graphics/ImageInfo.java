@@ -8,14 +8,15 @@ import javafx.scene.image.Image;
 /**
  * A data class for storing an {@link javafx.scene.image.Image} and its filename. The {@link #getImage()} method returns the image. The
  * image is computed only once, at the first time that {@link #getImage()} is called. The value is cached so later calls to {@link #getImage()}
- * just returned the already computed {@code Image}.
+ * just returned the already computed {@code Image}. {@link #getImage()} may be called from any thread, so images can be loaded in the background
+ * (see {@link LevelPreparer}) before the FX thread needs them.
  * @author Sam Hooper
  *
  */
 public final class ImageInfo {
 	
 	private final String filename;
-	private Image image; //lazy initialized, so not final
+	private volatile Image image; //lazy initialized, so not final
 	
 	public ImageInfo(String filename) {
 		Objects.requireNonNull(filename);
@@ -28,9 +29,15 @@ public final class ImageInfo {
 	}
 	
 	public Image getImage() {
-		if(image == null)
-			image = Images.getImage(filename);
-		return image;
+		Image result = image;
+		if(result == null) {
+			synchronized(this) {
+				result = image;
+				if(result == null)
+					image = result = Images.getImage(filename);
+			}
+		}
+		return result;
 	}
 	
 }
@@ -11,7 +11,10 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import logic.EnemyPlanner;
 import logic.Turn;
+import logic.ai.AlphaBetaPlanner;
+import logic.ai.MonteCarloPlanner;
 
 /**
  * @author Sam Hooper
@@ -25,6 +28,10 @@ public class Level extends Scene {
 	private static final double SIDE_PANEL_SCREEN_PERCENT = 0.15; //percentage of the screen the InfoPanel will take up
 	private static final int MOVES_PER_ENEMY_UNIT = 2;
 	private static final int MOVES_PER_PLAYER_UNIT = 2;
+	/** Levels with at least this number use an {@link AlphaBetaPlanner} for the enemy. Earlier levels use {@link EnemyPlanner#GREEDY}. */
+	private static final int SEARCH_PLANNER_MIN_LEVEL = 3;
+	/** Levels with at least this number use a {@link MonteCarloPlanner}, which plans for the whole enemy team, instead. */
+	private static final int TEAM_PLANNER_MIN_LEVEL = 6;
 	private static final ImageInfo buttonInfo = new ImageInfo("EndTurnButton.png");
 	private static final ImageInfo buttonDisabledInfo = new ImageInfo("EndTurnButtonDisabled.png");
 	/**
@@ -42,9 +49,16 @@ public class Level extends Scene {
 	/** The left component of {@link #borderPane} */
 	private final VBox buttonPane;
 	private final Button endTurnButton;
+	/** Cycles through the {@link GameClock.Speed GameClock speeds}. */
+	private final Button speedButton;
+	/** {@link TerrainGrid#skipToEndOfTurn() Skips} to the end of the enemy turn. Only enabled during the enemy turn. */
+	private final Button skipButton;
+	/** Toggles the {@link TerrainGrid#setDangerShown(boolean) danger overlay}. */
+	private final Button dangerButton;
 	/** The center component of {@link #borderPane} */
 	private final TerrainPane terrainPane;
 	private final Theme theme;
+	private final int number;
 	//the sum of the difficulties of the EnemyUnits added on each turn must be no more than twice turnDifficulty.
 	private final double turnDifficulty;
 	/**The Property that {@link #stackRoot}'s widthProperty will be bound to. */
@@ -68,30 +82,56 @@ public class Level extends Scene {
 
 	
 	
-	public Level() {
-		this(DEFAULT_WIDTH, DEFAULT_HEIGHT, DEFAULT_THEME);
+	public Level(PreparedLevel prepared) {
+		this(prepared, DEFAULT_WIDTH, DEFAULT_HEIGHT);
 	}
 	
-	public Level(int width, int height, Theme theme) {
+	/**
+	 * Creates the {@link Level} for the given {@link PreparedLevel}, {@link PreparedLevel#attachTeam(java.util.List) attaching} the {@link Main#getPlayer() player's}
+	 * units to its {@link logic.Board Board}. Must be called on the FX Thread.
+	 */
+	public Level(PreparedLevel prepared, double width, double height) {
 		super(makeRoot(), width, height);
 		
-		this.theme = theme;
-		this.turnDifficulty = 6; //must be set before terrainPane construction. TODO make it a constant
+		this.theme = prepared.getTheme();
+		this.number = prepared.getNumber();
+		this.turnDifficulty = prepared.getTurnDifficulty(); //must be set before terrainPane construction.
 		
 		borderPane = new BorderPane();
 		final DoubleBinding sidePanelWidthBinding = borderPane.widthProperty().multiply(SIDE_PANEL_SCREEN_PERCENT);
 		endTurnButton = new Button("END TURN");
 		endTurnButton.setFont(Font.font("Lucida Console",FontWeight.BOLD, 16));
+		speedButton = new Button(speedButtonText());
+		speedButton.setFont(Font.font("Lucida Console",FontWeight.BOLD, 16));
+		speedButton.setOnMouseClicked(actionEvent -> {
+			GameClock.setSpeed(GameClock.getSpeed().next());
+			speedButton.setText(speedButtonText());
+		});
+		skipButton = new Button("SKIP TURN");
+		skipButton.setFont(Font.font("Lucida Console",FontWeight.BOLD, 16));
+		skipButton.setDisable(true);
+		skipButton.setOnMouseClicked(actionEvent -> {
+			skipButton.setDisable(true);
+			getTerrainPane().getGrid().skipToEndOfTurn();
+		});
+		dangerButton = new Button(dangerButtonText(false));
+		dangerButton.setFont(Font.font("Lucida Console",FontWeight.BOLD, 16));
+		dangerButton.setOnMouseClicked(actionEvent -> {
+			TerrainGrid grid = getTerrainPane().getGrid();
+			grid.setDangerShown(!grid.isDangerShown());
+			dangerButton.setText(dangerButtonText(grid.isDangerShown()));
+		});
 		endTurnButton.setOnMouseClicked(actionEvent -> {
 			endTurnButton.setDisable(true);
+			skipButton.setDisable(false);
 			playEnemyTurn();
 		});
-		buttonPane = new VBox(endTurnButton);
+		buttonPane = new VBox(10, endTurnButton, speedButton, skipButton, dangerButton);
 		buttonPane.setPadding(new Insets(10));
 		buttonPane.setAlignment(Pos.TOP_CENTER);
 		buttonPane.prefWidthProperty().bind(sidePanelWidthBinding);
 		
-		terrainPane = new TerrainPane(this, theme);
+		terrainPane = new TerrainPane(this, prepared);
 		
 		infoPanel = new InfoPanel();
 		infoPanel.prefWidthProperty().bind(sidePanelWidthBinding);
@@ -123,6 +163,14 @@ public class Level extends Scene {
 		terrainPane.playEnemyTurn();
 	}
 	
+	private static String speedButtonText() {
+		return "SPEED: " + GameClock.getSpeed();
+	}
+	
+	private static String dangerButtonText(boolean shown) {
+		return "DANGER: " + (shown ? "ON" : "OFF");
+	}
+	
 	/* It is static so that we can call it inside the "super" call in the constructor. */
 	private static Pane makeRoot() {
 		return new Pane();
@@ -140,23 +188,40 @@ public class Level extends Scene {
 		return theme;
 	}
 	
+	/**
+	 * Returns the number of this {@link Level}. The first level is number {@code 1}.
+	 */
+	public int getNumber() {
+		return number;
+	}
+	
 	public double getTurnDifficulty() {
 		return turnDifficulty;
 	}
 	
+	/**
+	 * Returns a new {@link EnemyPlanner} for the enemy AI of this {@link Level}, chosen based on its {@link #getNumber() number}, so that later
+	 * levels face a stronger enemy without more enemies.
+	 */
+	public EnemyPlanner createEnemyPlanner() {
+		if(number >= TEAM_PLANNER_MIN_LEVEL)
+			return new MonteCarloPlanner();
+		if(number >= SEARCH_PLANNER_MIN_LEVEL)
+			return new AlphaBetaPlanner();
+		return EnemyPlanner.GREEDY;
+	}
+	
 	public Turn getTurn() {
 		return terrainPane.getTurn();
 	}
 
 	/**
-	 * Called to notify when the enemy turn finishes. Must not be called on FX Thread.
+	 * Called to notify when the enemy turn finishes. Must be called on FX Thread.
 	 */
 	public void enemyTurnFinished() {
-		Main.runOnFXAndBlock(() -> {
-			getInfoPanel().getAbilityInfoPanel().updateMovesRemaining();
-			endTurnButton.setDisable(false);
-			
-		});
+		getInfoPanel().getAbilityInfoPanel().updateMovesRemaining();
+		endTurnButton.setDisable(false);
+		skipButton.setDisable(true);
 	}
 	
 	public int getMovesPerEnemyUnit() {
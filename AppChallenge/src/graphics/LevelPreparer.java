@@ -0,0 +1,81 @@
+package graphics;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import logic.*;
+
+/**
+ * <p>Builds the {@link PreparedLevel model} of a {@link Level} off the FX thread. {@link #prepareAsync(int, List)} is called when a level starts, so
+ * that the next one's {@link Board} is generated and the images it uses are decoded while the
+ * player is still playing. When the level switches, the FX thread only has to build the nodes and attach them to a new {@link Level}.</p>
+ * 
+ * <p>Levels are prepared one at a time on a single daemon thread, in the order they are requested.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class LevelPreparer {
+	
+	public static final int BOARD_SIZE = 8;
+	/** The turn difficulty of every level. */
+	public static final double TURN_DIFFICULTY = 6;
+	
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Level Preparer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private LevelPreparer() {}
+	
+	/**
+	 * Starts preparing the level with the given number for the given team in the background, and returns a {@link CompletableFuture} that is
+	 * completed with it. The team is copied on the calling thread, so it may keep being played while the level is prepared. The returned
+	 * {@link PreparedLevel} must be {@link PreparedLevel#attachTeam(List) given} the same team.
+	 * @throws IllegalArgumentException if {@code number} is less than {@code 1}.
+	 */
+	public static CompletableFuture<PreparedLevel> prepareAsync(int number, List<PlayerUnit> team) {
+		checkNumber(number);
+		final List<PlayerUnit> copies = copy(team);
+		return CompletableFuture.supplyAsync(() -> prepare(number, copies), EXECUTOR);
+	}
+	
+	/**
+	 * Prepares the level with the given number for the given team on the calling thread. This is what {@link #prepareAsync(int, List)} does in the
+	 * background.
+	 * @throws IllegalArgumentException if {@code number} is less than {@code 1}.
+	 */
+	public static PreparedLevel prepareNow(int number, List<PlayerUnit> team) {
+		checkNumber(number);
+		return prepare(number, copy(team));
+	}
+	
+	private static void checkNumber(int number) {
+		if(number < 1)
+			throw new IllegalArgumentException("Level numbers start at 1");
+	}
+	
+	private static List<PlayerUnit> copy(List<PlayerUnit> team) {
+		return team.stream().map(unit -> (PlayerUnit) unit.copy()).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Builds the {@link Board} for the given level number with copies of the given team, and loads the images the level uses.
+	 */
+	private static PreparedLevel prepare(int number, List<PlayerUnit> team) {
+		final Theme theme = Level.DEFAULT_THEME;
+		final double turnDifficulty = TURN_DIFFICULTY;
+		final BoardGenerator generator = new BoardGenerator()
+				.setRowCount(BOARD_SIZE)
+				.setColumnCount(BOARD_SIZE)
+				.setTurnDifficulty(turnDifficulty)
+				.setSeed(ThreadLocalRandom.current().nextLong());
+		final List<PlayerUnit> standIns = copy(team);
+		final Board board = generator.setTeamUnits(standIns).build();
+		theme.loadImages();
+		UnitSkin.loadImages();
+		HealthBar.loadImages();
+		return new PreparedLevel(number, theme, turnDifficulty, board, standIns);
+	}
+}
@@ -2,6 +2,8 @@ package graphics;
 
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javafx.application.*;
 import javafx.stage.Stage;
@@ -19,6 +21,18 @@ public class Main extends Application {
 	
 	public static final String TITLE = "Congressional App Challenge";
 	
+	/**
+	 * An {@link Executor} that runs tasks on the FX Thread: immediately if it is called on the FX Thread, and otherwise with
+	 * {@link Platform#runLater(Runnable)}. Use it with the {@code *Async} methods of {@link CompletableFuture} to run stages on the FX Thread
+	 * without blocking the thread that completes the previous stage.
+	 */
+	public static final Executor FX_EXECUTOR = runnable -> {
+		if(Platform.isFxApplicationThread())
+			runnable.run();
+		else
+			Platform.runLater(runnable);
+	};
+	
 	private static final String RESOURCES_PREFIX = "/resources/";
 	
 	private static final Player player = new Player();
@@ -28,6 +42,8 @@ public class Main extends Application {
 	}
 	
 	private static Stage primaryStage;
+	/** The level after the current one, which is prepared in the background while the current one is played. Only used on the FX Thread. */
+	private static CompletableFuture<PreparedLevel> nextLevel;
 	
 	/**
 	 * Produces an {@link Optional} of the {@link InputStream} for a resource in the "resources" folder.
@@ -61,7 +77,9 @@ public class Main extends Application {
 	public void start(Stage primaryStage) throws Exception {
 		Main.primaryStage = primaryStage;
 		primaryStage.setTitle(TITLE);
-		Level scene = new Level();
+		PreparedLevel first = LevelPreparer.prepareNow(1, player.getUnitsUnmodifiable());
+		nextLevel = LevelPreparer.prepareAsync(2, player.getUnitsUnmodifiable());
+		Level scene = new Level(first);
 		primaryStage.setScene(scene);
 //		TerrainGrid grid = scene.getTerrainPane().getGridWrap().getGrid();
 //		grid.addUnit(new BasicUnit(), 1, 1);
@@ -86,36 +104,20 @@ public class Main extends Application {
 	}
 	
 	/**
-	 * Must NOT be called on FX Thread.
-	 * @param runnable
+	 * Replaces the current {@link Level} with the next one, and starts preparing the one after that. The next level has usually been
+	 * {@link LevelPreparer prepared} in the background while the current one was played. The switch happens once the current level's
+	 * {@link TerrainGrid#dispose() grid has been disposed} and the next level is ready, without blocking; the returned {@link CompletableFuture} is
+	 * completed (on the FX Thread) once it has. The current level takes no input in the meantime. Must be called on the FX Thread.
 	 */
-	public static void runOnFXAndBlock(Runnable runnable) {
-		class Blocker {
-			volatile Object lock;
-			volatile boolean notified;
-			Blocker(Runnable r) {
-				lock = new Object();
-				notified = false;
-				Platform.runLater(() -> {
-					r.run();
-					notified = true;
-					synchronized(lock) {
-						lock.notify();
-					}
-				});
-				while(!notified) {
-					try {
-						synchronized(lock) {
-							lock.wait();
-						}
-					}
-					catch (InterruptedException e) {}
-				}
-				
-			}
-		}
-		
-		new Blocker(runnable);
+	public static CompletableFuture<Void> advanceLevel() {
+		final Level current = currentLevel();
+		current.getRoot().setDisable(true); //the level's engine is stopped, so it must not take any more input while the next one is readied.
+		return current.getTerrainPane().getGrid().dispose()
+				.thenCombine(nextLevel, (ignored, prepared) -> prepared)
+				.thenAcceptAsync(prepared -> {
+					nextLevel = LevelPreparer.prepareAsync(prepared.getNumber() + 1, player.getUnitsUnmodifiable());
+					primaryStage.setScene(new Level(prepared, current.getWidth(), current.getHeight()));
+				}, FX_EXECUTOR);
 	}
 	
 	public static Player getPlayer() {
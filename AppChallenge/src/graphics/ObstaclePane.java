@@ -10,7 +10,6 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import logic.Move;
 import logic.Obstacle;
-import utils.BooleanChangeListener;
 
 /**
  * A {@link StackPane} for displaying an {@link Obstacle}.
@@ -43,11 +42,6 @@ public class ObstaclePane extends StackPane implements GameObjectRepresentation
 	private final ObstacleWrap obstacleWrap;
 	private final BorderPane healthBarPane;
 	private final HealthBar healthBar;
-	private final BooleanChangeListener aliveListener = (oldValue, newValue) -> {
-		if(newValue == true)
-			throw new UnsupportedOperationException("Revivial is not supported");
-		removeObstacle(); //this is safe because a BooleanChangeListener is allowed to remove itself from its BooleanRef during its action.
-	};
 	
 	private Obstacle obstacle;
 	private boolean isUseCandidate, isHighlighted;
@@ -86,21 +80,27 @@ public class ObstaclePane extends StackPane implements GameObjectRepresentation
 	}
 	
 	/**
-	 * The given {@link Obstacle} must not be {@code null}.
+	 * The given {@link Obstacle} must not be {@code null}. Displays its current health, so it must only be called while the {@code Obstacle} is
+	 * not being changed by another thread.
 	 */
 	public void setObstacle(Obstacle obstacle, Theme theme) {
+		setObstacle(obstacle, theme, obstacle.getHealth());
+	}
+	
+	/**
+	 * Sets the {@link Obstacle} on this {@code ObstaclePane}, displaying the given health. The given {@code Obstacle} must not be {@code null}.
+	 */
+	public void setObstacle(Obstacle obstacle, Theme theme, int health) {
 		Objects.requireNonNull(obstacle);
 		this.obstacle = obstacle;
-		healthBar.setGameObject(obstacle);
+		healthBar.setGameObject(obstacle, health);
 		healthBar.setVisible(true);
-		addListeners();
 		obstacleWrap.setImage(theme.imageFor(obstacle));
 	}
 	
 	public Obstacle removeObstacle() {
 		if(obstacle == null)
 			return null;
-		removeListeners();
 		obstacleWrap.setImage(null);
 		healthBar.clearAndHide();
 		Obstacle obstacleTemp = this.obstacle;
@@ -108,19 +108,16 @@ public class ObstaclePane extends StackPane implements GameObjectRepresentation
 		return obstacleTemp;
 	}
 	
-	private void addListeners() {
-		this.obstacle.aliveProperty().addChangeListener(aliveListener);
-	}
-	
-	private void removeListeners() {
-		this.obstacle.aliveProperty().removeChangeListener(aliveListener);
-	}
-	
 	@Override
 	public Obstacle getGameObject() {
 		return obstacle;
 	}
 	
+	/** Returns the {@link HealthBar} of this {@code ObstaclePane}. */
+	public HealthBar getHealthBar() {
+		return healthBar;
+	}
+	
 	public boolean hasObstacle() {
 		return obstacle != null;
 	}
@@ -0,0 +1,73 @@
+package graphics;
+
+import java.util.*;
+
+import logic.*;
+
+/**
+ * <p>The model of a {@link Level} that has been built by a {@link LevelPreparer} but not yet shown: its number, {@link Theme}, turn difficulty,
+ * and {@link Board}. Everything that is slow to build is already built, so the FX thread only has to {@link #attachTeam(List) attach the team}
+ * and create the {@link Level} around it.</p>
+ * 
+ * <p>Since the team's {@link PlayerUnit PlayerUnits} are still on the current {@code Level}'s {@code Board} while this one is being built, the
+ * {@code Board} is built with {@link Unit#copy() copies} of them, which {@link #attachTeam(List)} replaces with the real units.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class PreparedLevel {
+	
+	private final int number;
+	private final Theme theme;
+	private final double turnDifficulty;
+	private final Board board;
+	private final List<PlayerUnit> standIns;
+	private boolean attached;
+	
+	PreparedLevel(int number, Theme theme, double turnDifficulty, Board board, List<PlayerUnit> standIns) {
+		this.number = number;
+		this.theme = theme;
+		this.turnDifficulty = turnDifficulty;
+		this.board = board;
+		this.standIns = standIns;
+		this.attached = false;
+	}
+	
+	/**
+	 * Returns the number of this level. The first level is number {@code 1}.
+	 */
+	public int getNumber() {
+		return number;
+	}
+	
+	public Theme getTheme() {
+		return theme;
+	}
+	
+	public double getTurnDifficulty() {
+		return turnDifficulty;
+	}
+	
+	/**
+	 * Replaces each copy of a team unit on the {@link Board} with the given {@link PlayerUnit} at the same position in the list, and returns the
+	 * {@code Board}. Team units that have died are left out. The given list must be the same team, in the same order, that this level was prepared
+	 * for. Must be called on the FX Thread, after the previous {@link Level} has finished, and only once.
+	 * @throws IllegalArgumentException if the given team is not the same size as the prepared one.
+	 * @throws IllegalStateException if the team has already been attached.
+	 */
+	Board attachTeam(List<PlayerUnit> team) {
+		if(attached)
+			throw new IllegalStateException("The team has already been attached");
+		if(team.size() != standIns.size())
+			throw new IllegalArgumentException("The team has " + team.size() + " units, but the level was prepared for " + standIns.size());
+		for(int i = 0; i < team.size(); i++) {
+			PlayerUnit standIn = standIns.get(i), unit = team.get(i);
+			if(unit.isAlive())
+				board.setUnit(unit, standIn.getRow(), standIn.getCol());
+			else
+				board.removeGameObject(standIn, standIn.getRow(), standIn.getCol());
+		}
+		board.setToPlayerTurn();
+		attached = true;
+		return board;
+	}
+}
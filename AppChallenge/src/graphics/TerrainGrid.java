@@ -1,54 +1,56 @@
 package graphics;
 
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
 import fxutils.Borders;
 import fxutils.ImageWrap;
 import javafx.animation.*;
 import javafx.beans.binding.DoubleBinding;
-import javafx.concurrent.Service;
-import javafx.concurrent.Task;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.util.Duration;
 import logic.*;
 import logic.abilities.SingleProjectileAbility;
-import logic.actions.*;
 
 /**
+ * <p>Displays a {@link Board}. The {@code Board} is owned by a {@link GameEngine}, which executes every {@link Move} on its own thread; this
+ * {@code TerrainGrid} only reads the {@code Board} while it is {@link #isIdle() idle}, and otherwise updates the display from the
+ * {@link GameEvent GameEvents} that the engine publishes. Except where stated otherwise, its methods must be called on the FX Thread.</p>
  * @author Sam Hooper
  *
  */
 public class TerrainGrid extends GridPane {
 	
-	public static final long ENEMY_MOVE_DELAY = 500; //in milliseconds. The wait time between each enemy move.
+	public static final long ENEMY_MOVE_DELAY = 500; //in milliseconds at normal GameClock speed. The wait time between each enemy move.
+	/** How long, in milliseconds at normal {@link GameClock} speed, a projectile takes to fly the distance of one tile. */
+	public static final double PROJECTILE_MILLIS_PER_TILE = 100;
 	private final int rows, cols;
 	private final Board backingBoard;
+	private final GameEngine engine;
 	private final TerrainTile[][] terrainTiles;
 	private final Theme theme;
 	private final TerrainGridWrap wrap;
 	
-	/** Creates a new {@code TerrainGrid} with {@code size} rows and {@code size} columns. */
-	public TerrainGrid(Level level, TerrainGridWrap wrap, int size) {
-		this(level, wrap, size, size);
-	}
-	
-	/** Creates a new {@code TerrainGrid} with the given amount of rows and columns */
-	public TerrainGrid(final Level level, TerrainGridWrap wrap, int rows, int cols) {
+	/**
+	 * Creates a new {@code TerrainGrid} for the {@link Board} of the given {@link PreparedLevel}, {@link PreparedLevel#attachTeam(java.util.List) attaching}
+	 * the {@link Main#getPlayer() player's} units to it.
+	 */
+	public TerrainGrid(final Level level, TerrainGridWrap wrap, PreparedLevel prepared) {
 		super();
 		this.theme = level.getTheme();
-		this.rows = rows;
-		this.cols = cols;
 		this.wrap = wrap;
-		backingBoard = new BoardGenerator()
-				.setRowCount(rows)
-				.setColumnCount(cols)
-				.setTeamUnits(Main.getPlayer().getUnitsUnmodifiable())
-				.setTurnDifficulty(level.getTurnDifficulty())
-				.build();
+		backingBoard = prepared.attachTeam(Main.getPlayer().getUnitsUnmodifiable());
+		this.rows = backingBoard.getRows();
+		this.cols = backingBoard.getCols();
+		backingBoard.setEnemyPlanner(level.createEnemyPlanner());
+		displayedTurn = backingBoard.getTurn();
 		terrainTiles = new TerrainTile[rows][cols];
 		initConstraints();
 		initTiles();
+		engine = new GameEngine(backingBoard);
 	}
 	
 	/** Must only be called from constructor. {@link #rows} and {@link #cols} must be initialized. */
@@ -88,6 +90,10 @@ public class TerrainGrid extends GridPane {
 		}
 	}
 	
+	/**
+	 * Returns the backing board. It is owned by this {@code TerrainGrid's} {@link GameEngine}, and must only be read while this
+	 * {@code TerrainGrid} is {@link #isIdle() idle}.
+	 */
 	public Board getBackingBoard() {
 		return backingBoard;
 	}
@@ -105,249 +111,355 @@ public class TerrainGrid extends GridPane {
 	}
 	
 	/**
-	 * Adds the given {@link GameObject} to this {@link TerrainGrid} at the given tile, and updates the backing board. The
-	 * given {@code GameObject} must be a {@link Unit} or an {@link Obstacle}.
+	 * Adds the given {@link GameObject} to the backing board at the given tile, and shows it on this {@link TerrainGrid} once the
+	 * {@link Move Moves} before it have been shown. The given {@code GameObject} must be a {@link Unit} or an {@link Obstacle}.
+	 * @throws IllegalArgumentException if the {@code GameObject} is neither a {@code Unit} nor an {@code Obstacle}.
 	 */
-	public void addOrThrow(GameObject object, int row, int col) {
-		if(object instanceof Unit) {
-			addUnitOrThrow((Unit) object, row, col);
-		}
-		else if(object instanceof Obstacle) {
-			addObstacleOrThrow((Obstacle) object, row, col);
-		}
-		else {
+	public CompletableFuture<Void> addOrThrow(GameObject object, int row, int col) {
+		if(!(object instanceof Unit) && !(object instanceof Obstacle))
 			throw new IllegalArgumentException("Must be Unit or Obstacle");
-		}
+		return display(engine.addOrThrow(object, row, col), record -> show(record, false));
 	}
-	public void addUnitOrThrow(Unit unit, int row, int col) {
-		backingBoard.addUnitOrThrow(unit, row, col);
-		terrainTiles[row][col].getUnitPane().setUnit(unit);
+	
+	public Theme getTheme() {
+		return theme;
 	}
 	
+	/** Whether enemy turns are {@link EnemyTurnScript planned} in full before they are shown. See {@link #setScriptedEnemyTurns(boolean)}. */
+	private boolean scriptedEnemyTurns = true;
+	/** Set by {@link #skipToEndOfTurn()}, cleared at the start of each enemy turn. */
+	private volatile boolean skipEnemyAnimation;
+	/** The turn that is being shown. It only changes once everything before the change has been shown. */
+	private Turn displayedTurn;
+	/** Completed once everything that has been given to the {@link #engine} so far has been shown. */
+	private CompletableFuture<Void> displayed = CompletableFuture.completedFuture(null);
+	
 	/**
-	 * @throws IllegalStateException
+	 * Returns {@code true} if everything that has been executed on the backing board has been shown, so that the backing board may be read.
 	 */
-	public void addObstacleOrThrow(Obstacle obstacle, int row, int col) {
-		backingBoard.addObstacleOrThrow(obstacle, row, col); //will throw if an obstacle is already present
-		terrainTiles[row][col].setObstacle(obstacle);
+	public boolean isIdle() {
+		return displayed.isDone();
 	}
 	
-	public Theme getTheme() {
-		return theme;
+	/**
+	 * Shows the result of the given engine command with the given function once everything before it has been shown, and returns a
+	 * {@link CompletableFuture} that is completed on the FX Thread after that. A failure is printed, and does not stop later commands from being
+	 * shown.
+	 */
+	private <T> CompletableFuture<Void> display(final CompletableFuture<T> command, final Function<? super T, CompletableFuture<Void>> shower) {
+		final CompletableFuture<Void> shown = displayed.thenCombine(command, (ignored, result) -> result)
+				.thenComposeAsync(shower, Main.FX_EXECUTOR)
+				.whenComplete(TerrainGrid::printFailure);
+		displayed = shown.handle((ignored, failure) -> null);
+		return shown;
 	}
 	
-	private volatile boolean moveNotify;
-	
-	private final MoveService MOVE_SERVICE = new MoveService();
-	private final EnemyTurnService ENEMY_TURN_SERVICE = new EnemyTurnService();
-	class MoveService extends Service<Void> {
-		private volatile Move move;
-		@Override
-		protected Task<Void> createTask() {
-			return new Task<>() {
-				@Override
-				protected Void call() throws Exception {
-					try {
-						TerrainGrid.this.executeMoveInternal(move);
-						return null;
-					}
-					catch(Exception e) { 
-						e.printStackTrace();
-					}
-					return null;
-				}
-				
-			};
+	/**
+	 * Executes the {@link Move} on the game logic thread and shows it, and returns a {@link CompletableFuture} that is completed (on the FX Thread)
+	 * once it has been shown. Updates the moves remaining value of the {@link Move Move's} unit. Disables the {@link AbilityInfoPanel} if the moves
+	 * remaining value becomes zero. Switches to the next {@link Level} if the {@code Move} leaves no enemies. Does not block.
+	 */
+	public CompletableFuture<Void> executeMove(Move move) {
+		final AbilityInfoPanel abilityInfoPanel = Level.current().getInfoPanel().getAbilityInfoPanel();
+		final AbilityPane selectedAbilityPane = abilityInfoPanel.getSelectedAbilityPane();
+		if(selectedAbilityPane != null)
+			selectedAbilityPane.deselect();
+		return display(engine.executeMove(move), record -> show(record, true).thenCompose(ignored -> {
+			abilityInfoPanel.updateMovesRemaining();
+			if(record.getEnemyUnitCount() == 0)
+				return Main.advanceLevel();
+			refreshDanger();
+			return CompletableFuture.completedFuture(null);
+		}));
+	}
+	
+	/**
+	 * <p>Shows the {@link GameEvent GameEvents} of the given {@link MoveRecord}, as stages of the returned {@link CompletableFuture}. Each run of
+	 * consecutive events that are not animated is one stage, shown all at once in an {@link UpdateBatch}, so that the display is updated once for
+	 * the whole run (an area attack costs one update, not one per target). Each animated projectile is a stage of its own, which is completed when
+	 * its {@link Transition} finishes, so the next stage is only run after that. No thread waits for the animations.</p>
+	 * 
+	 * <p>If {@code animate} is {@code false} or the {@link GameClock} is {@link GameClock#isInstant() instant}, projectiles are not shown at all,
+	 * so the whole record is one batch. The returned {@code CompletableFuture} is completed on the FX Thread.</p>
+	 */
+	private CompletableFuture<Void> show(final MoveRecord record, final boolean animate) {
+		CompletableFuture<Void> stage = CompletableFuture.completedFuture(null);
+		final boolean animateProjectiles = animate && !GameClock.isInstant();
+		final List<GameEvent> events = record.getEventsUnmodifiable();
+		for(int i = 0; i < events.size();) {
+			final GameEvent e = events.get(i);
+			if(e instanceof GameEvent.ProjectileFired) {
+				if(animateProjectiles)
+					stage = stage.thenCompose(ignored -> fireProjectileAsync((GameEvent.ProjectileFired) e));
+				i++;
+				continue;
+			}
+			int end = i + 1;
+			while(end < events.size() && !(events.get(end) instanceof GameEvent.ProjectileFired))
+				end++;
+			final List<GameEvent> batch = events.subList(i, end);
+			stage = stage.thenRun(() -> UpdateBatch.run(() -> batch.forEach(this::showEvent)));
+			i = end;
 		}
-		
-		public void executeMove(Move move) {
-			this.move = move;
-			this.restart();
+		return stage;
+	}
+	
+	/**
+	 * Shows the given {@link GameEvent} immediately, without animation.
+	 */
+	private void showEvent(final GameEvent e) {
+		final TerrainTile tile = terrainTiles[e.getRow()][e.getCol()];
+		if(e instanceof GameEvent.Relocated) {
+			GameEvent.Relocated r = (GameEvent.Relocated) e;
+			UnitPane startUnitPane = tile.getUnitPane();
+			int health = startUnitPane.getHealthBar().getDisplayedHealth();
+			Unit unit = startUnitPane.removeUnit();
+			terrainTiles[r.getDestRow()][r.getDestCol()].getUnitPane().setUnit(unit, health);
 		}
-	};
-	
-	class EnemyTurnService extends Service<Void> {
-		@Override
-		protected Task<Void> createTask() {
-			return new Task<>() {
-				@Override
-				protected Void call() throws Exception {
-					try {
-						playEnemyTurnInternalAndStackTurnBackToPlayer();
-					}
-					catch(Exception e) { 
-						e.printStackTrace();
-					}
-					return null;
+		else if(e instanceof GameEvent.HealthChanged) {
+			GameEvent.HealthChanged hc = (GameEvent.HealthChanged) e;
+			for(GameObjectRepresentation rep : tile.getGameObjectRepresentations()) {
+				if(rep.getGameObject() == hc.getObject()) {
+					if(rep instanceof UnitPane)
+						((UnitPane) rep).getHealthBar().showHealth(hc.getHealth());
+					else if(rep instanceof ObstaclePane)
+						((ObstaclePane) rep).getHealthBar().showHealth(hc.getHealth());
 				}
-				
-			};
+			}
+		}
+		else if(e instanceof GameEvent.Removed) {
+			GameObject object = ((GameEvent.Removed) e).getObject();
+			if(tile.getUnitPane().getGameObject() == object)
+				tile.getUnitPane().removeUnit();
+			else if(tile.getObstaclePane().getGameObject() == object)
+				tile.getObstaclePane().removeObstacle();
 		}
-		
-		public void playEnemyTurn() {
-			this.restart();
+		else if(e instanceof GameEvent.Placed) {
+			GameEvent.Placed p = (GameEvent.Placed) e;
+			if(p.getObject() instanceof Unit)
+				tile.getUnitPane().setUnit((Unit) p.getObject(), p.getHealth());
+			else if(p.getObject() instanceof Obstacle)
+				tile.getObstaclePane().setObstacle((Obstacle) p.getObject(), theme, p.getHealth());
+			else
+				throw new UnsupportedOperationException("Unsupported object type: " + p.getObject().getClass());
 		}
-	};
+		else {
+			throw new UnsupportedOperationException("Unsupported event type: " + e.getClass());
+		}
+	}
 	
 	/**
-	 * Executes the {@link Move} on a background thread. Updates the moves remaining value of the {@link Move Move's} unit. Disables the
-	 * {@link AbilityInfoPanel} if the moves remaining value becomes zero.
-	 * @param move
+	 * Plays the animation of the given projectile flying from its start tile to its target. Returns a {@link CompletableFuture} that is completed on
+	 * the FX Thread once it has landed.
 	 */
-	public void executeMove(Move move) {
-		MOVE_SERVICE.executeMove(move);
-	}
-	
-	private void executeMoveInternal(final Move move) {
-		System.out.printf("(enter) executeMoveInternal(%s), thread = %s%n", move, Thread.currentThread().getName());
-		final AbilityInfoPanel abilityInfoPanel = Level.current().getInfoPanel().getAbilityInfoPanel();
-		final AbilityPane selectedAbilityPane = abilityInfoPanel.getSelectedAbilityPane();
-		if(selectedAbilityPane != null)
-			Main.runOnFXAndBlock(() -> selectedAbilityPane.deselect());
-		final Ability actingAbility = move.getAbility();
-		final Unit actingUnit = actingAbility.getUnit();
-		if(actingUnit instanceof PlayerUnit) {
-			PlayerUnit pu = (PlayerUnit) actingUnit;
-			pu.setMovesRemaining(pu.getMovesRemaining() - 1); //TODO this should probably be done by the Board? But how when we have to delay between actions b/c of projectiles and the like?
-			Main.runOnFXAndBlock(() -> abilityInfoPanel.updateMovesRemaining());
-		}
-		if(move.isEmpty())
-			 return;
+	private CompletableFuture<Void> fireProjectileAsync(final GameEvent.ProjectileFired fired) {
+		if(!(fired.getAbility() instanceof SingleProjectileAbility))
+			throw new UnsupportedOperationException("Unsupported ability type for a projectile: " + fired.getAbility().getClass());
+		final SingleProjectileAbility spa = (SingleProjectileAbility) fired.getAbility();
 		final Pane region = wrap.getRegion();
-		final TerrainTile actingStartTile = getTileAt(actingUnit.getRow(), actingUnit.getCol());
-		final UnitPane actingUnitPane = getTileAt(actingUnit.getRow(), actingUnit.getCol()).getUnitPane();
-		final int actingRow = actingUnit.getRow();
-		final int actingCol = actingUnit.getCol();
-		final UnitSkin actingSkin = UnitSkin.forUnitOrDefault(actingUnit);
-		for(Action a : move.getActionsUnmodifiable()) {
-//			System.out.printf("\tentered loop, a=%s%n", a);
-			if(a instanceof Relocate) {
-				Main.runOnFXAndBlock(() -> {
-					Relocate r = (Relocate) a;
-					r.execute(backingBoard);
-					TerrainTile startTile = terrainTiles[r.getStartRow()][r.getStartCol()];
-					UnitPane startUnitPane = startTile.getUnitPane();
-					Unit unit = startUnitPane.removeUnit();
-					TerrainTile destTile = terrainTiles[r.getDestRow()][r.getDestCol()];
-					UnitPane destUnitPane = destTile.getUnitPane();
-					destUnitPane.setUnit(unit);
-				});
+		final UnitSkin actingSkin = UnitSkin.forUnitOrDefault(spa.getUnit());
+		final TerrainTile actingStartTile = getTileAt(fired.getRow(), fired.getCol());
+		final int actingRow = actingStartTile.getRow();
+		final int actingCol = actingStartTile.getCol();
+		final TerrainTile destTile = getTileAt(fired.getTargetRow(), fired.getTargetCol());
+		double defRot = actingSkin.getDefaultRotationFor(spa);
+		Image image = actingSkin.projectileImageFor(spa);
+		ImageWrap wrap = new ImageWrap(image, 0, 0);
+		double[] imgSize = actingSkin.projectileSizeFor(spa);
+		StackPane pane = new StackPane(wrap);
+		final int rowDiff = actingRow - destTile.getRow();
+		final int colDiff = actingCol - destTile.getCol();
+		double rot = Math.atan(1.0 * rowDiff / colDiff) / Math.PI * 180;
+		if(colDiff > 0)
+			rot += 180;
+		pane.setRotate(defRot - rot);
+		final DoubleBinding widthBinding = actingStartTile.widthProperty().multiply(imgSize[0]);
+		final DoubleBinding heightBinding = actingStartTile.heightProperty().multiply(imgSize[1]);
+		final DoubleBinding startX = actingStartTile.layoutXProperty().add(actingStartTile.widthProperty().divide(2)).subtract(widthBinding.divide(2));
+		final DoubleBinding startY = actingStartTile.layoutYProperty().add(actingStartTile.heightProperty().divide(2)).subtract(heightBinding.divide(2));
+		final DoubleBinding destX = destTile.layoutXProperty().add(destTile.widthProperty().divide(2)).subtract(widthBinding.divide(2));
+		final DoubleBinding destY = destTile.layoutYProperty().add(destTile.heightProperty().divide(2)).subtract(heightBinding.divide(2));
+		pane.setLayoutX(startX.get());
+		pane.setLayoutY(startY.get());
+		pane.prefWidthProperty().bind(widthBinding);
+		pane.prefHeightProperty().bind(heightBinding);
+		region.getChildren().add(pane);
+		double tileDistance = Math.sqrt(Math.pow(destTile.getRow() - actingRow, 2) + Math.pow(destTile.getCol() - actingCol, 2));
+		final CompletableFuture<Void> landed = new CompletableFuture<>();
+		final Transition transition = new Transition() {
+			{
+				setCycleDuration(GameClock.duration(tileDistance * PROJECTILE_MILLIS_PER_TILE));
 			}
-			else if(a instanceof FireProjectile) {
-				FireProjectile fp = (FireProjectile) a;
-				if(actingAbility instanceof SingleProjectileAbility) {
-					SingleProjectileAbility spa = (SingleProjectileAbility) actingAbility;
-					final GameObject target = fp.getTarget();
-					final TerrainTile destTile = getTileAt(target.getRow(), target.getCol());
-					double defRot = actingSkin.getDefaultRotationFor(spa);
-					Image image = actingSkin.projectileImageFor(spa);
-					ImageWrap wrap = new ImageWrap(image, 0, 0);
-					double[] imgSize = actingSkin.projectileSizeFor(spa);
-					StackPane pane = new StackPane(wrap);
-					final int rowDiff = actingRow - destTile.getRow();
-					final int colDiff = actingCol - destTile.getCol();
-					double rot = Math.atan(1.0 * rowDiff / colDiff) / Math.PI * 180;
-					if(colDiff > 0)
-						rot += 180;
-					pane.setRotate(defRot - rot);
-					final DoubleBinding widthBinding = actingStartTile.widthProperty().multiply(imgSize[0]);
-					final DoubleBinding heightBinding = actingStartTile.heightProperty().multiply(imgSize[1]);
-					final DoubleBinding startX = actingStartTile.layoutXProperty().add(actingStartTile.widthProperty().divide(2)).subtract(widthBinding.divide(2));
-					final DoubleBinding startY = actingStartTile.layoutYProperty().add(actingStartTile.heightProperty().divide(2)).subtract(heightBinding.divide(2));
-					final DoubleBinding destX = destTile.layoutXProperty().add(destTile.widthProperty().divide(2)).subtract(widthBinding.divide(2));
-					final DoubleBinding destY = destTile.layoutYProperty().add(destTile.heightProperty().divide(2)).subtract(heightBinding.divide(2));
-					pane.setLayoutX(startX.get());
-					pane.setLayoutY(startY.get());
-					pane.prefWidthProperty().bind(widthBinding);
-					pane.prefHeightProperty().bind(heightBinding);
-					Main.runOnFXAndBlock(() -> region.getChildren().add(pane));
-					double tileDistance = Math.sqrt(Math.pow(destTile.getRow() - actingRow, 2) + Math.pow(destTile.getCol() - actingCol, 2));
-					Object lock = new Object();
-					moveNotify = false;
-					final Transition transition = new Transition() {
-						{
-							setCycleDuration(Duration.millis(tileDistance * 100));
-						}
-						@Override
-						protected void interpolate(double frac) {
-							double x = startX.get() + (destX.get() - startX.get()) * frac;
-							double y = startY.get() + (destY.get() - startY.get()) * frac;
-							pane.relocate(x, y);
-						}
-					};
-					transition.setOnFinished(actionEvent -> {
-							region.getChildren().remove(pane);
-							a.execute(backingBoard);
-							moveNotify = true;
-							synchronized(lock) {
-								lock.notify();
-							}
-					});
-					transition.setInterpolator(Interpolator.LINEAR);
-					transition.play();
-					synchronized(lock) {
-						while(!moveNotify) {
-							try {
-								lock.wait();
-							}
-							catch (InterruptedException e) {}
-						}
-					}
-				}
-				else {
-					throw new UnsupportedOperationException("Unsupported ability type for a FireProjectile action: " + actingAbility.getClass());
-				}
+			@Override
+			protected void interpolate(double frac) {
+				double x = startX.get() + (destX.get() - startX.get()) * frac;
+				double y = startY.get() + (destY.get() - startY.get()) * frac;
+				pane.relocate(x, y);
 			}
-			else if(a instanceof ChangeHealth) {
-				Main.runOnFXAndBlock(() -> a.execute(backingBoard)); //needs to be on FX thread since this will trigger listeners, which modify the HealthBar display.
-			}
-			else if(a instanceof PlaceObject) {
-				PlaceObject po = (PlaceObject) a;
-				final GameObject obj = po.getObject();
-				final int row = po.getRow(), col = po.getCol();
-				Main.runOnFXAndBlock(() -> addOrThrow(obj, row, col)); //don't even need to execute the action, this updates the backing board.
-			}
-			else {
-				throw new UnsupportedOperationException("Unsupported action type: " + a.getClass());
-			}
-		}
-		System.out.printf("ESCAPED%n");
+		};
+		transition.setOnFinished(actionEvent -> {
+			region.getChildren().remove(pane);
+			landed.complete(null);
+		});
+		transition.setInterpolator(Interpolator.LINEAR);
+		transition.play();
+		return landed;
 	}
 
+	/**
+	 * Returns the turn that is being shown. It becomes {@link Turn#ENEMY the enemy's} as soon as {@link #playEnemyTurn()} is called, and
+	 * {@link Turn#PLAYER the player's} again once the enemy's turn has been shown.
+	 */
 	public Turn getTurn() {
-		return backingBoard.getTurn();
+		return displayedTurn;
 	}
 	
 	/**
-	 * Assumes that the current {@link #getTurn() turn} is {@link Turn#PLAYER the player's}. Sets the turn to {@link Turn#ENEMY the enemy's}
-	 * and plays out the enemy's turn.
+	 * If the given value is {@code true}, each enemy turn is {@link EnemyTurnScript planned} in full as soon as it starts, and all of its
+	 * {@link Move Moves} are executed before any of them is shown. Otherwise, each enemy {@code Move} is chosen and executed just before it is shown.
+	 * Enemy turns are scripted by default. Takes effect from the next enemy turn.
 	 */
-	public void playEnemyTurn() {
-		ENEMY_TURN_SERVICE.playEnemyTurn();
+	public void setScriptedEnemyTurns(boolean value) {
+		scriptedEnemyTurns = value;
+	}
+	
+	public boolean isScriptedEnemyTurns() {
+		return scriptedEnemyTurns;
 	}
 	
 	/**
-	 * Must NOT be run on FX Thread.
+	 * If an enemy turn is being played, the rest of its {@link Move Moves} are shown without animation or delay between them, whatever the
+	 * {@link GameClock} speed. Otherwise, does nothing. May be called from any thread.
 	 */
-	private void playEnemyTurnInternal() {
-		backingBoard.setToEnemyTurn();
-		Main.runOnFXAndBlock(() -> Level.current().getInfoPanel().clearContent());
-		while(backingBoard.hasNextEnemyMove()) {
-			Move nextMove = backingBoard.nextEnemyMove();
-			executeMoveInternal(nextMove);
-			try {
-				Thread.sleep(ENEMY_MOVE_DELAY);
-			}
-			catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+	public void skipToEndOfTurn() {
+		skipEnemyAnimation = true;
+	}
+	
+	/**
+	 * Assumes that the current {@link #getTurn() turn} is {@link Turn#PLAYER the player's}. Sets the turn to {@link Turn#ENEMY the enemy's},
+	 * plays out the enemy's turn, and then sets the turn back to the player's. Returns a {@link CompletableFuture} that is completed on the FX Thread
+	 * once the turn has been shown and it is the player's turn again. The enemy's {@link Move Moves} are chosen and executed on the game logic
+	 * thread, and no thread waits for the animations.
+	 */
+	public CompletableFuture<Void> playEnemyTurn() {
+		skipEnemyAnimation = false;
+		displayedTurn = Turn.ENEMY;
+		Level.current().getInfoPanel().clearContent();
+		final CompletableFuture<Void> turn;
+		if(scriptedEnemyTurns) {
+			display(engine.startEnemyTurn(), ignored -> CompletableFuture.completedFuture(null));
+			turn = display(engine.playScriptedEnemyTurn(), records -> showEnemyMoves(records.iterator()));
+		}
+		else {
+			turn = display(engine.startEnemyTurn(), ignored -> playLiveEnemyTurn());
 		}
+		return turn.handle((ignored, failure) -> null) //the turn is only ended once it has been played, since live turns submit their moves as they go.
+				.thenCompose(ignored -> display(engine.endEnemyTurn(), ignored2 -> {
+					displayedTurn = Turn.PLAYER;
+					Level.current().enemyTurnFinished();
+					refreshDanger();
+					return CompletableFuture.completedFuture(null);
+				}));
 	}
-
-	private void playEnemyTurnInternalAndStackTurnBackToPlayer() {
-		playEnemyTurnInternal();
-		TerrainGrid.this.backingBoard.setToPlayerTurn();
-		Level.current().enemyTurnFinished();
+	
+	/**
+	 * Asks the {@link GameEngine} for each enemy {@link Move} just before it is shown. Must be called on the FX Thread.
+	 */
+	private CompletableFuture<Void> playLiveEnemyTurn() {
+		return engine.playNextEnemyMove().thenComposeAsync(record -> {
+			if(record == null)
+				return CompletableFuture.completedFuture(null);
+			return show(record, !skipEnemyAnimation)
+					.thenCompose(ignored -> enemyMoveDelay())
+					.thenCompose(ignored -> playLiveEnemyTurn());
+		}, Main.FX_EXECUTOR).whenComplete(TerrainGrid::printFailure);
+	}
+	
+	/**
+	 * Shows the remaining {@link MoveRecord MoveRecords} of an enemy turn, with the {@link #enemyMoveDelay() delay} between them. Must be called
+	 * on the FX Thread.
+	 */
+	private CompletableFuture<Void> showEnemyMoves(final Iterator<MoveRecord> records) {
+		if(!records.hasNext())
+			return CompletableFuture.completedFuture(null);
+		final MoveRecord record = records.next();
+		return show(record, !skipEnemyAnimation)
+				.thenCompose(ignored -> enemyMoveDelay())
+				.thenCompose(ignored -> showEnemyMoves(records));
+	}
+	
+	/**
+	 * Returns a {@link CompletableFuture} that is completed on the FX Thread after {@link #ENEMY_MOVE_DELAY}, scaled by the {@link GameClock}, or
+	 * right away if the rest of the turn is being {@link #skipToEndOfTurn() skipped}.
+	 */
+	private CompletableFuture<Void> enemyMoveDelay() {
+		if(skipEnemyAnimation)
+			return CompletableFuture.completedFuture(null);
+		return CompletableFuture.runAsync(() -> {}, GameClock.delay(ENEMY_MOVE_DELAY));
+	}
+	
+	/** Whether the tiles are shaded by the {@link ThreatMap} of the enemy's units. See {@link #setDangerShown(boolean)}. */
+	private boolean dangerShown;
+	
+	/**
+	 * If the given value is {@code true}, shades each tile by how much damage the enemy's units could do to it from where they stand (see
+	 * {@link Board#getThreatMap(Turn)}), and keeps the shading up to date after each {@link Move} of the player and each enemy turn. Otherwise,
+	 * removes the shading.
+	 */
+	public void setDangerShown(boolean value) {
+		dangerShown = value;
+		refreshDanger();
+	}
+	
+	public boolean isDangerShown() {
+		return dangerShown;
+	}
+	
+	/**
+	 * Updates the danger shading of the tiles. The {@link ThreatMap} is read on the game logic thread, and shown once everything before it has
+	 * been shown.
+	 */
+	private void refreshDanger() {
+		if(!dangerShown) {
+			for(TerrainTile[] row : terrainTiles)
+				for(TerrainTile tile : row)
+					tile.showDanger(0);
+			return;
+		}
+		display(engine.submit(board -> board.getThreatMap(Turn.ENEMY).toArray()), damage -> {
+			int max = 0;
+			for(int d : damage)
+				max = Math.max(max, d);
+			for(int i = 0; i < damage.length; i++)
+				terrainTiles[i / cols][i % cols].showDanger(max == 0 ? 0 : (double) damage[i] / max);
+			return CompletableFuture.completedFuture(null);
+		});
+	}
+	
+	/**
+	 * Called when the {@link Level} is left. Removes the listeners that the tiles of this {@code TerrainGrid} have added to the {@link Unit Units}
+	 * on them, takes the {@link PlayerUnit PlayerUnits} off the backing board so that they can be placed on the next one, and stops the
+	 * {@link GameEngine} once the commands already given to it have run. Returns a {@link CompletableFuture} that is completed (on the game logic
+	 * thread) once the {@code PlayerUnits} have been taken off; the next {@link Level} must not use them before then. Does not block. Must be
+	 * called on the FX Thread.
+	 */
+	public CompletableFuture<Void> dispose() {
+		for(TerrainTile[] row : terrainTiles)
+			for(TerrainTile tile : row)
+				tile.getUnitPane().removeUnit();
+		final CompletableFuture<Void> removed = engine.submit(board -> {
+			final Bitboard players = board.getPlayerUnitMask();
+			for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1))
+				board.removeGameObject(board.getTileAtIndex(i).getUnitOrNull(), board.rowOf(i), board.colOf(i));
+			return null;
+		});
+		engine.shutdown();
+		return removed;
+	}
+	
+	private static void printFailure(Object ignored, Throwable failure) {
+		if(failure != null)
+			failure.printStackTrace();
 	}
 	
-}
+}
\ No newline at end of file
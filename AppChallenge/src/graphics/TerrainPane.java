@@ -13,9 +13,9 @@ import logic.Turn;
 public class TerrainPane extends StackPane {
 	private final TerrainGridWrap gridWrap;
 	
-	public TerrainPane(Level level, Theme theme) {
+	public TerrainPane(Level level, PreparedLevel prepared) {
 		super();
-		gridWrap = new TerrainGridWrap(level, theme, 8);
+		gridWrap = new TerrainGridWrap(level, prepared);
 		getChildren().add(gridWrap);
 		bindGridWrap();
 		
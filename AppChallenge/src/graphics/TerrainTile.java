@@ -9,6 +9,7 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.*;
+import javafx.scene.shape.Rectangle;
 import logic.*;
 
 /**
@@ -20,6 +21,9 @@ import logic.*;
 public class TerrainTile extends StackPane implements AbilityUseCandidate {
 	
 	public static final Paint DEFAULT_HIGHLIGHT = Color.LAWNGREEN;
+	public static final Paint DANGER_COLOR = Color.RED;
+	/** The opacity of the {@link #showDanger(double) danger shade} of the most dangerous tile. */
+	public static final double MAX_DANGER_OPACITY = .45;
 	public static final EventHandler<? super MouseEvent> clickHandler = mouseEvent -> {
 		System.out.printf("Entered TerrainTile clickHandler%n");
 		TerrainTile source = (TerrainTile) mouseEvent.getSource();
@@ -47,6 +51,8 @@ public class TerrainTile extends StackPane implements AbilityUseCandidate {
 	
 	private int highlightCount;
 	private boolean isUseCandidate;
+	/** Created the first time this tile is shown to be dangerous. See {@link #showDanger(double)}. */
+	private Rectangle dangerShade;
 	
 	public static TerrainTile forBoardTile(TerrainGrid grid, BoardTile boardTile) {
 		return new TerrainTile(grid, boardTile);
@@ -175,6 +181,29 @@ public class TerrainTile extends StackPane implements AbilityUseCandidate {
 		return highlightCount;
 	}
 	
+	/**
+	 * Shades this tile to show how dangerous it is, where {@code 0} is not dangerous at all (no shade) and {@code 1} is as dangerous as the most
+	 * dangerous tile. The shade is drawn under the {@link Unit} and {@link Obstacle}, and is separate from {@link Highlight Highlights}: it is
+	 * not affected by {@link #clearAllHighlights()}.
+	 */
+	public void showDanger(double danger) {
+		if(danger <= 0) {
+			if(dangerShade != null)
+				dangerShade.setVisible(false);
+			return;
+		}
+		if(dangerShade == null) {
+			dangerShade = new Rectangle();
+			dangerShade.setFill(DANGER_COLOR);
+			dangerShade.widthProperty().bind(widthProperty());
+			dangerShade.heightProperty().bind(heightProperty());
+			dangerShade.setMouseTransparent(true);
+			getChildren().add(getChildren().indexOf(tileWrap) + 1, dangerShade);
+		}
+		dangerShade.setOpacity(Math.min(danger, 1) * MAX_DANGER_OPACITY);
+		dangerShade.setVisible(true);
+	}
+	
 	public TerrainGrid getGrid() {
 		return grid;
 	}
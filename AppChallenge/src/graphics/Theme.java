@@ -1,5 +1,7 @@
 package graphics;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.Effect;
 import javafx.scene.effect.InnerShadow;
@@ -42,17 +44,22 @@ public enum Theme {
 		}
 		@Override
 		public Image solidTileImage() {
-			return (Math.random() < 0.5 ? grass1 : grass2).getImage();
+			return (ThreadLocalRandom.current().nextBoolean() ? grass1 : grass2).getImage();
 		}
 		@Override
 		public Image liquidTileImage() {
-			return (Math.random() < 0.5 ? water1 : water2).getImage();
+			return (ThreadLocalRandom.current().nextBoolean() ? water1 : water2).getImage();
 		}
 		@Override
 		public Effect highlightEffect() {
 			return highlightEffect;
 		}
 		@Override
+		public void loadImages() {
+			for(ImageInfo info : new ImageInfo[] {background, grass1, grass2, water1, water2, smallObstacleInfo, largeObstacleInfo})
+				info.getImage();
+		}
+		@Override
 		public Image backgroundImage() {
 			return background.getImage();
 		}
@@ -82,6 +89,10 @@ public enum Theme {
 	 */
 	public abstract String tileDescription();
 	public abstract Effect highlightEffect();
+	/**
+	 * Loads every {@link Image} used by this {@link Theme}, so that later calls to its methods do not have to. May be called from any thread.
+	 */
+	public abstract void loadImages();
 	/**
 	 * @param obstacle
 	 * @return
@@ -59,20 +59,18 @@ public class UnitPane extends StackPane implements GameObjectRepresentation {
 	private final UnitWrap unitWrap;
 	private final BorderPane healthBarPane;
 	private final HealthBar healthBar;
-	private final SingleListener<Ability> addListener = ability -> {
+	/* Abilities are added and removed on the game logic thread, so the listeners hop to the FX Thread. */
+	private final SingleListener<Ability> addListener = ability -> Main.FX_EXECUTOR.execute(() -> {
 		if(paneMap.containsKey(ability))
 			throw new IllegalStateException("Duplicate Abilities detected");
 		paneMap.put(ability, AbilityPane.of(ability));
-	};
-	private final SingleListener<Ability> removeListener = ability -> {
-		if(paneMap.remove(ability) == null)
+	});
+	private final SingleListener<Ability> removeListener = ability -> Main.FX_EXECUTOR.execute(() -> {
+		AbilityPane pane = paneMap.remove(ability);
+		if(pane == null)
 			throw new IllegalStateException("Could not remove ability that does not exist");
-	};
-	private final BooleanChangeListener aliveListener = (oldValue, newValue) -> {
-		if(newValue == true)
-			throw new UnsupportedOperationException("Revivial is not supported");
-		removeUnit(); //this is safe because a BooleanChangeListener is allowed to remove itself from its BooleanRef during its action.
-	};
+		pane.dispose();
+	});
 	
 	private boolean isUseCandidate, isHighlighted;
 	
@@ -94,11 +92,18 @@ public class UnitPane extends StackPane implements GameObjectRepresentation {
 	}
 	
 	private void clearAndFillPaneMap() {
-		paneMap.clear();
+		clearPaneMap();
 		for(Ability ability : unit.getAbilitiesUnmodifiable())
 			paneMap.put(ability, AbilityPane.of(ability));
 	}
 	
+	/** {@link AbilityPane#dispose() Disposes} of the {@link AbilityPane AbilityPanes} of the {@link Unit} and forgets them. */
+	private void clearPaneMap() {
+		for(AbilityPane pane : paneMap.values())
+			pane.dispose();
+		paneMap.clear();
+	}
+	
 	public AbilityPane abilityPaneFor(final Ability ability) {
 		AbilityPane pane = paneMap.get(ability);
 		if(pane != null)
@@ -109,16 +114,25 @@ public class UnitPane extends StackPane implements GameObjectRepresentation {
 	}
 	
 	/**
-	 * {@code unitArg} must not be {@code null}. Note that {@link #removeUnit()} can be used to remove the unit from this pane.
+	 * {@code unitArg} must not be {@code null}. Note that {@link #removeUnit()} can be used to remove the unit from this pane. Displays the
+	 * current health of the {@link Unit}, so it must only be called while the {@code Unit} is not being changed by another thread.
 	 * @param unitArg
 	 * @throws NullPointerException if the given {@link Unit} is {@code null}.
 	 */
 	public void setUnit(final Unit unitArg) {
+		setUnit(unitArg, unitArg.getHealth());
+	}
+	
+	/**
+	 * Sets the {@link Unit} on this {@code UnitPane}, displaying the given health. {@code unitArg} must not be {@code null}.
+	 * @throws NullPointerException if the given {@link Unit} is {@code null}.
+	 */
+	public void setUnit(final Unit unitArg, final int health) {
 		Objects.requireNonNull(unitArg);
 		if(this.unit != null)
 			removeListenersFrom(this.unit);
 		this.unit = unitArg;
-		healthBar.setGameObject(this.unit); //adds the healthlistener in HealthBar
+		healthBar.setGameObject(this.unit, health);
 		healthBar.setVisible(true);
 		addListenersTo(this.unit);
 		clearAndFillPaneMap();
@@ -129,14 +143,12 @@ public class UnitPane extends StackPane implements GameObjectRepresentation {
 	private void removeListenersFrom(Unit unitArg) {
 		unitArg.abilityCollectionRef().removeAddListener(addListener);
 		unitArg.abilityCollectionRef().removeRemoveListener(removeListener);
-		unitArg.aliveProperty().removeChangeListener(aliveListener);
 	}
 
 	/** Adds the listeners from {@code this.unit} */
 	private void addListenersTo(Unit unitArg) {
 		unitArg.abilityCollectionRef().addAddListener(addListener);
 		unitArg.abilityCollectionRef().addRemoveListener(removeListener);
-		unitArg.aliveProperty().addChangeListener(aliveListener);
 	}
 	
 	
@@ -150,12 +162,17 @@ public class UnitPane extends StackPane implements GameObjectRepresentation {
 		removeListenersFrom(this.unit);
 		unitWrap.setImage(null);
 		healthBar.clearAndHide();
-		paneMap.clear();
+		clearPaneMap();
 		Unit unitTemp = unit;
 		unit = null;
 		return unitTemp;
 	}
 	
+	/** Returns the {@link HealthBar} of this {@code UnitPane}. */
+	public HealthBar getHealthBar() {
+		return healthBar;
+	}
+	
 	public boolean hasUnit() {
 		return unit != null;
 	}
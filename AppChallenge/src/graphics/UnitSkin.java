@@ -102,6 +102,17 @@ public enum UnitSkin {
 		infoMap.put(Summoner.class, new ImageInfo("Summoner.png"));
 	}
 	
+	/**
+	 * Loads the image of every {@link Unit} and every projectile, so that later calls to the methods of this class do not have to. May be called
+	 * from any thread.
+	 */
+	public static void loadImages() {
+		for(ImageInfo info : infoMap.values())
+			info.getImage();
+		bulletInfo.getImage();
+		rockInfo.getImage();
+	}
+	
 	public static Image imageFor(Unit unit) {
 		return imageFor(unit.getClass());
 	}
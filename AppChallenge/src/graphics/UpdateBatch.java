@@ -0,0 +1,72 @@
+package graphics;
+
+import java.util.*;
+
+/**
+ * <p>Coalesces the display updates caused by a group of {@link logic.GameEvent GameEvents} that are shown together, such as the health changes
+ * of an area attack. While a batch is open, parts of the display (for example, {@link HealthBar#showHealth(int) HealthBars})
+ * {@link #runOrDefer(Object, Runnable) defer} their updates instead of running them. An update is deferred under a key, and a later update with
+ * the same key replaces it, so each part updates the display at most once per batch, with the latest state, when the outermost batch
+ * {@link #commit() commits}.</p>
+ * 
+ * <p>Batches may be nested; updates run when the outermost one commits. This class must only be used on the FX Thread.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class UpdateBatch {
+	
+	private static final Map<Object, Runnable> pending = new LinkedHashMap<>();
+	private static int depth = 0;
+	
+	private UpdateBatch() {}
+	
+	/**
+	 * Opens a batch. Each call must be matched by a call to {@link #commit()}.
+	 */
+	public static void begin() {
+		depth++;
+	}
+	
+	/**
+	 * Closes the most recently opened batch. If it is the outermost one, runs the deferred updates in the order they were first deferred.
+	 * @throws IllegalStateException if there is no open batch.
+	 */
+	public static void commit() {
+		if(depth == 0)
+			throw new IllegalStateException("There is no open batch");
+		if(--depth > 0)
+			return;
+		List<Runnable> updates = new ArrayList<>(pending.values());
+		pending.clear();
+		for(Runnable update : updates)
+			update.run();
+	}
+	
+	/**
+	 * Runs the given {@link Runnable} in a batch, committing it even if the {@code Runnable} throws an exception.
+	 */
+	public static void run(Runnable actions) {
+		begin();
+		try {
+			actions.run();
+		}
+		finally {
+			commit();
+		}
+	}
+	
+	public static boolean isOpen() {
+		return depth > 0;
+	}
+	
+	/**
+	 * If a batch is open, defers the given update until it commits, replacing any update already deferred under the same key. Otherwise, runs
+	 * the update now. Since the update may run after the display has changed in other ways, it should check that what it updates is still there.
+	 */
+	public static void runOrDefer(Object key, Runnable update) {
+		if(depth > 0)
+			pending.put(key, update);
+		else
+			update.run();
+	}
+}
@@ -36,6 +36,24 @@ public interface Ability {
 	 */
 	Collection<int[]> getLegals();
 	
+	/**
+	 * Writes the {@link Board#indexOf(int, int) packed indices} of the tiles that {@link #getLegals()} would return into {@code buffer}, starting at
+	 * index {@code 0}, and returns how many were written. The contents of {@code buffer} past the returned count are unspecified. A buffer
+	 * of length {@link Bitboard#CAPACITY} is always large enough.
+	 * 
+	 * <p>Unlike {@link #getLegals()}, implementations should not allocate any objects, so that this method can be called repeatedly
+	 * (for example, by the enemy AI) with the same buffer. The default implementation simply converts the result of {@link #getLegals()}.</p>
+	 * 
+	 * <p>Behavior of this method is undefined if {@code getUnit() == null} (that is, if this {@code Ability} does not currently have a {@link Unit}).</p>
+	 */
+	default int getLegals(int[] buffer) {
+		final Board board = getUnit().getBoard();
+		int count = 0;
+		for(int[] legal : getLegals())
+			buffer[count++] = board.indexOf(legal[0], legal[1]);
+		return count;
+	}
+	
 	/**
 	 * Creates a {@link Move} that when executed (by invoking {@link Move#execute(Board)}) will use this {@code Ability} on the appropriate
 	 * {@link Board}. The destination tile (that is, the tile the user selects in order to use this {@code Ability}) will be given by
@@ -49,4 +67,13 @@ public interface Ability {
 	default Move createMoveFor(int[] spot, GameObject target) {
 		return createMoveFor(spot[0], spot[1], target);
 	}
+	
+	/**
+	 * Equivalent to {@link #createMoveFor(int, int, GameObject)}, except that the destination tile is given by its
+	 * {@link Board#indexOf(int, int) packed index} on the {@link Board} of this {@code Ability}'s unit.
+	 */
+	default Move createMoveForIndex(int index, GameObject target) {
+		final Board board = getUnit().getBoard();
+		return createMoveFor(board.rowOf(index), board.colOf(index), target);
+	}
 }
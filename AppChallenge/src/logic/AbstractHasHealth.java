@@ -47,11 +47,19 @@ public abstract class AbstractHasHealth implements HasHealth {
 			
 		}
 
+		/**
+		 * {@inheritDoc} If the value changes while this {@link HasHealth} is on a {@link Board}, the {@code Board} is notified so that it can
+		 * update its {@link Board#getZobristKey() key}.
+		 */
 		@Override
 		public boolean set(int newValue) {
 			checkHealth(newValue, getMaxHealth());
+			final int oldValue = get();
 			boolean changed = super.set(newValue);
 			if(changed) {
+				final Board board = getBoard();
+				if(board != null)
+					board.healthChanged(AbstractHasHealth.this, oldValue);
 				if(newValue == 0) {
 					aliveProperty.set(false);
 				}
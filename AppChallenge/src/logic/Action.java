@@ -2,7 +2,8 @@ package logic;
 
 /**
  * An action that can be used with 0 or more other actions to form a {@link Move}. An action can be executed on a {@link Board}
- * by calling the {@link #execute(Board)} method.
+ * by calling the {@link #execute(Board)} method. It can also be executed with {@link #execute(Board, UndoJournal)}, which records what is needed
+ * to {@link #undo(Board, int, int) undo} it later.
  * 
  * @author Sam Hooper
  *
@@ -12,4 +13,16 @@ public interface Action {
 	 * Executes this {@code Action} on the given {@link Board}.
 	 */
 	void execute(Board board);
+	
+	/**
+	 * Executes this {@code Action} on the given {@link Board} exactly like {@link #execute(Board)}, and {@link UndoJournal#record(Action, int, int) records}
+	 * it in the given {@link UndoJournal} along with whatever this {@code Action} needs to undo itself.
+	 */
+	void execute(Board board, UndoJournal journal);
+	
+	/**
+	 * Reverts the effects of this {@code Action} on the given {@link Board}. {@code first} and {@code second} are the values this {@code Action}
+	 * recorded when it was {@link #execute(Board, UndoJournal) executed}. This method should only be called by {@link UndoJournal#undoTo(Board, int)}.
+	 */
+	void undo(Board board, int first, int second);
 }
@@ -0,0 +1,168 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * <p>A reverse index of where the {@link PlayerUnit PlayerUnits} of a {@link Board} can be attacked from. For each {@code PlayerUnit} (a
+ * <i>target</i>), it holds two {@link Bitboard Bitboards}:
+ * <ul>
+ * <li>the <i>shoot-from</i> mask: the tiles in the target's row and column that have nothing between them and the target, so that a
+ * {@link logic.abilities.Shoot Shoot} from there would hit it first. Targets that share their tile with an {@link Obstacle} have an empty
+ * shoot-from mask, since the {@code Obstacle} would be hit instead.</li>
+ * <li>the <i>melee-from</i> mask: the 8 tiles adjacent to the target, from which a {@link logic.abilities.Melee Melee} could hit it.</li>
+ * </ul>
+ * It also holds the union of each kind of mask and, for every tile, how many targets each kind of attack could hit from it. Finding the tiles
+ * an enemy could move to and attack from on its next move is then an intersection of its reachable tiles with a union mask.</p>
+ *
+ * <p>The masks describe the {@code Board} as it is, so the tile of the attacking {@link Unit} still counts as occupied. {@code AttackFromIndexes}
+ * are obtained from {@link Board#getAttackFromIndex()}, which caches one and only rebuilds it when a {@code Unit} or {@code Obstacle} is added,
+ * removed, or moved. An {@code AttackFromIndex} must not be used after its {@code Board} has changed in that way without getting it from the
+ * {@code Board} again.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class AttackFromIndex {
+	
+	private final Board board;
+	/** The {@link Board#indexOf(int, int) packed indices} of the targets. Only the first {@link #targetCount} are valid. */
+	private final int[] targets;
+	/** The masks of each target, in the same order as {@link #targets}. Reused between rebuilds. */
+	private final Bitboard[] shootFrom, meleeFrom;
+	private final Bitboard shootFromUnion, meleeFromUnion;
+	/** The number of targets that can be shot or meleed from each tile, indexed by packed index. */
+	private final int[] shootTargetCounts, meleeTargetCounts;
+	private int targetCount;
+	/** The {@link Board#getOccupancyVersion() occupancy version} this index was built at. */
+	private long occupancyVersion;
+	
+	AttackFromIndex(Board board) {
+		this.board = board;
+		this.targets = new int[board.getTileCount()];
+		this.shootFrom = new Bitboard[board.getTileCount()];
+		this.meleeFrom = new Bitboard[board.getTileCount()];
+		this.shootFromUnion = new Bitboard();
+		this.meleeFromUnion = new Bitboard();
+		this.shootTargetCounts = new int[board.getTileCount()];
+		this.meleeTargetCounts = new int[board.getTileCount()];
+		this.occupancyVersion = -1;
+	}
+	
+	/**
+	 * Rebuilds this index if a {@link Unit} or {@link Obstacle} has been added, removed, or moved since it was last built.
+	 */
+	void update() {
+		if(occupancyVersion == board.getOccupancyVersion())
+			return;
+		shootFromUnion.clear();
+		meleeFromUnion.clear();
+		Arrays.fill(shootTargetCounts, 0);
+		Arrays.fill(meleeTargetCounts, 0);
+		final Bitboard players = board.getPlayerUnitMask();
+		targetCount = 0;
+		for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1)) {
+			final int t = targetCount++;
+			targets[t] = i;
+			if(shootFrom[t] == null) {
+				shootFrom[t] = new Bitboard();
+				meleeFrom[t] = new Bitboard();
+			}
+			fillShootFrom(i, shootFrom[t]);
+			fillMeleeFrom(i, meleeFrom[t]);
+			shootFromUnion.or(shootFrom[t]);
+			meleeFromUnion.or(meleeFrom[t]);
+			for(int j = shootFrom[t].nextSetBit(0); j >= 0; j = shootFrom[t].nextSetBit(j + 1))
+				shootTargetCounts[j]++;
+			for(int j = meleeFrom[t].nextSetBit(0); j >= 0; j = meleeFrom[t].nextSetBit(j + 1))
+				meleeTargetCounts[j]++;
+		}
+		occupancyVersion = board.getOccupancyVersion();
+	}
+	
+	/** Sets {@code mask} to the tiles between the target and the first occupied tile (exclusive) in each direction. */
+	private void fillShootFrom(int target, Bitboard mask) {
+		mask.clear();
+		if(board.hasObstacleAt(target))
+			return;
+		final int row = board.rowOf(target), col = board.colOf(target), cols = board.getCols();
+		final int below = board.firstOccupiedFrom(row, col, 1, 0), above = board.firstOccupiedFrom(row, col, -1, 0);
+		final int right = board.firstOccupiedFrom(row, col, 0, 1), left = board.firstOccupiedFrom(row, col, 0, -1);
+		for(int r = row + 1, end = below < 0 ? board.getRows() : board.rowOf(below); r < end; r++)
+			mask.set(r * cols + col);
+		for(int r = row - 1, end = above < 0 ? -1 : board.rowOf(above); r > end; r--)
+			mask.set(r * cols + col);
+		for(int c = col + 1, end = right < 0 ? cols : board.colOf(right); c < end; c++)
+			mask.set(row * cols + c);
+		for(int c = col - 1, end = left < 0 ? -1 : board.colOf(left); c > end; c--)
+			mask.set(row * cols + c);
+	}
+	
+	/** Sets {@code mask} to the 8 tiles adjacent to the target. */
+	private void fillMeleeFrom(int target, Bitboard mask) {
+		mask.clear();
+		final int row = board.rowOf(target), col = board.colOf(target);
+		for(int[] adj : Board.ADJACENT_8) {
+			final int r = row + adj[0], c = col + adj[1];
+			if(board.inBounds(r, c))
+				mask.set(board.indexOf(r, c));
+		}
+	}
+	
+	/**
+	 * Returns the number of targets, which is the number of {@link PlayerUnit PlayerUnits} on the {@link Board}.
+	 */
+	public int getTargetCount() {
+		return targetCount;
+	}
+	
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of the tile of the target with the given number, which must be less than
+	 * {@link #getTargetCount()}. Targets are numbered in order of their packed indices.
+	 */
+	public int getTargetIndex(int target) {
+		return targets[target];
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual shoot-from mask of the target with the given number. It must never be modified.</b>
+	 */
+	public Bitboard getShootFromMask(int target) {
+		return shootFrom[target];
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual melee-from mask of the target with the given number. It must never be modified.</b>
+	 */
+	public Bitboard getMeleeFromMask(int target) {
+		return meleeFrom[target];
+	}
+	
+	/**
+	 * Returns the union of the shoot-from masks of all of the targets. <b>IMPORTANT: the returned {@link Bitboard} must never be modified.</b>
+	 */
+	public Bitboard getShootFromUnion() {
+		return shootFromUnion;
+	}
+	
+	/**
+	 * Returns the union of the melee-from masks of all of the targets. <b>IMPORTANT: the returned {@link Bitboard} must never be modified.</b>
+	 */
+	public Bitboard getMeleeFromUnion() {
+		return meleeFromUnion;
+	}
+	
+	/**
+	 * Returns the number of targets whose shoot-from masks contain the tile with the given {@link Board#indexOf(int, int) packed index}.
+	 */
+	public int shootTargetCountAt(int index) {
+		return shootTargetCounts[index];
+	}
+	
+	/**
+	 * Returns the number of targets whose melee-from masks contain the tile with the given {@link Board#indexOf(int, int) packed index}.
+	 */
+	public int meleeTargetCountAt(int index) {
+		return meleeTargetCounts[index];
+	}
+}
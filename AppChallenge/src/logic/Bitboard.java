@@ -0,0 +1,175 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * <p>A fixed-size set of tile indices, stored as bits. Every {@code Bitboard} can hold any index from {@code 0} (inclusive) to {@link #CAPACITY}
+ * (exclusive), which is enough to hold every tile of the largest possible {@link Board}. Tiles are identified by their
+ * {@link Board#indexOf(int, int) packed index}.</p>
+ *
+ * <p>Membership tests, insertions and removals are single bit operations, and {@link #cardinality()} is a handful of population counts.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class Bitboard {
+
+	/**
+	 * The number of indices a {@link Bitboard} can hold.
+	 */
+	public static final int CAPACITY = Board.MAX_ROWS * Board.MAX_COLS;
+
+	private static final int WORD_COUNT = (CAPACITY + Long.SIZE - 1) / Long.SIZE;
+
+	private final long[] words;
+
+	/**
+	 * Creates a new, empty {@link Bitboard}.
+	 */
+	public Bitboard() {
+		words = new long[WORD_COUNT];
+	}
+
+	/**
+	 * Creates a new {@link Bitboard} containing the same indices as the given one.
+	 */
+	public Bitboard(Bitboard other) {
+		words = other.words.clone();
+	}
+
+	public boolean get(int index) {
+		return (words[index >>> 6] & (1L << index)) != 0;
+	}
+
+	public void set(int index) {
+		words[index >>> 6] |= 1L << index;
+	}
+
+	public void clear(int index) {
+		words[index >>> 6] &= ~(1L << index);
+	}
+
+	/**
+	 * Sets the bit at the given index if {@code value} is {@code true}, and clears it otherwise.
+	 */
+	public void set(int index, boolean value) {
+		if(value)
+			set(index);
+		else
+			clear(index);
+	}
+
+	/**
+	 * Removes every index from this {@link Bitboard}.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0L);
+	}
+
+	/**
+	 * Makes this {@link Bitboard} contain exactly the same indices as the given one.
+	 */
+	public void copyFrom(Bitboard other) {
+		System.arraycopy(other.words, 0, words, 0, WORD_COUNT);
+	}
+
+	/**
+	 * Returns the number of indices in this {@link Bitboard}.
+	 */
+	public int cardinality() {
+		int count = 0;
+		for(long word : words)
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	public boolean isEmpty() {
+		for(long word : words)
+			if(word != 0)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Returns the smallest index in this {@link Bitboard} that is greater than or equal to {@code fromIndex}, or {@code -1} if there is none.
+	 */
+	public int nextSetBit(int fromIndex) {
+		if(fromIndex >= CAPACITY)
+			return -1;
+		int w = fromIndex >>> 6;
+		long word = words[w] & (-1L << fromIndex);
+		while(true) {
+			if(word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if(++w == WORD_COUNT)
+				return -1;
+			word = words[w];
+		}
+	}
+
+	/**
+	 * Removes from this {@link Bitboard} every index that is not in the given one.
+	 */
+	public void and(Bitboard other) {
+		for(int i = 0; i < WORD_COUNT; i++)
+			words[i] &= other.words[i];
+	}
+
+	/**
+	 * Adds every index of the given {@link Bitboard} to this one.
+	 */
+	public void or(Bitboard other) {
+		for(int i = 0; i < WORD_COUNT; i++)
+			words[i] |= other.words[i];
+	}
+
+	/**
+	 * Removes from this {@link Bitboard} every index that is in the given one.
+	 */
+	public void andNot(Bitboard other) {
+		for(int i = 0; i < WORD_COUNT; i++)
+			words[i] &= ~other.words[i];
+	}
+
+	/**
+	 * Returns {@code true} if this {@link Bitboard} and the given one have at least one index in common, {@code false} otherwise.
+	 */
+	public boolean intersects(Bitboard other) {
+		for(int i = 0; i < WORD_COUNT; i++)
+			if((words[i] & other.words[i]) != 0)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the number of indices that this {@link Bitboard} and the given one have in common. Neither {@code Bitboard} is modified.
+	 */
+	public int countAnd(Bitboard other) {
+		int count = 0;
+		for(int i = 0; i < WORD_COUNT; i++)
+			count += Long.bitCount(words[i] & other.words[i]);
+		return count;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof Bitboard && Arrays.equals(words, ((Bitboard) obj).words);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("Bitboard[");
+		for(int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+			if(sb.length() > 9)
+				sb.append(", ");
+			sb.append(i);
+		}
+		return sb.append(']').toString();
+	}
+}
@@ -3,7 +3,7 @@ package logic;
 import java.util.*;
 import java.util.function.*;
 
-import utils.BFS;
+import utils.GridBFS;
 /**
  * @author Sam Hooper
  *
@@ -40,6 +40,38 @@ public class Board {
 	
 	private final BoardTile[][] tiles;
 	private final int rows, cols, movesPerPlayer, movesPerEnemy;
+	/**
+	 * Occupancy masks, indexed by {@link #indexOf(int, int) packed index}. They are kept in sync with the {@link BoardTile BoardTiles} by
+	 * {@link #tileTypeChanged(BoardTile, TileType)}, {@link #objectAdded(BoardTile, GameObject)}, and {@link #objectRemoved(BoardTile, GameObject)}.
+	 */
+	private final Bitboard liquidMask, obstacleMask, playerUnitMask, enemyUnitMask;
+	/** The {@link Unit} on each tile, indexed by {@link #indexOf(int, int) packed index}, or {@code null} if the tile has no {@code Unit}. */
+	private final Unit[] unitsByIndex;
+	/** The tile that each {@link Unit} on this {@link Board} is on. */
+	private final Map<Unit, BoardTile> unitTiles;
+	/** The number of {@link PlayerUnit PlayerUnits} in each row and column. */
+	private final int[] playerUnitsInRow, playerUnitsInCol;
+	/**
+	 * Line-of-sight masks: bit {@code c} of {@code occupiedInRow[r]} and bit {@code r} of {@code occupiedInCol[c]} are set when the tile
+	 * {@code (r, c)} has a {@link Unit} or an {@link Obstacle}. See {@link #firstOccupiedFrom(int, int, int, int)}.
+	 */
+	private final int[] occupiedInRow, occupiedInCol;
+	/** Created the first time it is needed, since most copies of this {@link Board} never search. */
+	private GridBFS bfs;
+	/**
+	 * Incremented whenever a {@link PlayerUnit} is added to or removed from a tile, and whenever a tile's {@link TileType} changes, respectively.
+	 */
+	private long playerUnitVersion, terrainVersion;
+	/** Incremented whenever a {@link Unit} or {@link Obstacle} is added to or removed from a tile. */
+	private long occupancyVersion;
+	/** Cached {@link DistanceField DistanceFields}, indexed by the bitmask of the ordinals of their traversable {@link TileType TileTypes}. */
+	private final DistanceField[] playerDistanceFields;
+	/** Cached {@link ThreatMap ThreatMaps}, indexed by the ordinal of the {@link Turn} of their attackers. */
+	private final ThreatMap[] threatMaps;
+	/** Created the first time it is needed. See {@link #getAttackFromIndex()}. */
+	private AttackFromIndex attackFromIndex;
+	/** Created the first time it is needed. See {@link #getSquareCounts()}. */
+	private SquareCounts squareCounts;
 	/**
 	 * The amount of enemy {@link Move}s that have yet to be played on the Enemy's turn. This value is not used during the Player's turn.
 	 */
@@ -50,6 +82,10 @@ public class Board {
 	 */
 	private List<EnemyUnit> enemies;
 	private Turn turn;
+	private EnemyPlanner enemyPlanner;
+	private SplittableRandom random;
+	/** See {@link #getZobristKey()}. Kept up to date by the same hooks as the occupancy masks, and by {@link #setTurn(Turn)}. */
+	private long zobristKey;
 	
 	/** Creates a new {@code Board} with the given amount of rows and columns, as well as the given amount of moves for the {@link Turn turns}.
 	 * All of the tiles on the board will be empty, solid tiles
@@ -59,8 +95,22 @@ public class Board {
 		verifySize(rows, cols);
 		this.rows = rows;
 		this.cols = cols;
+		this.liquidMask = new Bitboard();
+		this.obstacleMask = new Bitboard();
+		this.playerUnitMask = new Bitboard();
+		this.enemyUnitMask = new Bitboard();
+		this.unitsByIndex = new Unit[rows * cols];
+		this.unitTiles = new IdentityHashMap<>();
+		this.playerUnitsInRow = new int[rows];
+		this.playerUnitsInCol = new int[cols];
+		this.occupiedInRow = new int[rows];
+		this.occupiedInCol = new int[cols];
+		this.playerDistanceFields = new DistanceField[1 << TileType.values().length];
+		this.threatMaps = new ThreatMap[Turn.values().length];
 		tiles = new BoardTile[rows][cols];
 		turn = Turn.PLAYER;
+		enemyPlanner = EnemyPlanner.GREEDY;
+		random = new SplittableRandom();
 		this.movesPerPlayer = movesPerPlayer;
 		this.movesPerEnemy = movesPerEnemy;
 		initBoardTiles();
@@ -88,6 +138,35 @@ public class Board {
 		return row >= 0 && row < rows && col >= 0 && col < cols; 
 	}
 	
+	/**
+	 * Returns the packed index of the indicated tile, which is {@code row * getCols() + col}. Packed indices are what {@link Bitboard Bitboards}
+	 * store. The indicated tile must be {@link #inBounds(int, int) in bounds}.
+	 */
+	public int indexOf(int row, int col) {
+		return row * cols + col;
+	}
+	
+	/**
+	 * Returns the row of the tile with the given {@link #indexOf(int, int) packed index}.
+	 */
+	public int rowOf(int index) {
+		return index / cols;
+	}
+	
+	/**
+	 * Returns the column of the tile with the given {@link #indexOf(int, int) packed index}.
+	 */
+	public int colOf(int index) {
+		return index % cols;
+	}
+	
+	/**
+	 * Returns the number of tiles on this {@link Board}, which is {@code getRows() * getCols()}.
+	 */
+	public int getTileCount() {
+		return rows * cols;
+	}
+	
 	public boolean isOccupied(int row, int col) {
 		return tiles[row][col].isOccupied();
 	}
@@ -129,6 +208,13 @@ public class Board {
 		return tiles[row][col];
 	}
 	
+	/**
+	 * Returns the tile with the given {@link #indexOf(int, int) packed index}.
+	 */
+	public BoardTile getTileAtIndex(int index) {
+		return tiles[index / cols][index % cols];
+	}
+	
 	public Unit getUnitAtOrNull(final int[] spot) {
 		return getUnitAtOrNull(spot[0], spot[1]);
 	}
@@ -174,6 +260,223 @@ public class Board {
 	}
 	
 	
+	/**
+	 * Returns {@code true} if the tile with the given {@link #indexOf(int, int) packed index} has a {@link Unit}, {@code false} otherwise.
+	 */
+	public boolean hasUnitAt(int index) {
+		return playerUnitMask.get(index) || enemyUnitMask.get(index);
+	}
+	
+	/**
+	 * Returns {@code true} if the tile with the given {@link #indexOf(int, int) packed index} has a {@link PlayerUnit}, {@code false} otherwise.
+	 */
+	public boolean hasPlayerUnitAt(int index) {
+		return playerUnitMask.get(index);
+	}
+	
+	/**
+	 * Returns {@code true} if the tile with the given {@link #indexOf(int, int) packed index} has an {@link EnemyUnit}, {@code false} otherwise.
+	 */
+	public boolean hasEnemyUnitAt(int index) {
+		return enemyUnitMask.get(index);
+	}
+	
+	/**
+	 * Returns {@code true} if the tile with the given {@link #indexOf(int, int) packed index} has an {@link Obstacle}, {@code false} otherwise.
+	 */
+	public boolean hasObstacleAt(int index) {
+		return obstacleMask.get(index);
+	}
+	
+	/**
+	 * Returns {@code true} if the tile with the given {@link #indexOf(int, int) packed index} is {@link TileType#LIQUID liquid}, {@code false} otherwise.
+	 */
+	public boolean isLiquidAt(int index) {
+		return liquidMask.get(index);
+	}
+	
+	public int getPlayerUnitCount() {
+		return playerUnitMask.cardinality();
+	}
+	
+	public int getEnemyUnitCount() {
+		return enemyUnitMask.cardinality();
+	}
+	
+	public int getObstacleCount() {
+		return obstacleMask.cardinality();
+	}
+	
+	public int getLiquidTileCount() {
+		return liquidMask.cardinality();
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual mask of {@link TileType#LIQUID liquid} tiles used by this {@link Board}. It must never be
+	 * modified.</b>
+	 */
+	public Bitboard getLiquidMask() {
+		return liquidMask;
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual mask of tiles with {@link Obstacle Obstacles} used by this {@link Board}. It must never be
+	 * modified.</b>
+	 */
+	public Bitboard getObstacleMask() {
+		return obstacleMask;
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual mask of tiles with {@link PlayerUnit PlayerUnits} used by this {@link Board}. It must
+	 * never be modified.</b>
+	 */
+	public Bitboard getPlayerUnitMask() {
+		return playerUnitMask;
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned {@link Bitboard} is the actual mask of tiles with {@link EnemyUnit EnemyUnits} used by this {@link Board}. It must
+	 * never be modified.</b>
+	 */
+	public Bitboard getEnemyUnitMask() {
+		return enemyUnitMask;
+	}
+	
+	/** Called by the given {@link BoardTile} whenever its {@link TileType} is set. {@code oldType} is {@code null} when the tile is first created. */
+	void tileTypeChanged(BoardTile tile, TileType oldType) {
+		liquidMask.set(tile.getIndex(), tile.getType() == TileType.LIQUID);
+		if(oldType != tile.getType()) {
+			terrainVersion++;
+			if(oldType != null)
+				zobristKey ^= Zobrist.tileKey(tile.getIndex(), oldType);
+			zobristKey ^= Zobrist.tileKey(tile.getIndex(), tile.getType());
+		}
+	}
+	
+	/**
+	 * Called by the given {@link BoardTile} after the given {@link GameObject} has been added to it. Every way of putting a {@link Unit} or
+	 * {@link Obstacle} on a tile ({@link #addUnitOrThrow(Unit, int, int)}, {@link #setUnit(Unit, int, int)}, {@link logic.actions.Relocate}, etc.) ends
+	 * up here, so this is where the occupancy indexes are updated.
+	 */
+	void objectAdded(BoardTile tile, GameObject object) {
+		final int index = tile.getIndex();
+		maskFor(object).set(index);
+		zobristKey ^= Zobrist.objectKey(index, (HasHealth) object);
+		occupiedInRow[tile.getRow()] |= 1 << tile.getCol();
+		occupiedInCol[tile.getCol()] |= 1 << tile.getRow();
+		occupancyVersion++;
+		if(object instanceof Unit) {
+			unitsByIndex[index] = (Unit) object;
+			unitTiles.put((Unit) object, tile);
+			if(object instanceof PlayerUnit) {
+				playerUnitsInRow[tile.getRow()]++;
+				playerUnitsInCol[tile.getCol()]++;
+				playerUnitVersion++;
+			}
+		}
+	}
+	
+	/** Called by the given {@link BoardTile} after the given {@link GameObject} has been removed from it. */
+	void objectRemoved(BoardTile tile, GameObject object) {
+		final int index = tile.getIndex();
+		maskFor(object).clear(index);
+		zobristKey ^= Zobrist.objectKey(index, (HasHealth) object);
+		if(!hasUnitAt(index) && !obstacleMask.get(index)) { //a tile may have both a Unit and an Obstacle.
+			occupiedInRow[tile.getRow()] &= ~(1 << tile.getCol());
+			occupiedInCol[tile.getCol()] &= ~(1 << tile.getRow());
+		}
+		occupancyVersion++;
+		if(object instanceof Unit) {
+			unitsByIndex[index] = null;
+			unitTiles.remove(object, tile);
+			if(object instanceof PlayerUnit) {
+				playerUnitsInRow[tile.getRow()]--;
+				playerUnitsInCol[tile.getCol()]--;
+				playerUnitVersion++;
+			}
+		}
+	}
+	
+	/**
+	 * Called by the given {@link HasHealth}, which is on this {@link Board}, after its health changes from {@code oldHealth} to its current health.
+	 */
+	void healthChanged(HasHealth object, int oldHealth) {
+		final int index = indexOf(object.getRow(), object.getCol());
+		zobristKey ^= Zobrist.objectKey(index, object, oldHealth) ^ Zobrist.objectKey(index, object);
+	}
+	
+	/** Returns the {@link Unit} on the tile with the given {@link #indexOf(int, int) packed index}, or {@code null} if there is none. */
+	Unit unitAt(int index) {
+		return unitsByIndex[index];
+	}
+	
+	/**
+	 * Returns the number of {@link PlayerUnit PlayerUnits} in the given row. This is an O(1) operation.
+	 */
+	public int getPlayerUnitCountInRow(int row) {
+		return playerUnitsInRow[row];
+	}
+	
+	/**
+	 * Returns the number of {@link PlayerUnit PlayerUnits} in the given column. This is an O(1) operation.
+	 */
+	public int getPlayerUnitCountInCol(int col) {
+		return playerUnitsInCol[col];
+	}
+	
+	/**
+	 * Returns a mask of the tiles in the given row that have a {@link Unit} or an {@link Obstacle}: bit {@code c} is set if the tile in column
+	 * {@code c} has one. This is an O(1) operation.
+	 */
+	public int getOccupiedMaskInRow(int row) {
+		return occupiedInRow[row];
+	}
+	
+	/**
+	 * Returns a mask of the tiles in the given column that have a {@link Unit} or an {@link Obstacle}: bit {@code r} is set if the tile in row
+	 * {@code r} has one. This is an O(1) operation.
+	 */
+	public int getOccupiedMaskInCol(int col) {
+		return occupiedInCol[col];
+	}
+	
+	/**
+	 * Returns the {@link #indexOf(int, int) packed index} of the first tile, going from the indicated tile (exclusive) in the given direction,
+	 * that has a {@link Unit} or an {@link Obstacle}, or {@code -1} if there is none before the edge of this {@link Board}. The direction must
+	 * be one of {@link #ADJACENT_4}. This is an O(1) operation.
+	 * @throws IllegalArgumentException if the direction is not one of {@link #ADJACENT_4}.
+	 */
+	public int firstOccupiedFrom(int row, int col, int dRow, int dCol) {
+		if(dRow == 0 && dCol == 1) {
+			final int bits = occupiedInRow[row] & -(2 << col);
+			return bits == 0 ? -1 : indexOf(row, Integer.numberOfTrailingZeros(bits));
+		}
+		if(dRow == 0 && dCol == -1) {
+			final int bits = occupiedInRow[row] & (1 << col) - 1;
+			return bits == 0 ? -1 : indexOf(row, 31 - Integer.numberOfLeadingZeros(bits));
+		}
+		if(dRow == 1 && dCol == 0) {
+			final int bits = occupiedInCol[col] & -(2 << row);
+			return bits == 0 ? -1 : indexOf(Integer.numberOfTrailingZeros(bits), col);
+		}
+		if(dRow == -1 && dCol == 0) {
+			final int bits = occupiedInCol[col] & (1 << row) - 1;
+			return bits == 0 ? -1 : indexOf(31 - Integer.numberOfLeadingZeros(bits), col);
+		}
+		throw new IllegalArgumentException("Not an orthogonal direction: (" + dRow + ", " + dCol + ")");
+	}
+	
+	private Bitboard maskFor(GameObject object) {
+		if(object instanceof PlayerUnit)
+			return playerUnitMask;
+		if(object instanceof EnemyUnit)
+			return enemyUnitMask;
+		if(object instanceof Obstacle)
+			return obstacleMask;
+		throw new IllegalArgumentException("Must be PlayerUnit, EnemyUnit, or Obstacle");
+	}
+	
 	/**
 	 * Adds the given {@link GameObject} to the indicated {@link TerrainTile}, throwing an {@link IllegalStateException} if there is already a {@code GameObject}
 	 * of that type on the {@code TerrainTile}. The given {@code GameObject} must be a {@link Unit} or a {@link Obstacle}.
@@ -196,16 +499,77 @@ public class Board {
 		return enemyMovesRemaining > 0;
 	}
 	
+	/**
+	 * Returns the next {@link Move} of the {@link Turn#ENEMY enemy's} turn. If the {@link EnemyUnit} whose move it is has died earlier in the turn,
+	 * returns {@link Move#EMPTY_MOVE}.
+	 */
 	public Move nextEnemyMove() {
 		EnemyUnit actingEnemy = enemies.get((enemies.size() * movesPerEnemy - enemyMovesRemaining) / movesPerEnemy);
-		System.out.printf("entered nextEnemyMove, enemies = %s%n\tactingEnemy=%s%n", enemies, actingEnemy);
 		int enemyMoves = enemyMovesRemaining % movesPerEnemy;
 		if(enemyMoves == 0)
 			enemyMoves = movesPerEnemy;
 		enemyMovesRemaining--;
-		Move chosenMove = actingEnemy.chooseMove(this, enemyMoves);
-		System.out.printf("nextEnemyMove chose: %s%n", chosenMove);
-		return chosenMove;
+		if(!actingEnemy.isAlive() || actingEnemy.getBoard() != this) //it died earlier this turn (for example, to a Smash).
+			return Move.EMPTY_MOVE;
+		return enemyPlanner.chooseMove(this, actingEnemy, enemyMoves);
+	}
+	
+	/**
+	 * Returns the number of enemy {@link Move Moves} that have yet to be {@link #nextEnemyMove() played} this turn.
+	 * @throws IllegalStateException if it is the {@link Turn#PLAYER player's turn}.
+	 */
+	public int getEnemyMovesRemaining() {
+		if(turn != Turn.ENEMY)
+			throw new IllegalStateException("Must be the enemy's turn");
+		return enemyMovesRemaining;
+	}
+	
+	/**
+	 * Returns an unmodifiable view of the {@link EnemyUnit EnemyUnits} that play this turn, in the order they play. Each plays
+	 * {@link #getMovesPerEnemy()} {@link Move Moves} in a row. {@code EnemyUnits} that have died earlier in the turn are still included (their
+	 * {@code Moves} are {@link Move#EMPTY_MOVE}), and {@code EnemyUnits} that were added during the turn are not. Together with
+	 * {@link #getEnemyMovesRemaining()}, this tells which {@code EnemyUnit} plays each of the remaining {@code Moves}.
+	 * @throws IllegalStateException if it is the {@link Turn#PLAYER player's turn}.
+	 */
+	public List<EnemyUnit> getEnemyTurnOrder() {
+		if(turn != Turn.ENEMY)
+			throw new IllegalStateException("Must be the enemy's turn");
+		return Collections.unmodifiableList(enemies);
+	}
+	
+	/**
+	 * Returns the source of randomness for the game logic on this {@link Board}, such as the random choices {@link EnemyUnit EnemyUnits} make in
+	 * {@link EnemyUnit#chooseMove(Board, int)}. Using it (rather than {@link Math#random()}) means a match can be replayed from the seed of its
+	 * {@code Board}, and {@code Boards} on different threads do not contend for a shared random number generator. Like the rest of this
+	 * {@code Board}, the returned {@link SplittableRandom} must only be used by one thread at a time. By default, it is randomly seeded.
+	 */
+	public SplittableRandom getRandom() {
+		return random;
+	}
+	
+	/**
+	 * Sets the {@link #getRandom() source of randomness} for the game logic on this {@link Board}. {@link BoardGenerator} gives each {@code Board}
+	 * it builds one {@link SplittableRandom#split() split} from its own.
+	 * @throws NullPointerException if {@code random} is {@code null}.
+	 */
+	public void setRandom(SplittableRandom random) {
+		this.random = Objects.requireNonNull(random);
+	}
+	
+	/**
+	 * Returns the {@link EnemyPlanner} that {@link #nextEnemyMove()} uses to choose the enemy's {@link Move Moves}. It is {@link EnemyPlanner#GREEDY}
+	 * unless it has been {@link #setEnemyPlanner(EnemyPlanner) set} to something else.
+	 */
+	public EnemyPlanner getEnemyPlanner() {
+		return enemyPlanner;
+	}
+	
+	/**
+	 * Sets the {@link EnemyPlanner} that {@link #nextEnemyMove()} uses to choose the enemy's {@link Move Moves}.
+	 * @throws NullPointerException if {@code enemyPlanner} is {@code null}.
+	 */
+	public void setEnemyPlanner(EnemyPlanner enemyPlanner) {
+		this.enemyPlanner = Objects.requireNonNull(enemyPlanner);
 	}
 	
 	/**
@@ -265,11 +629,30 @@ public class Board {
 		return turn;
 	}
 	
+	private void setTurn(Turn turn) {
+		if(turn != this.turn)
+			zobristKey ^= Zobrist.ENEMY_TURN;
+		this.turn = turn;
+	}
+	
+	/**
+	 * <p>Returns the Zobrist key of this {@link Board}: a 64-bit hash of the {@link TileType} of every tile, the class and health of every {@link Unit}
+	 * and every {@link Obstacle} (and the size of every {@code Obstacle}) along with the tile it is on, and the {@link #getTurn() turn}. Two
+	 * {@code Boards} in the same position have the same key, however they got there, and {@code Boards} in different positions almost certainly have
+	 * different keys. It does not depend on how many moves are left in the current turn.</p>
+	 * 
+	 * <p>The key is kept up to date as the {@code Board} changes, including when {@link Action Actions} are executed or
+	 * {@link #unmakeMove(UndoJournal, int) undone}, so this is an O(1) operation.</p>
+	 */
+	public long getZobristKey() {
+		return zobristKey;
+	}
+	
 	/**
 	 * Sets the {@link #getTurn() turn} of this {@link Board} to the {@link Turn#ENEMY enemy's} and prepares to play the turn. </b>Does not play the turn.</b>
 	 */
 	public void setToEnemyTurn() {
-		this.turn = Turn.ENEMY;
+		setTurn(Turn.ENEMY);
 		this.enemies = findEnemies();
 		this.enemyMovesRemaining = this.enemies.size() * movesPerEnemy;
 	}
@@ -279,19 +662,11 @@ public class Board {
 	 * Sets the moves remaining value to {@link #getMovesPerPlayer() the number of moves per player unit} for every {@link PlayerUnit}.
 	 * */
 	public void setToPlayerTurn() {
-		this.turn = Turn.PLAYER;
+		setTurn(Turn.PLAYER);
 		this.enemies = null;
 		this.enemyMovesRemaining = -1;
-		for(int i = 0; i < tiles.length; i++) {
-			for(int j = 0; j < tiles[i].length; j++) {
-				BoardTile tile = tiles[i][j];
-				Unit unit = tile.getUnitOrNull();
-				if(unit instanceof PlayerUnit) {
-					PlayerUnit pu = (PlayerUnit) unit;
-					pu.setMovesRemaining(movesPerPlayer);
-				}
-			}
-		}
+		for(int i = playerUnitMask.nextSetBit(0); i >= 0; i = playerUnitMask.nextSetBit(i + 1))
+			((PlayerUnit) unitsByIndex[i]).setMovesRemaining(movesPerPlayer);
 	}
 	
 	public int getMovesPerPlayer() {
@@ -303,44 +678,38 @@ public class Board {
 	}
 	
 	/**
-	 * Does an O(rows*cols) search to find all the enemies on this board. Returns an {@link ArrayList} of all the {@link EnemyUnit EnemyUnits}.
+	 * Returns an {@link ArrayList} of all the {@link EnemyUnit EnemyUnits} on this board, in row-major order. This is an O(enemy count) operation.
 	 */
 	private ArrayList<EnemyUnit> findEnemies() {
-		ArrayList<EnemyUnit> list = new ArrayList<>();
-		for(int i = 0; i < rows; i++) {
-			for(int j = 0; j < cols; j++) {
-				Unit unit = tiles[i][j].getUnitOrNull();
-				if(unit instanceof EnemyUnit)
-					list.add((EnemyUnit) unit);
-			}
-		}
+		ArrayList<EnemyUnit> list = new ArrayList<>(enemyUnitMask.cardinality());
+		for(int i = enemyUnitMask.nextSetBit(0); i >= 0; i = enemyUnitMask.nextSetBit(i + 1))
+			list.add((EnemyUnit) unitsByIndex[i]);
 		return list;
 	}
 	
+	/**
+	 * Returns a new {@link Collection} containing all of the {@link PlayerUnit PlayerUnits} currently on this {@link Board}, in row-major order.
+	 */
 	public Collection<PlayerUnit> getCurrentPlayerUnits() {
-		ArrayList<PlayerUnit> list = new ArrayList<>();
-		for(int i = 0; i < rows; i++) {
-			for(int j = 0; j < cols; j++) {
-				Unit unit = tiles[i][j].getUnitOrNull();
-				if(unit instanceof PlayerUnit)
-					list.add((PlayerUnit) unit);
-			}
-		}
+		ArrayList<PlayerUnit> list = new ArrayList<>(playerUnitMask.cardinality());
+		for(int i = playerUnitMask.nextSetBit(0); i >= 0; i = playerUnitMask.nextSetBit(i + 1))
+			list.add((PlayerUnit) unitsByIndex[i]);
 		return list;
 	}
 	
+	/**
+	 * Returns a new {@link Collection} containing all of the {@link EnemyUnit EnemyUnits} currently on this {@link Board}.
+	 */
+	public Collection<EnemyUnit> getCurrentEnemyUnits() {
+		return findEnemies();
+	}
+	
 	/**
 	 * <p>Returns {@code true} if {@code unit} is on this {@code Board}, {@code false} otherwise. {@code unit} must not be {@code null}.</p>
 	 */
 	public boolean isOnBoard(Unit unit) {
 		Objects.requireNonNull(unit);
-		for(int i = 0; i < tiles.length; i++) {
-			for(int j = 0; j < tiles[i].length; j++) {
-				if(unit.equals(tiles[i][j].getUnitOrNull()))
-					return true;
-			}
-		}
-		return false;
+		return unitTiles.containsKey(unit);
 	}
 	
 	/**
@@ -378,7 +747,8 @@ public class Board {
 	/**
 	 * Executes the given {@link TileConsumer} on every tile surrounding the indicated one in a square with the given radius.
 	 * If {@code radius} is 0, this method has no effect. The given starting location need not be {@link #inBounds(int, int) in the bounds}
-	 * of this {@link Board}. If {@code includeCenter} is {@code true} the center tile will be consumed, otherwise it will not.
+	 * of this {@link Board}. If {@code includeCenter} is {@code true} the center tile will be consumed, otherwise it will not. Tiles are consumed
+	 * in row-major order; if the center is in bounds, they are read from the shared {@link ShapeTemplate}.
 	 * @throws NullPointerException if the given {@link TileConsumer} is {@code null} <b>and</b> the given radius is not {@code 0}.
 	 * @throws IllegalArgumentException if the given radius is less than {@code 0}.
 	 */
@@ -388,6 +758,15 @@ public class Board {
 		Objects.requireNonNull(consumer);
 		if(radius < 0)
 			throw new IllegalArgumentException("Radius must be >= 0");
+		if(inBounds(row, col)) {
+			final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, radius, rows, cols);
+			final int[] cells = square.cells();
+			final int origin = indexOf(row, col);
+			for(int i = square.start(origin), end = square.end(origin); i < end; i++)
+				if(includeCenter || cells[i] != origin)
+					consumer.accept(getTileAtIndex(cells[i]));
+			return;
+		}
 		for(int i = row - radius; i <= row + radius; i++) {
 			for(int j = col - radius; j <= col + radius; j++) {
 				if(!inBounds(i, j) || !includeCenter && i == row && j == col)
@@ -463,7 +842,9 @@ public class Board {
 	/**
 	 * Returns {@code true} if any of the {@link BoardTile BoardTiles} in a square of the given radius around the given center
 	 * satisfies the given {@link TilePredicate}, {@code false} otherwise. Returns {@code false} if the given radius is {@code 0}.
-	 * The center need not be {@link #inBounds(int, int) in the bounds} of this {@link Board}.
+	 * The center need not be {@link #inBounds(int, int) in the bounds} of this {@link Board}. If the {@code TilePredicate} is a
+	 * {@link TileCategory} and the {@link #getSquareCounts() summed-area tables} are up to date, this is an O(1) operation; this method never
+	 * rebuilds the tables itself.
 	 * @throws NullPointerException if the given {@link TilePredicate} if {@code null} <b>and</b> the given radius is not zero.
 	 * @throws IllegalArgumentException if the given radius is less than {@code 0}.
 	 */
@@ -473,6 +854,17 @@ public class Board {
 		Objects.requireNonNull(predicate);
 		if(radius < 0)
 			throw new IllegalArgumentException("Radius must be >= 0");
+		if(predicate instanceof TileCategory && squareCountsAreCurrent((TileCategory) predicate))
+			return squareCounts.countInSquare((TileCategory) predicate, row, col, radius, includeCenter) > 0;
+		if(inBounds(row, col)) {
+			final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, radius, rows, cols);
+			final int[] cells = square.cells();
+			final int origin = indexOf(row, col);
+			for(int i = square.start(origin), end = square.end(origin); i < end; i++)
+				if((includeCenter || cells[i] != origin) && predicate.test(getTileAtIndex(cells[i])))
+					return true;
+			return false;
+		}
 		for(int i = row - radius; i <= row + radius; i++) {
 			for(int j = col - radius; j <= col + radius; j++) {
 				if(!inBounds(i, j) || !includeCenter && i == row && j == col)
@@ -506,7 +898,8 @@ public class Board {
 	
 	/**
 	 * Returns the number of {@link BoardTile BoardTiles} in a square of the given radius around the given center that satisfy the given
-	 * {@link TilePredicate}.
+	 * {@link TilePredicate}. If the {@code TilePredicate} is a {@link TileCategory} and the {@link #getSquareCounts() summed-area tables} are
+	 * up to date, this is an O(1) operation; this method never rebuilds the tables itself.
 	 */
 	public int countSatisfyingInSquare(final int row, final int col, final int radius, TilePredicate predicate, boolean includeCenter) {
 		if(radius == 0)
@@ -514,7 +907,18 @@ public class Board {
 		Objects.requireNonNull(predicate);
 		if(radius < 0)
 			throw new IllegalArgumentException("Radius must be >= 0");
+		if(predicate instanceof TileCategory && squareCountsAreCurrent((TileCategory) predicate))
+			return squareCounts.countInSquare((TileCategory) predicate, row, col, radius, includeCenter);
 		int count = 0;
+		if(inBounds(row, col)) {
+			final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, radius, rows, cols);
+			final int[] cells = square.cells();
+			final int origin = indexOf(row, col);
+			for(int i = square.start(origin), end = square.end(origin); i < end; i++)
+				if((includeCenter || cells[i] != origin) && predicate.test(getTileAtIndex(cells[i])))
+					count++;
+			return count;
+		}
 		for(int i = row - radius; i <= row + radius; i++) {
 			for(int j = col - radius; j <= col + radius; j++) {
 				if(!inBounds(i, j) || !includeCenter && i == row && j == col)
@@ -527,13 +931,184 @@ public class Board {
 	}
 
 	/**
-	 * Returns {@code null} if there are no {@link PlayerUnit PlayerUnits} on this {@link Board}.
+	 * Returns the tile of the {@link PlayerUnit} nearest to the indicated tile, moving only through tiles whose {@link TileType} is in
+	 * {@code traversables}. The indicated tile itself need not be traversable. Returns {@code null} if there are no {@link PlayerUnit PlayerUnits}
+	 * that can be reached. This is an O(1) operation if the {@link #getPlayerDistanceField(EnumSet) distance field} for {@code traversables} is
+	 * up to date.
 	 */
 	public BoardTile getNearestTileWithPlayerUnit(int startRow, int startCol, EnumSet<TileType> traversables) {
-		BFS.Result<BoardTile> result = BFS.of(tiles, startRow, startCol, BoardTile::hasPlayerUnit, tile -> !traversables.contains(tile.getType())).search();
-		if(result.found())
-			return result.target();
-		return null;
+		final DistanceField field = getPlayerDistanceField(traversables);
+		int best = -1, bestDistance = Integer.MAX_VALUE;
+		for(int[] adj : ADJACENT_4) {
+			final int r = startRow + adj[0], c = startCol + adj[1];
+			if(!inBounds(r, c))
+				continue;
+			final int distance = field.distanceAt(r, c);
+			if(distance >= 0 && distance < bestDistance) {
+				bestDistance = distance;
+				best = field.nearestPlayerUnitIndexAt(indexOf(r, c));
+			}
+		}
+		return best < 0 ? null : getTileAtIndex(best);
+	}
+	
+	/**
+	 * Returns the {@link DistanceField} from every tile to the nearest {@link PlayerUnit}, moving only through tiles whose {@link TileType} is in
+	 * {@code traversables}. Fields are cached: this method only does a search if a {@code PlayerUnit} has been added, removed, or moved, or a tile's
+	 * {@code TileType} has changed, since the field for the same {@code traversables} was last returned.
+	 */
+	public DistanceField getPlayerDistanceField(EnumSet<TileType> traversables) {
+		int key = 0;
+		for(TileType type : traversables)
+			key |= 1 << type.ordinal();
+		DistanceField field = playerDistanceFields[key];
+		if(field == null)
+			field = playerDistanceFields[key] = new DistanceField(this, traversables);
+		field.update();
+		return field;
+	}
+	
+	/**
+	 * Returns the {@link ThreatMap} of the damage that the {@link Unit Units} playing the given {@link Turn} could do to each tile. Maps are
+	 * cached: this method only recomputes the map if a {@code Unit} or {@link Obstacle} has been added, removed, or moved, or a tile's
+	 * {@code TileType} has changed, since the map for the same {@code Turn} was last returned.
+	 */
+	public ThreatMap getThreatMap(Turn attackers) {
+		return getThreatMap(attackers, -1);
+	}
+	
+	/**
+	 * Returns the {@link ThreatMap} of the damage that the {@link Unit Units} playing the given {@link Turn} could do to each tile if the tile
+	 * with the given {@link #indexOf(int, int) packed index} were empty, so that it does not block any line of sight. This is how a {@code Unit}
+	 * that is about to move away from that tile should see the threats. If {@code transparentIndex} is {@code -1}, this is equivalent to
+	 * {@link #getThreatMap(Turn)}. Maps are cached as for {@link #getThreatMap(Turn)}, and are also recomputed if {@code transparentIndex}
+	 * differs from the last call for the same {@code Turn}.
+	 */
+	public ThreatMap getThreatMap(Turn attackers, int transparentIndex) {
+		ThreatMap map = threatMaps[attackers.ordinal()];
+		if(map == null)
+			map = threatMaps[attackers.ordinal()] = new ThreatMap(this, attackers);
+		map.update(transparentIndex);
+		return map;
+	}
+	
+	/**
+	 * Returns the {@link SquareCounts summed-area tables} of the {@link TileCategory TileCategories}. The table of a category is only rebuilt
+	 * when it is queried after a {@link Unit} or {@link Obstacle} has been added, removed, or moved. A rebuild visits every tile, so the tables
+	 * should only be queried directly by callers that are about to make many square queries of the same category before the {@code Board}
+	 * changes.
+	 */
+	public SquareCounts getSquareCounts() {
+		if(squareCounts == null)
+			squareCounts = new SquareCounts(this);
+		return squareCounts;
+	}
+	
+	private boolean squareCountsAreCurrent(TileCategory category) {
+		return squareCounts != null && squareCounts.isCurrent(category);
+	}
+	
+	/**
+	 * Returns the {@link AttackFromIndex} of the tiles from which each {@link PlayerUnit} could be attacked. The index is cached: this method
+	 * only rebuilds it if a {@link Unit} or {@link Obstacle} has been added, removed, or moved since it was last returned.
+	 */
+	public AttackFromIndex getAttackFromIndex() {
+		if(attackFromIndex == null)
+			attackFromIndex = new AttackFromIndex(this);
+		attackFromIndex.update();
+		return attackFromIndex;
+	}
+	
+	/**
+	 * Returns a number that changes whenever a {@link Unit} or {@link Obstacle} is added to or removed from a tile of this {@link Board}
+	 * (including when one is {@link logic.actions.Relocate relocated} or dies).
+	 */
+	public long getOccupancyVersion() {
+		return occupancyVersion;
+	}
+	
+	/**
+	 * Returns a number that changes whenever a {@link PlayerUnit} is added to or removed from a tile of this {@link Board} (including when one is
+	 * {@link logic.actions.Relocate relocated} or dies).
+	 */
+	public long getPlayerUnitVersion() {
+		return playerUnitVersion;
+	}
+	
+	/**
+	 * Returns a number that changes whenever the {@link TileType} of a tile of this {@link Board} changes.
+	 */
+	public long getTerrainVersion() {
+		return terrainVersion;
+	}
+	
+	/**
+	 * Returns the {@link GridBFS} that this {@link Board} uses for its own searches. It is sized to this {@code Board} and may be used by
+	 * anything that needs to search this {@code Board}, such as the enemy AI.
+	 * <b>IMPORTANT: the results of a search are only valid until the next search, including searches done by this {@code Board} itself
+	 * (such as in {@link #getNearestTileWithPlayerUnit(int, int, EnumSet)}).</b>
+	 */
+	public GridBFS getGridBFS() {
+		if(bfs == null)
+			bfs = new GridBFS(rows, cols);
+		return bfs;
+	}
+	
+	/**
+	 * Executes the given {@link Move} on this {@link Board}, recording it in the given {@link UndoJournal}, and returns the mark to pass to
+	 * {@link #unmakeMove(UndoJournal, int)} to undo it. {@link Move#EMPTY_MOVE} may be given, in which case nothing happens. Like
+	 * {@link Move#execute(Board)}, this fires any listeners on this {@code Board's} {@link GameObject GameObjects}, so lookahead should be
+	 * done on a {@link #copy() copy}.
+	 */
+	public int makeMove(Move move, UndoJournal journal) {
+		final int mark = journal.mark();
+		if(!move.isEmpty())
+			move.execute(this, journal);
+		return mark;
+	}
+	
+	/**
+	 * Undoes every {@link Move} made with {@link #makeMove(Move, UndoJournal)} on this {@link Board} since the one that returned {@code mark},
+	 * including that one. The {@code Board} must not have been changed in any other way since.
+	 */
+	public void unmakeMove(UndoJournal journal, int mark) {
+		journal.undoTo(this, mark);
+	}
+	
+	/**
+	 * <p>Returns a deep copy of this {@link Board}. The copy has the same size, moves per turn, {@link TileType TileTypes}, and {@link #getTurn() turn}
+	 * as this {@code Board}, and a {@link Unit#copy() copy} of every {@link Unit} and {@link Obstacle#copy() Obstacle} on this {@code Board} in the same
+	 * place. If it is the {@link Turn#ENEMY enemy's} turn, the copy is at the same point in the turn, so {@link #nextEnemyMove()} on the copy asks
+	 * the copies of the same {@link EnemyUnit EnemyUnits} for their {@link Move Moves}.</p>
+	 * 
+	 * <p>No listeners are copied, so the copy can be freely modified (for example, by the enemy AI to look ahead) without affecting this
+	 * {@code Board} or anything watching it. The copy's {@link #getEnemyPlanner() EnemyPlanner} is {@link EnemyPlanner#GREEDY}, and its
+	 * {@link #getRandom() source of randomness} is {@link SplittableRandom#split() split} from this {@code Board's} (which advances this
+	 * {@code Board's}), so the copy can be used on another thread.</p>
+	 */
+	public Board copy() {
+		final Board copy = new Board(rows, cols, movesPerPlayer, movesPerEnemy);
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j++)
+				if(tiles[i][j].getType() != TileType.SOLID)
+					copy.tiles[i][j].setType(tiles[i][j].getType());
+		for(int i = obstacleMask.nextSetBit(0); i >= 0; i = obstacleMask.nextSetBit(i + 1))
+			copy.addObstacleOrThrow(getTileAtIndex(i).getObstacleOrNull().copy(), rowOf(i), colOf(i));
+		final Map<Unit, Unit> copies = new IdentityHashMap<>();
+		for(Map.Entry<Unit, BoardTile> entry : unitTiles.entrySet()) {
+			final Unit unitCopy = entry.getKey().copy();
+			copies.put(entry.getKey(), unitCopy);
+			copy.addUnitOrThrow(unitCopy, entry.getValue().getRow(), entry.getValue().getCol());
+		}
+		copy.setTurn(turn);
+		copy.random = random.split();
+		copy.enemyMovesRemaining = enemyMovesRemaining;
+		if(enemies != null) {
+			copy.enemies = new ArrayList<>(enemies.size());
+			for(EnemyUnit enemy : enemies) //enemies that died earlier this turn are no longer on this Board, but still need a place in the list.
+				copy.enemies.add((EnemyUnit) copies.computeIfAbsent(enemy, Unit::copy));
+		}
+		return copy;
 	}
 	
 	@Override
@@ -1,6 +1,9 @@
 package logic;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.ObjLongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -22,11 +25,14 @@ public class BoardGenerator {
 	public static final double DEFAULT_LARGE_OBSTACLE_PERCENT = 0.4;
 	public static final int DEFAULT_LARGE_OBSTACLE_HEALTH = 3;
 	public static final int DEFAULT_SMALL_OBSTACLE_HEALTH = 1;
+	/** {@link #buildMany(int, long, ObjLongConsumer, ForkJoinPool)} gives up after this many attempts per requested {@link Board}. */
+	public static final int MAX_ATTEMPTS_PER_BOARD = 100;
 	private static final int[][] ADJACENTS = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
 	
 	private int rowCount, colCount, largeObstacleHealth, smallObstacleHealth, movesPerPlayer, movesPerEnemy;
 	private double liquidPercent, poolStrength, obstaclePercent, largeObstaclePercent, turnDifficulty;
 	private List<PlayerUnit> teamUnits;
+	private SplittableRandom random;
 	
 	public BoardGenerator() {
 		this.rowCount = DEFAULT_ROW_COUNT;
@@ -41,6 +47,172 @@ public class BoardGenerator {
 		this.movesPerPlayer = Board.DEFAULT_MOVES_PER_PLAYER;
 		this.movesPerEnemy = Board.DEFAULT_MOVES_PER_ENEMY;
 		this.turnDifficulty = 0;
+		this.random = new SplittableRandom();
+	}
+	
+	/**
+	 * Creates a {@link BoardGenerator} with the same settings as the given one. The team units are the same objects, and the random choices are
+	 * unseeded.
+	 */
+	private BoardGenerator(BoardGenerator settings) {
+		this.rowCount = settings.rowCount;
+		this.colCount = settings.colCount;
+		this.liquidPercent = settings.liquidPercent;
+		this.poolStrength = settings.poolStrength;
+		this.teamUnits = settings.teamUnits;
+		this.obstaclePercent = settings.obstaclePercent;
+		this.largeObstaclePercent = settings.largeObstaclePercent;
+		this.largeObstacleHealth = settings.largeObstacleHealth;
+		this.smallObstacleHealth = settings.smallObstacleHealth;
+		this.movesPerPlayer = settings.movesPerPlayer;
+		this.movesPerEnemy = settings.movesPerEnemy;
+		this.turnDifficulty = settings.turnDifficulty;
+		this.random = new SplittableRandom();
+	}
+	
+	/**
+	 * The results of {@link BoardGenerator#buildMany(int, long, ObjLongConsumer, ForkJoinPool) bulk generation}. This class is immutable.
+	 */
+	public static final class BulkResult {
+		private final long seed, attempts, elapsedNanos;
+		private final int accepted;
+		private final long[] rejected;
+		
+		BulkResult(long seed, int accepted, long attempts, long[] rejected, long elapsedNanos) {
+			this.seed = seed;
+			this.accepted = accepted;
+			this.attempts = attempts;
+			this.rejected = rejected;
+			this.elapsedNanos = elapsedNanos;
+		}
+		
+		public long getSeed() {
+			return seed;
+		}
+		
+		/**
+		 * The number of {@link Board Boards} given to the consumer.
+		 */
+		public int getAcceptedCount() {
+			return accepted;
+		}
+		
+		/**
+		 * The number of {@link Board Boards} that were built, including the rejected ones.
+		 */
+		public long getAttemptCount() {
+			return attempts;
+		}
+		
+		public long getRejectedCount() {
+			long sum = 0;
+			for(long r : rejected)
+				sum += r;
+			return sum;
+		}
+		
+		public long getRejectedCount(FairnessCheck.Reason reason) {
+			return rejected[reason.ordinal()];
+		}
+		
+		/**
+		 * The fraction of the built {@link Board Boards} that were rejected, between {@code 0} and {@code 1}.
+		 */
+		public double getRejectionRate() {
+			return attempts == 0 ? 0 : (double) getRejectedCount() / attempts;
+		}
+		
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+		
+		/**
+		 * The number of accepted {@link Board Boards} per second.
+		 */
+		public double getBoardsPerSecond() {
+			return elapsedNanos == 0 ? 0 : accepted / (elapsedNanos / 1e9);
+		}
+		
+		@Override
+		public String toString() {
+			StringJoiner reasons = new StringJoiner(", ", "{", "}");
+			for(FairnessCheck.Reason reason : FairnessCheck.Reason.values())
+				reasons.add(reason + "=" + rejected[reason.ordinal()]);
+			return String.format("BulkResult[seed=%d, accepted=%d, attempts=%d, rejected=%s, rejectionRate=%.3f, elapsed=%.3fs, boardsPerSecond=%.1f]",
+					seed, accepted, attempts, reasons, getRejectionRate(), elapsedNanos / 1e9, getBoardsPerSecond());
+		}
+	}
+	
+	/**
+	 * Equivalent to {@code buildMany(count, seed, consumer, ForkJoinPool.commonPool())}.
+	 */
+	public BulkResult buildMany(int count, long seed, ObjLongConsumer<? super Board> consumer) {
+		return buildMany(count, seed, consumer, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * <p>Builds {@link Board Boards} with the settings of this {@link BoardGenerator} in parallel in the given {@link ForkJoinPool}, and gives
+	 * the first {@code count} that pass the {@link FairnessCheck} to the given consumer, along with their seeds. Unfair {@code Boards} are
+	 * counted and thrown away. This method returns when {@code count} {@code Boards} have been accepted, or when
+	 * {@code count *} {@link #MAX_ATTEMPTS_PER_BOARD} {@code Boards} have been built, whichever is first.</p>
+	 * 
+	 * <p>The consumer is called from the pool's threads, possibly concurrently, in no particular order. Each {@code Board} gets
+	 * {@link Unit#copy() copies} of the team units, so no two {@code Boards} share a {@link Unit}. The {@code Board} built on attempt
+	 * {@code i} (starting from {@code 0}) uses seed {@code seed + i}, and can be built again by a {@code BoardGenerator} with the same settings
+	 * (and copies of the same team units) that is {@link #setSeed(long) given} that seed.</p>
+	 * 
+	 * <p>This {@code BoardGenerator} is not changed, and must not be changed while this method runs.</p>
+	 * @throws IllegalArgumentException if {@code count} is negative.
+	 */
+	public BulkResult buildMany(int count, long seed, ObjLongConsumer<? super Board> consumer, ForkJoinPool pool) {
+		if(count < 0)
+			throw new IllegalArgumentException("count must not be negative");
+		Objects.requireNonNull(consumer);
+		final long start = System.nanoTime();
+		final long maxAttempts = (long) count * MAX_ATTEMPTS_PER_BOARD;
+		final AtomicLong nextAttempt = new AtomicLong();
+		final AtomicInteger accepted = new AtomicInteger();
+		final LongAdder attempts = new LongAdder();
+		final LongAdder[] rejected = new LongAdder[FairnessCheck.Reason.values().length];
+		for(int i = 0; i < rejected.length; i++)
+			rejected[i] = new LongAdder();
+		final int workers = Math.max(1, Math.min(pool.getParallelism(), count));
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+		for(int i = 0; i < workers; i++) {
+			final BoardGenerator generator = new BoardGenerator(this);
+			tasks.add(pool.submit(() -> {
+				final List<PlayerUnit> team = generator.teamUnits;
+				while(accepted.get() < count) {
+					final long attempt = nextAttempt.getAndIncrement();
+					if(attempt >= maxAttempts)
+						return;
+					generator.setTeamUnits(team.stream().map(unit -> (PlayerUnit) unit.copy()).collect(Collectors.toList()));
+					final Board board = generator.setSeed(seed + attempt).build();
+					attempts.increment();
+					final FairnessCheck.Reason reason = FairnessCheck.check(board);
+					if(reason != null)
+						rejected[reason.ordinal()].increment();
+					else if(accepted.getAndIncrement() < count)
+						consumer.accept(board, seed + attempt);
+				}
+			}));
+		}
+		for(ForkJoinTask<?> task : tasks)
+			task.join();
+		final long[] rejectedCounts = new long[rejected.length];
+		for(int i = 0; i < rejected.length; i++)
+			rejectedCounts[i] = rejected[i].sum();
+		return new BulkResult(seed, Math.min(accepted.get(), count), attempts.sum(), rejectedCounts, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Seeds the random choices of this {@link BoardGenerator}, so that the sequence of {@link Board Boards} it {@link #build() builds} from now on
+	 * depends only on the given seed and its settings. Two {@code BoardGenerators} with the same settings that are given the same seed build the
+	 * same {@code Boards}, with the same {@link Board#getRandom() sources of randomness}, so matches played on them can be replayed. Returns {@code this}.
+	 */
+	public BoardGenerator setSeed(long seed) {
+		this.random = new SplittableRandom(seed);
+		return this;
 	}
 	
 	/**
@@ -127,6 +299,7 @@ public class BoardGenerator {
 		placePlayerUnits(board);
 		placeEnemyUnits(board);
 		placeObstacles(board);
+		board.setRandom(random.split());
 		return board;
 	}
 
@@ -134,6 +307,7 @@ public class BoardGenerator {
 		liquidRemaining = (int) Math.round(rowCount * colCount * liquidPercent);
 		liquidRemaining = Math.min(liquidRemaining, rowCount * colCount - teamUnits.size() - (int) turnDifficulty); //don't have so many liquid tiles that we can't place the units.
 		int[] liquifiedSpots = IntStream.range(0, rowCount * colCount).toArray();
+		int[] toVisit = new int[4 * (rowCount * colCount + 1)];
 		int liquifiedSpotsMaxUsableIndex = liquifiedSpots.length - 1;
 		liquid_gen:
 		while(liquidRemaining > 0) {
@@ -141,7 +315,7 @@ public class BoardGenerator {
 			do {
 				if(liquifiedSpotsMaxUsableIndex < 0)
 					break liquid_gen;
-				int liquifiedIndex = (int) (Math.random() * (liquifiedSpotsMaxUsableIndex + 1));
+				int liquifiedIndex = random.nextInt(liquifiedSpotsMaxUsableIndex + 1);
 				int liquifiedValue = liquifiedSpots[liquifiedIndex];
 				startRow = liquifiedValue / colCount;
 				startCol = liquifiedValue % colCount;
@@ -153,16 +327,21 @@ public class BoardGenerator {
 			liquidRemaining--;
 			if(liquidRemaining <= 0)
 				break liquid_gen;
-			Queue<int[]> toVisit = new LinkedList<>();
+			/* toVisit is a FIFO queue of packed indices. A tile may be queued once for each of its neighbors that becomes liquid (plus once for
+			 * the start), so it never holds more than 4 * (rowCount * colCount + 1) entries. */
+			int head = 0, tail = 0;
 			for(int[] adj : ADJACENTS) {
 				int r = startRow + adj[0], c = startCol + adj[1];
 				if(r >= 0 && r < rowCount && c >= 0 && c < colCount && board.getTileAt(r, c).getType() != TileType.LIQUID)
-					toVisit.add(new int[] {r, c});
+					toVisit[tail++] = board.indexOf(r, c);
 			}
-			while(!toVisit.isEmpty()) {
-				int[] spot = toVisit.remove();
-				BoardTile tile = board.getTileAt(spot[0], spot[1]);
-				if(Math.random() < poolStrength) {
+			while(head < tail) {
+				int spot = toVisit[head++];
+				int spotRow = board.rowOf(spot), spotCol = board.colOf(spot);
+				BoardTile tile = board.getTileAt(spotRow, spotCol);
+				if(tile.getType() == TileType.LIQUID) //it was queued by more than one neighbor.
+					continue;
+				if(random.nextDouble() < poolStrength) {
 					tile.setType(TileType.LIQUID);
 					liquidRemaining--;
 					if(liquidRemaining <= 0)
@@ -173,13 +352,13 @@ public class BoardGenerator {
 				}
 				
 				for(int[] adj : ADJACENTS) {
-					int nr = spot[0] + adj[0], nc = spot[1] + adj[1];
+					int nr = spotRow + adj[0], nc = spotCol + adj[1];
 					if(nr < 0 || nr >= rowCount || nc < 0 || nc >= colCount)
 						continue;
 					BoardTile newTile = board.getTileAt(nr, nc);
 					if(newTile.getType() == TileType.LIQUID)
 						continue;
-					toVisit.add(new int[] {nr, nc});
+					toVisit[tail++] = board.indexOf(nr, nc);
 				}
 			}
 		}
@@ -196,7 +375,7 @@ public class BoardGenerator {
 			do {
 				if(placeSpotsMaxIndex < 0)
 					throw new IllegalStateException("Not enough space to place the team units");
-				int placeIndex = (int) (Math.random() * (placeSpotsMaxIndex + 1));
+				int placeIndex = random.nextInt(placeSpotsMaxIndex + 1);
 				int placeValue = placeSpots[placeIndex];
 				row = placeValue / colCount;
 				col = placeValue % colCount;
@@ -227,7 +406,7 @@ public class BoardGenerator {
 			do {
 				if(factoryMaxIndex < 0)
 					break outer;
-				factoryIndex = (int) (Math.random() * (factoryMaxIndex + 1));
+				factoryIndex = random.nextInt(factoryMaxIndex + 1);
 				int temp = factoryIndices[factoryIndex];
 				factoryIndices[factoryIndex] = factoryIndices[factoryMaxIndex];
 				factoryIndices[factoryMaxIndex] = temp;
@@ -238,7 +417,7 @@ public class BoardGenerator {
 			do {
 				if(boardMaxIndex < 0)
 					break outer;
-				int boardIndex = (int) (Math.random() * (boardMaxIndex + 1));
+				int boardIndex = random.nextInt(boardMaxIndex + 1);
 				row = boardIndices[boardIndex] / colCount;
 				col = boardIndices[boardIndex] % colCount;
 				int temp = boardIndices[boardIndex];
@@ -263,7 +442,7 @@ public class BoardGenerator {
 			do {
 				if(emptyMax < 0)
 					break obstacle_gen;
-				int index = (int) (Math.random() * (emptyMax + 1));
+				int index = random.nextInt(emptyMax + 1);
 				int spotValue = emptySpots[index];
 				row = spotValue / colCount;
 				col = spotValue % colCount;
@@ -272,7 +451,7 @@ public class BoardGenerator {
 				emptyMax--;
 			}
 			while(board.getTileAt(row, col).isOccupied() || board.getTileAt(row, col).getType() == TileType.LIQUID);
-			Obstacle obstacle = Math.random() < largeObstaclePercent ?
+			Obstacle obstacle = random.nextDouble() < largeObstaclePercent ?
 					new ObstacleBase(ObstacleSize.LARGE, largeObstacleHealth) :
 					new ObstacleBase(ObstacleSize.SMALL, smallObstacleHealth);
 			board.addObstacleOrThrow(obstacle, row, col);
@@ -17,7 +17,7 @@ public class BoardTile {
 	 * index 0 is below all the remaining objects in the list)
 	 */
 	private final ArrayList<GameObject> objects;
-	private final int row, col;
+	private final int row, col, index;
 	
 	private TileType type;
 	
@@ -29,6 +29,8 @@ public class BoardTile {
 		this.board = Objects.requireNonNull(board);
 		this.type = Objects.requireNonNull(type);
 		this.objects = new ArrayList<>();
+		this.index = board.indexOf(row, col);
+		board.tileTypeChanged(this, null);
 	}
 	
 	public int getRow() {
@@ -39,6 +41,13 @@ public class BoardTile {
 		return col;
 	}
 	
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of this tile on its {@link Board}.
+	 */
+	public int getIndex() {
+		return index;
+	}
+	
 	public Board getBoard() {
 		return board;
 	}
@@ -48,7 +57,9 @@ public class BoardTile {
 	}
 	
 	public void setType(TileType type) {
+		TileType oldType = this.type;
 		this.type = type;
+		board.tileTypeChanged(this, oldType);
 	}
 	
 	/** Removes the given {@link GameObject} from this tile, if it is present. Returns {@code true}
@@ -57,7 +68,10 @@ public class BoardTile {
 	 * @throws IllegalArgumentException if the given {@code GameObject} is not on this {@code BoardTile}.
 	 */
 	public boolean removeObjectIfPresent(GameObject object) {
-		return objects.remove(object);
+		if(!objects.remove(object))
+			return false;
+		board.objectRemoved(this, object);
+		return true;
 	}
 	
 	/** Removes the given {@link GameObject} from this tile. <b>This method DOES NOT adjust the row and column
@@ -68,18 +82,13 @@ public class BoardTile {
 	public void removeObjectOrThrow(GameObject object) {
 		if(!objects.remove(object))
 			throw new IllegalArgumentException("The object \"" + object + "\" was not on the tile.");
+		board.objectRemoved(this, object);
 	}
 	
 	/** Returns the {@link Unit} on the tile, or {@code null} if there is no {@code Unit} on this tile.
 	 */
 	public Unit getUnitOrNull() {
-		for(int i = objects.size() - 1; i >= 0; i--) {
-			GameObject obj = objects.get(i);
-			if(obj instanceof Unit) {
-				return (Unit) obj;
-			}
-		}
-		return null;
+		return board.unitAt(index);
 	}
 	
 	public PlayerUnit getPlayerUnitOrThrow() {
@@ -90,25 +99,23 @@ public class BoardTile {
 	}
 	
 	public boolean hasUnit() {
-		return getUnitOrNull() != null;
+		return board.hasUnitAt(index);
 	}
 	
 	public boolean hasPlayerUnit() {
-		return getUnitOrNull() instanceof PlayerUnit;
+		return board.hasPlayerUnitAt(index);
 	}
 	
 	public boolean hasEnemyUnit() {
-		return getUnitOrNull() instanceof EnemyUnit;
+		return board.hasEnemyUnitAt(index);
 	}
 	
 	/**
-	 * Returns {@code true} if this {@link BoardTile} has one or more {@link HasHealth HasHealths} on it.
+	 * Returns {@code true} if this {@link BoardTile} has one or more {@link HasHealth HasHealths} on it. Since every {@link Unit} and every
+	 * {@link Obstacle} is a {@code HasHealth}, this is equivalent to {@code hasUnit() || hasObstacle()}.
 	 */
 	public boolean hasHasHealth() {
-		for(GameObject obj : objects)
-			if(obj instanceof HasHealth)
-				return true;
-		return false;
+		return hasUnit() || hasObstacle();
 	}
 	
 	/** If there is a {@link Unit} on this {@code BoardTile}, removes that {@code Unit} and returns it.
@@ -116,10 +123,13 @@ public class BoardTile {
 	 *  <b>This method DOES NOT adjust the row and column values of the {@code Unit} removed, nor does it update
 	 *  that {@code Unit}'s  associated {@link Board}.</b>*/
 	public Unit removeUnitIfPresent() {
+		if(!hasUnit())
+			return null;
 		for(int i = objects.size() - 1; i >= 0; i--) {
 			GameObject obj = objects.get(i);
 			if(obj instanceof Unit) {
 				objects.remove(i);
+				board.objectRemoved(this, obj);
 				return (Unit) obj;
 			}
 		}
@@ -134,6 +144,7 @@ public class BoardTile {
 		if(hasUnit())
 			throw new IllegalStateException("There is already a unit on this tile");
 		objects.add(unit);
+		board.objectAdded(this, unit);
 	}
 	
 	/**
@@ -148,16 +159,14 @@ public class BoardTile {
 		if(objects.size() > 0 && objects.get(objects.size() - 1) instanceof Unit)
 			addIndex--;
 		objects.add(addIndex, obstacle);
+		board.objectAdded(this, obstacle);
 	}
 	
 	/**
 	 * Returns {@code true} if this {@code BoardTile} has an {@link Obstacle}, {@code false} otherwise.
 	 */
 	public boolean hasObstacle() {
-		for(int i = 0; i < objects.size(); i++)
-			if(objects.get(i) instanceof Obstacle)
-				return true;
-		return false;
+		return board.hasObstacleAt(index);
 	}
 	
 	/**
@@ -165,6 +174,8 @@ public class BoardTile {
 	 * {@code false} otherwise.
 	 */
 	public boolean hasObstacle(ObstacleSize size) {
+		if(!hasObstacle())
+			return false;
 		for(int i = 0; i < objects.size(); i++) {
 			GameObject obj = objects.get(i);
 			if(obj instanceof Obstacle && ((Obstacle) obj).getSize() == size)
@@ -174,6 +185,8 @@ public class BoardTile {
 	}
 	
 	public Obstacle getObstacleOrNull() {
+		if(!hasObstacle())
+			return null;
 		for(GameObject obj : objects)
 			if(obj instanceof Obstacle)
 				return (Obstacle) obj;
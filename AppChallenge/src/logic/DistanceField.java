@@ -0,0 +1,93 @@
+package logic;
+
+import java.util.EnumSet;
+
+import utils.GridBFS;
+
+/**
+ * <p>For every tile of a {@link Board}, the number of steps to the nearest {@link PlayerUnit}, moving only between 4-adjacent tiles whose
+ * {@link TileType} is in a fixed set of traversable {@code TileTypes}. {@link Unit Units} and {@link Obstacle Obstacles} do not block the way.
+ * A {@code PlayerUnit} on a tile that is not traversable cannot be reached.</p>
+ *
+ * <p>{@code DistanceFields} are obtained from {@link Board#getPlayerDistanceField(EnumSet)}, which caches one per set of traversable
+ * {@code TileTypes} and only recomputes it when a {@code PlayerUnit} is added to, removed from, or moved on the {@code Board}, or a tile's
+ * {@code TileType} changes. A {@code DistanceField} must not be used after its {@code Board} has changed in any of those ways without getting it from
+ * the {@code Board} again.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class DistanceField {
+
+	private final Board board;
+	private final EnumSet<TileType> traversables;
+	private final GridBFS bfs;
+	private final GridBFS.CellPredicate stop;
+	private final int[] sources;
+	/** The {@link Board#getPlayerUnitVersion() player unit} and {@link Board#getTerrainVersion() terrain} versions this field was computed at. */
+	private long playerUnitVersion, terrainVersion;
+
+	DistanceField(Board board, EnumSet<TileType> traversables) {
+		this.board = board;
+		this.traversables = EnumSet.copyOf(traversables);
+		this.bfs = new GridBFS(board.getRows(), board.getCols());
+		this.stop = (r, c) -> !this.traversables.contains(board.getTileAt(r, c).getType());
+		this.sources = new int[board.getTileCount()];
+		this.playerUnitVersion = -1;
+		this.terrainVersion = -1;
+	}
+
+	/**
+	 * Recomputes this field if the {@link Board} has changed since it was last computed.
+	 */
+	void update() {
+		if(playerUnitVersion == board.getPlayerUnitVersion() && terrainVersion == board.getTerrainVersion())
+			return;
+		final Bitboard players = board.getPlayerUnitMask();
+		int count = 0;
+		for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1))
+			sources[count++] = i;
+		bfs.fill(sources, count, stop);
+		playerUnitVersion = board.getPlayerUnitVersion();
+		terrainVersion = board.getTerrainVersion();
+	}
+
+	/**
+	 * Returns a copy of the set of {@link TileType TileTypes} that this field may pass through.
+	 */
+	public EnumSet<TileType> getTraversables() {
+		return EnumSet.copyOf(traversables);
+	}
+
+	/**
+	 * Returns the number of steps from the indicated tile to the nearest {@link PlayerUnit}, or {@code -1} if no {@code PlayerUnit} can be reached
+	 * from it (which includes when the tile itself is not traversable).
+	 */
+	public int distanceAt(int row, int col) {
+		return bfs.distanceTo(board.indexOf(row, col));
+	}
+
+	/**
+	 * Equivalent to {@link #distanceAt(int, int)}, but the tile is given by its {@link Board#indexOf(int, int) packed index}.
+	 */
+	public int distanceAt(int index) {
+		return bfs.distanceTo(index);
+	}
+
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of the tile of the nearest {@link PlayerUnit} to the tile with the given packed index,
+	 * or {@code -1} if {@link #distanceAt(int)} is {@code -1}.
+	 */
+	public int nearestPlayerUnitIndexAt(int index) {
+		return bfs.originOf(index);
+	}
+
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of the next tile on a shortest path from the tile with the given packed index towards
+	 * the nearest {@link PlayerUnit}, or {@code -1} if the given tile has a {@code PlayerUnit} or {@link #distanceAt(int)} is {@code -1}.
+	 */
+	public int nextStepAt(int index) {
+		return bfs.parentOf(index);
+	}
+}
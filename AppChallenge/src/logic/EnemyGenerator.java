@@ -11,7 +11,7 @@ import logic.units.*;
 public final class EnemyGenerator {
 	private static Map<Class<? extends EnemyUnit>, EnemyFactory> map;
 	static {
-		map = new HashMap<>();
+		map = new LinkedHashMap<>(); //a fixed order, so that a seeded BoardGenerator always chooses the same EnemyUnits.
 		put(Goob.class, Goob::new, 1);
 		put(Assassin.class, Assassin::new, 1.5);
 		put(Brute.class, Brute::new, 2.5);
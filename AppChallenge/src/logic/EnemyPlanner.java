@@ -0,0 +1,28 @@
+package logic;
+
+/**
+ * <p>Decides the {@link Move Moves} of {@link EnemyUnit EnemyUnits} during the {@link Turn#ENEMY enemy's} turn. Every {@link Board} has an
+ * {@code EnemyPlanner} (see {@link Board#setEnemyPlanner(EnemyPlanner)}), which {@link Board#nextEnemyMove()} asks for each enemy {@code Move}.
+ * This allows the enemy AI to be chosen separately for each {@code Board}, for example based on the difficulty of the level.</p>
+ *
+ * <p>The default {@code EnemyPlanner} is {@link #GREEDY}, which lets each {@code EnemyUnit} {@link EnemyUnit#chooseMove(Board, int) choose}
+ * its own {@code Move}.</p>
+ * @author Sam Hooper
+ *
+ */
+@FunctionalInterface
+public interface EnemyPlanner {
+
+	/**
+	 * The {@link EnemyPlanner} that simply asks the {@link EnemyUnit} for its {@link EnemyUnit#chooseMove(Board, int) own choice}. It is stateless,
+	 * so it may be shared between any number of {@link Board Boards}.
+	 */
+	EnemyPlanner GREEDY = (board, unit, movesRemaining) -> unit.chooseMove(board, movesRemaining);
+
+	/**
+	 * Chooses and returns a {@link Move} for the given {@link EnemyUnit}, which is on the given {@link Board}, to make. {@code movesRemaining} has the
+	 * same meaning as it does for {@link EnemyUnit#chooseMove(Board, int)}. The returned {@code Move} must be legal on the given {@code Board}
+	 * and may be {@link Move#EMPTY_MOVE}. The {@code Board} must not be left modified.
+	 */
+	Move chooseMove(Board board, EnemyUnit unit, int movesRemaining);
+}
@@ -0,0 +1,145 @@
+package logic;
+
+import java.util.*;
+
+import logic.actions.*;
+
+/**
+ * <p>The {@link Move Moves} of a whole {@link Turn#ENEMY enemy} turn, worked out ahead of time. {@link #plan(Board)} plays the turn on a
+ * {@link Board#copy() copy} of the {@link Board} in one pass, asking the {@code Board's} {@link EnemyPlanner} for each {@code Move} just as
+ * {@link Board#nextEnemyMove()} would, and records each {@code Move} in terms of the original {@code Board's} {@link GameObject GameObjects}. The
+ * original {@code Board} is not changed, so the {@code Moves} can then be executed (or animated) on it one at a time, in order, while the outcome of
+ * the turn is already known from {@link #getResultingBoard()}.</p>
+ * 
+ * <p>{@link Move#EMPTY_MOVE Empty moves} (for example, those of {@link EnemyUnit EnemyUnits} that died earlier in the turn) are left out.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class EnemyTurnScript {
+	
+	private final List<Move> moves;
+	private final Board resultingBoard;
+	
+	private EnemyTurnScript(List<Move> moves, Board resultingBoard) {
+		this.moves = moves;
+		this.resultingBoard = resultingBoard;
+	}
+	
+	/**
+	 * Plans the rest of the current enemy turn of the given {@link Board}, which is not changed (other than its {@link Board#getRandom() source of
+	 * randomness} being {@link Board#copy() split}). The {@link Move Moves} of the returned {@link EnemyTurnScript} must be executed on the given
+	 * {@code Board} in order, with no other changes to it in between.
+	 * @throws IllegalStateException if it is not the enemy's turn on the given {@code Board}.
+	 */
+	public static EnemyTurnScript plan(Board board) {
+		if(board.getTurn() != Turn.ENEMY)
+			throw new IllegalStateException("Must be the enemy's turn");
+		final Board copy = board.copy();
+		copy.setEnemyPlanner(board.getEnemyPlanner());
+		final Map<GameObject, GameObject> originals = new IdentityHashMap<>();
+		for(int i = 0; i < board.getTileCount(); i++) {
+			final BoardTile tile = board.getTileAtIndex(i), copyTile = copy.getTileAtIndex(i);
+			if(tile.hasUnit())
+				originals.put(copyTile.getUnitOrNull(), tile.getUnitOrNull());
+			if(tile.hasObstacle())
+				originals.put(copyTile.getObstacleOrNull(), tile.getObstacleOrNull());
+		}
+		final List<Move> moves = new ArrayList<>(copy.getEnemyMovesRemaining());
+		while(copy.hasNextEnemyMove()) {
+			final Move move = copy.nextEnemyMove();
+			if(move.isEmpty())
+				continue;
+			moves.add(translate(move, originals));
+			move.execute(copy);
+		}
+		copy.setToPlayerTurn();
+		return new EnemyTurnScript(Collections.unmodifiableList(moves), copy);
+	}
+	
+	/**
+	 * Returns the {@link Move} on the original {@link Board} that is equivalent to the given {@code Move} on the copy. Objects placed by the
+	 * {@code Move} are copied, and the copies are added to {@code originals}, so later {@code Moves} can refer to them.
+	 */
+	private static Move translate(Move move, Map<GameObject, GameObject> originals) {
+		final Unit unit = (Unit) original(move.getAbility().getUnit(), originals);
+		final Move translated = new Move(abilityAt(unit, indexOf(move.getAbility())));
+		for(Action action : move.getActionsUnmodifiable()) {
+			if(action instanceof Relocate) {
+				translated.addAction(action); //Relocate only refers to tiles.
+			}
+			else if(action instanceof FireProjectile) {
+				final FireProjectile fp = (FireProjectile) action;
+				translated.addAction(new FireProjectile(fp.getStartRow(), fp.getStartCol(), fp.getDamage(), original(fp.getTarget(), originals)));
+			}
+			else if(action instanceof ChangeHealth) {
+				final ChangeHealth ch = (ChangeHealth) action;
+				translated.addAction(new ChangeHealth((HasHealth) original(ch.getGameObject(), originals), ch.getChange()));
+			}
+			else if(action instanceof PlaceObject) {
+				final PlaceObject po = (PlaceObject) action;
+				final GameObject object = po.getObject();
+				final GameObject placed;
+				if(object instanceof Unit)
+					placed = ((Unit) object).copy();
+				else if(object instanceof Obstacle)
+					placed = ((Obstacle) object).copy();
+				else
+					throw new UnsupportedOperationException("Unsupported object type for a PlaceObject action: " + object.getClass());
+				originals.put(object, placed);
+				translated.addAction(new PlaceObject(placed, po.getRow(), po.getCol()));
+			}
+			else {
+				throw new UnsupportedOperationException("Unsupported action type: " + action.getClass());
+			}
+		}
+		return translated;
+	}
+	
+	private static GameObject original(GameObject copy, Map<GameObject, GameObject> originals) {
+		final GameObject original = originals.get(copy);
+		if(original == null)
+			throw new IllegalStateException(copy + " is not on the original board");
+		return original;
+	}
+	
+	/** Returns the position of the given {@link Ability} in its {@link Unit Unit's} {@link Unit#getAbilitiesUnmodifiable() Abilities}. */
+	private static int indexOf(Ability ability) {
+		int i = 0;
+		for(Ability a : ability.getUnit().getAbilitiesUnmodifiable()) {
+			if(a == ability)
+				return i;
+			i++;
+		}
+		throw new IllegalStateException(ability + " does not belong to its unit");
+	}
+	
+	private static Ability abilityAt(Unit unit, int index) {
+		final Iterator<Ability> itr = unit.getAbilitiesUnmodifiable().iterator();
+		for(int i = 0; i < index; i++)
+			itr.next();
+		return itr.next();
+	}
+	
+	/**
+	 * Returns an unmodifiable view of the {@link Move Moves} of the turn, in the order they must be executed.
+	 */
+	public List<Move> getMovesUnmodifiable() {
+		return moves;
+	}
+	
+	/**
+	 * Returns the number of {@link Move Moves} in the turn.
+	 */
+	public int getMoveCount() {
+		return moves.size();
+	}
+	
+	/**
+	 * Returns a {@link Board} in the position the original {@code Board} will be in once every {@link Move} of the turn has been executed. It is
+	 * the {@link Turn#PLAYER player's} turn on the returned {@code Board}. The returned {@code Board} is a copy that is not linked to the original;
+	 * it may be freely modified.
+	 */
+	public Board getResultingBoard() {
+		return resultingBoard;
+	}
+}
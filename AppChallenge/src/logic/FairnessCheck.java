@@ -0,0 +1,93 @@
+package logic;
+
+/**
+ * <p>Checks whether a newly generated {@link Board} is fair to the player. A {@code Board} is unfair if:
+ * <ul>
+ * <li>a {@link PlayerUnit} is walled in: the solid, obstacle-free tiles cannot be walked (orthogonally, ignoring {@link Unit Units}) from
+ * every {@code PlayerUnit} to every other {@code PlayerUnit} and to at least one {@link EnemyUnit} ({@link Reason#PLAYER_WALLED_IN}), or</li>
+ * <li>an {@code EnemyUnit} starts orthogonally adjacent to a {@code PlayerUnit} ({@link Reason#ENEMY_ADJACENT_TO_TEAM}).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Connectivity is found with a union-find over the packed indices of the tiles, which takes close to linear time and allocates one
+ * {@code int} array.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class FairnessCheck {
+
+	/** The reasons a {@link Board} may be unfair. */
+	public enum Reason {
+		PLAYER_WALLED_IN, ENEMY_ADJACENT_TO_TEAM;
+	}
+
+	private FairnessCheck() {
+	}
+
+	/**
+	 * Returns the reason the given {@link Board} is unfair, or {@code null} if it is fair. If there is more than one reason, the first one in the
+	 * order of {@link Reason} is returned.
+	 */
+	public static Reason check(Board board) {
+		if(!isConnected(board))
+			return Reason.PLAYER_WALLED_IN;
+		if(hasEnemyAdjacentToTeam(board))
+			return Reason.ENEMY_ADJACENT_TO_TEAM;
+		return null;
+	}
+
+	private static boolean isConnected(Board board) {
+		final Bitboard players = board.getPlayerUnitMask(), enemies = board.getEnemyUnitMask();
+		if(players.isEmpty())
+			return true;
+		final int rows = board.getRows(), cols = board.getCols();
+		final Bitboard blocked = new Bitboard(board.getObstacleMask());
+		for(int i = 0; i < rows * cols; i++)
+			if(board.getTileAtIndex(i).getType() != TileType.SOLID)
+				blocked.set(i);
+		final int[] parents = new int[rows * cols];
+		for(int i = 0; i < parents.length; i++)
+			parents[i] = i;
+		for(int i = 0; i < parents.length; i++) {
+			if(blocked.get(i))
+				continue;
+			if(board.colOf(i) + 1 < cols && !blocked.get(i + 1))
+				union(parents, i, i + 1);
+			if(i + cols < parents.length && !blocked.get(i + cols))
+				union(parents, i, i + cols);
+		}
+		final int team = find(parents, players.nextSetBit(0));
+		for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1))
+			if(find(parents, i) != team)
+				return false;
+		for(int i = enemies.nextSetBit(0); i >= 0; i = enemies.nextSetBit(i + 1))
+			if(find(parents, i) == team)
+				return true;
+		return enemies.isEmpty();
+	}
+
+	private static boolean hasEnemyAdjacentToTeam(Board board) {
+		final Bitboard players = board.getPlayerUnitMask(), enemies = board.getEnemyUnitMask();
+		final int rows = board.getRows(), cols = board.getCols();
+		for(int i = enemies.nextSetBit(0); i >= 0; i = enemies.nextSetBit(i + 1)) {
+			final int row = board.rowOf(i), col = board.colOf(i);
+			if(row > 0 && players.get(i - cols) || row + 1 < rows && players.get(i + cols)
+					|| col > 0 && players.get(i - 1) || col + 1 < cols && players.get(i + 1))
+				return true;
+		}
+		return false;
+	}
+
+	/** Returns the root of the set containing {@code i}, halving the path on the way. */
+	private static int find(int[] parents, int i) {
+		while(parents[i] != i) {
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parents, int a, int b) {
+		parents[find(parents, a)] = find(parents, b);
+	}
+}
@@ -0,0 +1,180 @@
+package logic;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import logic.actions.*;
+
+/**
+ * <p>Owns a {@link Board} and is the only thing that changes it. Every change, and every decision the enemy AI makes, is a command that runs on
+ * the engine's own thread (the <i>logic thread</i>), one at a time, in the order the commands were submitted. Each command returns a
+ * {@link CompletableFuture} that is completed on the logic thread with what happened, so the caller never blocks. Once a {@code Board} has been
+ * given to a {@code GameEngine}, no other thread may change it, and other threads should not read it while commands are pending.</p>
+ *
+ * <p>Changes are reported as {@link MoveRecord MoveRecords} of immutable {@link GameEvent GameEvents}, which carry the positions and health
+ * that the display needs. The {@link GameObject GameObjects} on the {@code Board} fire their listeners on the logic thread, so the display should
+ * be driven by the events instead of by listeners.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class GameEngine {
+	
+	private final Board board;
+	private final ExecutorService executor;
+	
+	/**
+	 * Creates a {@link GameEngine} that owns the given {@link Board}, with a new logic thread. The thread is a daemon thread, and runs until
+	 * {@link #shutdown()} is called.
+	 */
+	public GameEngine(Board board) {
+		this.board = Objects.requireNonNull(board);
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Game Logic");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Submits a command that applies the given function to the {@link Board} on the logic thread, and returns a {@link CompletableFuture} that is
+	 * completed with its result. This is for commands that the other methods do not cover.
+	 */
+	public <T> CompletableFuture<T> submit(Function<? super Board, ? extends T> command) {
+		return CompletableFuture.supplyAsync(() -> command.apply(board), executor);
+	}
+	
+	/**
+	 * Submits a command that executes the given {@link Move} of a {@link PlayerUnit}, after decreasing its moves remaining by one.
+	 */
+	public CompletableFuture<MoveRecord> executeMove(Move move) {
+		return submit(board -> {
+			final Unit unit = move.isEmpty() ? null : move.getAbility().getUnit();
+			if(unit instanceof PlayerUnit) {
+				PlayerUnit pu = (PlayerUnit) unit;
+				pu.setMovesRemaining(pu.getMovesRemaining() - 1);
+			}
+			return execute(board, move);
+		});
+	}
+	
+	/**
+	 * Submits a command that {@link Board#addOrThrow(GameObject, int, int) adds} the given {@link GameObject} to the {@link Board}.
+	 */
+	public CompletableFuture<MoveRecord> addOrThrow(GameObject object, int row, int col) {
+		return submit(board -> {
+			board.addOrThrow(object, row, col);
+			return record(board, List.of(placed(object, row, col)));
+		});
+	}
+	
+	/**
+	 * Submits a command that {@link Board#setToEnemyTurn() starts} the enemy's turn.
+	 */
+	public CompletableFuture<Void> startEnemyTurn() {
+		return submit(board -> {
+			board.setToEnemyTurn();
+			return null;
+		});
+	}
+	
+	/**
+	 * Submits a command that asks for the {@link Board#nextEnemyMove() next enemy Move} of the turn and executes it. The returned
+	 * {@link CompletableFuture} is completed with {@code null} if the turn has no more {@code Moves}.
+	 */
+	public CompletableFuture<MoveRecord> playNextEnemyMove() {
+		return submit(board -> board.hasNextEnemyMove() ? execute(board, board.nextEnemyMove()) : null);
+	}
+	
+	/**
+	 * Submits a command that {@link EnemyTurnScript#plan(Board) plans} the rest of the enemy's turn and executes all of its {@link Move Moves}.
+	 * The returned {@link CompletableFuture} is completed with their records, in order, as soon as the whole turn has been played.
+	 */
+	public CompletableFuture<List<MoveRecord>> playScriptedEnemyTurn() {
+		return submit(board -> {
+			final EnemyTurnScript script = EnemyTurnScript.plan(board);
+			final List<MoveRecord> records = new ArrayList<>(script.getMoveCount());
+			for(Move move : script.getMovesUnmodifiable())
+				records.add(execute(board, move));
+			return Collections.unmodifiableList(records);
+		});
+	}
+	
+	/**
+	 * Submits a command that {@link Board#setToPlayerTurn() ends} the enemy's turn.
+	 */
+	public CompletableFuture<Void> endEnemyTurn() {
+		return submit(board -> {
+			board.setToPlayerTurn();
+			return null;
+		});
+	}
+	
+	/**
+	 * Stops the logic thread once the commands already submitted have run. Commands submitted afterwards are rejected.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+	
+	/**
+	 * Executes the {@link Action Actions} of the given {@link Move} one by one, recording what each one changes. An {@code Action} that hits or
+	 * heals a {@link GameObject} that is no longer on the {@link Board} is skipped, so that no event refers to a tile it is not on.
+	 */
+	private static MoveRecord execute(Board board, Move move) {
+		if(move.isEmpty())
+			return record(board, Collections.emptyList());
+		final List<GameEvent> events = new ArrayList<>(move.getActionCount() + 1);
+		for(Action a : move.getActionsUnmodifiable()) {
+			if(a instanceof Relocate) {
+				Relocate r = (Relocate) a;
+				r.execute(board);
+				events.add(new GameEvent.Relocated(r.getStartRow(), r.getStartCol(), r.getDestRow(), r.getDestCol()));
+			}
+			else if(a instanceof FireProjectile) {
+				FireProjectile fp = (FireProjectile) a;
+				final GameObject target = fp.getTarget();
+				if(target.getBoard() != board) //an earlier Action has already removed it, so there is nothing left to hit.
+					continue;
+				final int row = target.getRow(), col = target.getCol();
+				events.add(new GameEvent.ProjectileFired(move.getAbility(), fp.getStartRow(), fp.getStartCol(), row, col));
+				fp.execute(board);
+				addHealthEvents(events, target, row, col);
+			}
+			else if(a instanceof ChangeHealth) {
+				final HasHealth target = ((ChangeHealth) a).getGameObject();
+				if(target.getBoard() != board)
+					continue;
+				final int row = target.getRow(), col = target.getCol();
+				a.execute(board);
+				addHealthEvents(events, target, row, col);
+			}
+			else if(a instanceof PlaceObject) {
+				PlaceObject po = (PlaceObject) a;
+				a.execute(board);
+				events.add(placed(po.getObject(), po.getRow(), po.getCol()));
+			}
+			else {
+				throw new UnsupportedOperationException("Unsupported action type: " + a.getClass());
+			}
+		}
+		return record(board, events);
+	}
+	
+	private static void addHealthEvents(List<GameEvent> events, GameObject target, int row, int col) {
+		if(!(target instanceof HasHealth))
+			return;
+		final HasHealth hh = (HasHealth) target;
+		events.add(new GameEvent.HealthChanged(hh, row, col, hh.getHealth()));
+		if(!hh.isAlive())
+			events.add(new GameEvent.Removed(hh, row, col));
+	}
+	
+	private static GameEvent placed(GameObject object, int row, int col) {
+		return new GameEvent.Placed(object, row, col, object instanceof HasHealth ? ((HasHealth) object).getHealth() : 0);
+	}
+	
+	private static MoveRecord record(Board board, List<GameEvent> events) {
+		return new MoveRecord(events, board.getPlayerUnitCount(), board.getEnemyUnitCount());
+	}
+}
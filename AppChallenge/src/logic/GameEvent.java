@@ -0,0 +1,162 @@
+package logic;
+
+import java.util.Objects;
+
+import logic.actions.*;
+
+/**
+ * <p>An immutable record of one change to a {@link Board}, made by a {@link GameEngine} while executing an {@link Action}. Events carry copies of
+ * everything that may change later (positions and health), so they can be shown on another thread, after the {@code Board} has moved on, without
+ * reading it. The {@link GameObject GameObjects} they refer to identify what changed; only their immutable properties (such as their class)
+ * should be read from another thread.</p>
+ * @author Sam Hooper
+ *
+ */
+public abstract class GameEvent {
+	
+	private final int row, col;
+	
+	private GameEvent(int row, int col) {
+		this.row = row;
+		this.col = col;
+	}
+	
+	/** Returns the row of the tile this event happened on. */
+	public int getRow() {
+		return row;
+	}
+	
+	/** Returns the column of the tile this event happened on. */
+	public int getCol() {
+		return col;
+	}
+	
+	/** A {@link Unit} moved from the tile of this event to another tile. See {@link Relocate}. */
+	public static final class Relocated extends GameEvent {
+		private final int destRow, destCol;
+		
+		public Relocated(int startRow, int startCol, int destRow, int destCol) {
+			super(startRow, startCol);
+			this.destRow = destRow;
+			this.destCol = destCol;
+		}
+		
+		public int getDestRow() {
+			return destRow;
+		}
+		
+		public int getDestCol() {
+			return destCol;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("Relocated[(%d, %d) -> (%d, %d)]", getRow(), getCol(), destRow, destCol);
+		}
+	}
+	
+	/**
+	 * A projectile was fired from the tile of this event at a target on another tile. It is followed by the {@link HealthChanged} event of the
+	 * target. See {@link FireProjectile}.
+	 */
+	public static final class ProjectileFired extends GameEvent {
+		private final Ability ability;
+		private final int targetRow, targetCol;
+		
+		public ProjectileFired(Ability ability, int startRow, int startCol, int targetRow, int targetCol) {
+			super(startRow, startCol);
+			this.ability = Objects.requireNonNull(ability);
+			this.targetRow = targetRow;
+			this.targetCol = targetCol;
+		}
+		
+		/** Returns the {@link Ability} that fired the projectile. */
+		public Ability getAbility() {
+			return ability;
+		}
+		
+		public int getTargetRow() {
+			return targetRow;
+		}
+		
+		public int getTargetCol() {
+			return targetCol;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("ProjectileFired[%s, (%d, %d) -> (%d, %d)]", ability.getClass().getSimpleName(), getRow(), getCol(), targetRow, targetCol);
+		}
+	}
+	
+	/** The health of a {@link HasHealth} on the tile of this event changed. If it reached zero, this is followed by a {@link Removed} event. */
+	public static final class HealthChanged extends GameEvent {
+		private final HasHealth object;
+		private final int health;
+		
+		public HealthChanged(HasHealth object, int row, int col, int health) {
+			super(row, col);
+			this.object = Objects.requireNonNull(object);
+			this.health = health;
+		}
+		
+		public HasHealth getObject() {
+			return object;
+		}
+		
+		/** Returns the health of the object just after the change. */
+		public int getHealth() {
+			return health;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("HealthChanged[%s at (%d, %d), health=%d]", object.getClass().getSimpleName(), getRow(), getCol(), health);
+		}
+	}
+	
+	/** A {@link GameObject} died and was removed from the tile of this event. */
+	public static final class Removed extends GameEvent {
+		private final GameObject object;
+		
+		public Removed(GameObject object, int row, int col) {
+			super(row, col);
+			this.object = Objects.requireNonNull(object);
+		}
+		
+		public GameObject getObject() {
+			return object;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("Removed[%s at (%d, %d)]", object.getClass().getSimpleName(), getRow(), getCol());
+		}
+	}
+	
+	/** A {@link GameObject} was placed on the tile of this event. See {@link PlaceObject}. */
+	public static final class Placed extends GameEvent {
+		private final GameObject object;
+		private final int health;
+		
+		public Placed(GameObject object, int row, int col, int health) {
+			super(row, col);
+			this.object = Objects.requireNonNull(object);
+			this.health = health;
+		}
+		
+		public GameObject getObject() {
+			return object;
+		}
+		
+		/** Returns the health the object had when it was placed, or {@code 0} if it does not have health. */
+		public int getHealth() {
+			return health;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("Placed[%s at (%d, %d), health=%d]", object.getClass().getSimpleName(), getRow(), getCol(), health);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package logic;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.*;
+import java.util.stream.IntStream;
+
+import logic.units.*;
+
+/**
+ * <p>Plays out complete matches without any graphics. The player's team is controlled by a {@link PlayerPolicy} and the enemy's team is controlled
+ * the same way it is in the real game (through {@link Board#setToEnemyTurn()}, {@link Board#nextEnemyMove()} and {@link Move#execute(Board)}). There
+ * is no delay between moves.</p>
+ *
+ * <p>Every match is played on its own {@link Board}, produced by this simulator's board factory from the seed of the match. Each {@code Board}
+ * the factory returns must be independent of every other {@code Board} it returns (in particular, no two {@code Boards} may share a
+ * {@link Unit}), since {@link #playMatches(int)} plays many matches concurrently. If the factory builds the same {@code Board} (including its
+ * {@link Board#getRandom() source of randomness}) for the same seed, as the default factory does, then any match can be replayed from its seed
+ * with {@link #playMatch(long)}.</p>
+ *
+ * @author Sam Hooper
+ *
+ */
+public class MatchSimulator {
+
+	public static final int DEFAULT_MAX_TURNS = 100;
+	public static final double DEFAULT_TURN_DIFFICULTY = 6;
+
+	public enum Outcome {
+		PLAYER_WIN, ENEMY_WIN, DRAW;
+	}
+
+	/**
+	 * The result of a single match. This class is immutable.
+	 */
+	public static final class MatchResult {
+		private final Outcome outcome;
+		private final int turns;
+
+		MatchResult(Outcome outcome, int turns) {
+			this.outcome = outcome;
+			this.turns = turns;
+		}
+
+		public Outcome getOutcome() {
+			return outcome;
+		}
+
+		/**
+		 * The number of full turns (one player turn followed by one enemy turn) that were played.
+		 */
+		public int getTurns() {
+			return turns;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("MatchResult[outcome=%s, turns=%d]", outcome, turns);
+		}
+	}
+
+	/**
+	 * The combined results of a batch of matches. This class is immutable.
+	 */
+	public static final class BatchResult {
+		private final int playerWins, enemyWins, draws;
+		private final long seed, totalTurns, elapsedNanos;
+
+		BatchResult(long seed, int playerWins, int enemyWins, int draws, long totalTurns, long elapsedNanos) {
+			this.seed = seed;
+			this.playerWins = playerWins;
+			this.enemyWins = enemyWins;
+			this.draws = draws;
+			this.totalTurns = totalTurns;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * The seed of the batch. The match with index {@code i} (starting from {@code 0}) was played with seed {@code getSeed() + i}.
+		 */
+		public long getSeed() {
+			return seed;
+		}
+
+		public int getMatchCount() {
+			return playerWins + enemyWins + draws;
+		}
+
+		public int getPlayerWins() {
+			return playerWins;
+		}
+
+		public int getEnemyWins() {
+			return enemyWins;
+		}
+
+		public int getDraws() {
+			return draws;
+		}
+
+		public double getAverageTurns() {
+			return getMatchCount() == 0 ? 0 : (double) totalTurns / getMatchCount();
+		}
+
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		public double getMatchesPerSecond() {
+			return elapsedNanos == 0 ? 0 : getMatchCount() / (elapsedNanos / 1e9);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("BatchResult[seed=%d, matches=%d, playerWins=%d, enemyWins=%d, draws=%d, averageTurns=%.2f, elapsed=%.3fs, matchesPerSecond=%.1f]",
+					seed, getMatchCount(), playerWins, enemyWins, draws, getAverageTurns(), elapsedNanos / 1e9, getMatchesPerSecond());
+		}
+	}
+
+	private final LongFunction<Board> boardFactory;
+	private final PlayerPolicy playerPolicy;
+	private final int maxTurns;
+
+	/**
+	 * Creates a {@link MatchSimulator} that plays on {@link Board Boards} made by a default {@link BoardGenerator} with the usual team of
+	 * {@link PlayerUnit PlayerUnits}, using a {@link ScriptedPlayerPolicy} and {@link #DEFAULT_MAX_TURNS}.
+	 */
+	public MatchSimulator() {
+		this(MatchSimulator::defaultBoard, new ScriptedPlayerPolicy(), DEFAULT_MAX_TURNS);
+	}
+
+	/**
+	 * Creates a {@link MatchSimulator} whose {@link Board Boards} come from the given {@link Supplier}, which ignores the seeds of the matches.
+	 * A match that has not ended after {@code maxTurns} turns is a {@link Outcome#DRAW draw}.
+	 */
+	public MatchSimulator(Supplier<Board> boardSupplier, PlayerPolicy playerPolicy, int maxTurns) {
+		this(ignoreSeed(Objects.requireNonNull(boardSupplier)), playerPolicy, maxTurns);
+	}
+
+	/**
+	 * Creates a {@link MatchSimulator} whose {@link Board Boards} are made by the given factory from the seeds of the matches. A match that has
+	 * not ended after {@code maxTurns} turns is a {@link Outcome#DRAW draw}.
+	 */
+	public MatchSimulator(LongFunction<Board> boardFactory, PlayerPolicy playerPolicy, int maxTurns) {
+		if(maxTurns <= 0)
+			throw new IllegalArgumentException("maxTurns must be positive");
+		this.boardFactory = Objects.requireNonNull(boardFactory);
+		this.playerPolicy = Objects.requireNonNull(playerPolicy);
+		this.maxTurns = maxTurns;
+	}
+
+	private static LongFunction<Board> ignoreSeed(Supplier<Board> boardSupplier) {
+		return seed -> boardSupplier.get();
+	}
+
+	private static Board defaultBoard(long seed) {
+		return new BoardGenerator()
+				.setTeamUnits(List.of(new Rex(), new Jules(), new Kot(), new Scales()))
+				.setTurnDifficulty(DEFAULT_TURN_DIFFICULTY)
+				.setSeed(seed)
+				.build();
+	}
+
+	/**
+	 * Plays a single match with a random seed and returns the result.
+	 */
+	public MatchResult playMatch() {
+		return playMatch(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Plays a single match on a new {@link Board} made by the board factory from the given seed and returns the result.
+	 */
+	public MatchResult playMatch(long seed) {
+		return playMatch(boardFactory.apply(seed));
+	}
+
+	/**
+	 * Plays a match on the given {@link Board}, which must be at the start of the {@link Turn#PLAYER player's} turn. The {@code Board} is
+	 * modified.
+	 */
+	public MatchResult playMatch(final Board board) {
+		int turns = 0;
+		while(turns < maxTurns) {
+			Outcome outcome = outcomeOf(board);
+			if(outcome != null)
+				return new MatchResult(outcome, turns);
+			playPlayerTurn(board);
+			playEnemyTurn(board);
+			turns++;
+		}
+		Outcome outcome = outcomeOf(board);
+		return new MatchResult(outcome == null ? Outcome.DRAW : outcome, turns);
+	}
+
+	/**
+	 * Returns {@code null} if the match on the given {@link Board} has not ended.
+	 */
+	private static Outcome outcomeOf(Board board) {
+		if(board.getPlayerUnitCount() == 0)
+			return Outcome.ENEMY_WIN;
+		if(board.getEnemyUnitCount() == 0)
+			return Outcome.PLAYER_WIN;
+		return null;
+	}
+
+	private void playPlayerTurn(final Board board) {
+		for(PlayerUnit unit : board.getCurrentPlayerUnits()) {
+			while(unit.getBoard() == board && unit.getMovesRemaining() > 0) {
+				Move move = playerPolicy.chooseMove(board, unit);
+				unit.setMovesRemaining(unit.getMovesRemaining() - 1);
+				if(move.isEmpty())
+					break;
+				move.execute(board);
+			}
+		}
+	}
+
+	private static void playEnemyTurn(final Board board) {
+		board.setToEnemyTurn();
+		while(board.hasNextEnemyMove()) {
+			Move move = board.nextEnemyMove();
+			if(!move.isEmpty())
+				move.execute(board);
+		}
+		board.setToPlayerTurn();
+	}
+
+	/**
+	 * Plays {@code matchCount} independent matches in parallel with a random seed, using all available processors, and returns the combined results.
+	 */
+	public BatchResult playMatches(int matchCount) {
+		return playMatches(matchCount, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Plays {@code matchCount} independent matches in parallel, using all available processors, and returns the combined results. The match with
+	 * index {@code i} (starting from {@code 0}) is played with seed {@code seed + i}, so it can be replayed with {@link #playMatch(long)}.
+	 */
+	public BatchResult playMatches(int matchCount, long seed) {
+		if(matchCount < 0)
+			throw new IllegalArgumentException("matchCount must not be negative");
+		final long start = System.nanoTime();
+		final long[] t = IntStream.range(0, matchCount)
+				.parallel()
+				.mapToObj(i -> playMatch(seed + i))
+				.collect(() -> new long[4], MatchSimulator::tally, MatchSimulator::combine);
+		final long elapsed = System.nanoTime() - start;
+		return new BatchResult(seed, (int) t[0], (int) t[1], (int) t[2], t[3], elapsed);
+	}
+
+	/** {@code tallies} holds (player wins, enemy wins, draws, total turns). */
+	private static void tally(long[] tallies, MatchResult result) {
+		tallies[result.getOutcome().ordinal()]++;
+		tallies[3] += result.getTurns();
+	}
+
+	private static void combine(long[] a, long[] b) {
+		for(int i = 0; i < a.length; i++)
+			a[i] += b[i];
+	}
+
+	/**
+	 * Plays a batch of matches with the default settings and prints the results. The first argument, if present, is the number of matches to play.
+	 * The second argument, if present, is the maximum number of turns per match. The third argument, if present, is the seed of the batch.
+	 */
+	public static void main(String[] args) {
+		int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int maxTurns = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TURNS;
+		MatchSimulator simulator = new MatchSimulator(MatchSimulator::defaultBoard, new ScriptedPlayerPolicy(), maxTurns);
+		System.out.println(args.length > 2 ? simulator.playMatches(matchCount, Long.parseLong(args[2])) : simulator.playMatches(matchCount));
+	}
+}
@@ -70,6 +70,15 @@ public class Move {
 			a.execute(board);
 	}
 	
+	/**
+	 * Executes this {@code Move} on the given {@link Board}, recording each {@link Action} in the given {@link UndoJournal} so that the {@code Move}
+	 * can be undone. Usually called through {@link Board#makeMove(Move, UndoJournal)}.
+	 */
+	public void execute(Board board, UndoJournal journal) {
+		for(Action a : actions)
+			a.execute(board, journal);
+	}
+	
 	public Ability getAbility() {
 		return ability;
 	}
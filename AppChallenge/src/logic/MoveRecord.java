@@ -0,0 +1,39 @@
+package logic;
+
+import java.util.*;
+
+/**
+ * An immutable record of what a {@link GameEngine} changed when it executed one {@link Move}: the {@link GameEvent GameEvents}, in the order they
+ * happened, and how many {@link Unit Units} of each side were left on the {@link Board} afterwards. {@link Move#EMPTY_MOVE} has no events.
+ * @author Sam Hooper
+ *
+ */
+public final class MoveRecord {
+	
+	private final List<GameEvent> events;
+	private final int playerUnitCount, enemyUnitCount;
+	
+	MoveRecord(List<GameEvent> events, int playerUnitCount, int enemyUnitCount) {
+		this.events = Collections.unmodifiableList(events);
+		this.playerUnitCount = playerUnitCount;
+		this.enemyUnitCount = enemyUnitCount;
+	}
+	
+	/** Returns an unmodifiable view of the {@link GameEvent GameEvents}, in the order they happened. */
+	public List<GameEvent> getEventsUnmodifiable() {
+		return events;
+	}
+	
+	public int getPlayerUnitCount() {
+		return playerUnitCount;
+	}
+	
+	public int getEnemyUnitCount() {
+		return enemyUnitCount;
+	}
+	
+	@Override
+	public String toString() {
+		return "MoveRecord" + events;
+	}
+}
@@ -10,4 +10,10 @@ public interface Obstacle extends HasHealth {
 	
 	ObstacleSize getSize();
 
+	/**
+	 * Returns a new {@link Obstacle} with the same size, health, and maximum health as this one, that is not on any {@link Board}. Listeners
+	 * registered with this {@code Obstacle} or its properties are <b>not</b> copied.
+	 */
+	Obstacle copy();
+
 }
@@ -0,0 +1,20 @@
+package logic;
+
+/**
+ * <p>Decides the {@link Move Moves} made by the player's {@link PlayerUnit PlayerUnits} when there is no human playing, such as
+ * when matches are played out by a {@link MatchSimulator}.</p>
+ *
+ * @author Sam Hooper
+ *
+ */
+@FunctionalInterface
+public interface PlayerPolicy {
+
+	/**
+	 * Chooses and returns a {@link Move} for the given {@link PlayerUnit} to make on the given {@link Board}. The {@code PlayerUnit} is on the
+	 * given {@code Board} and has at least one {@link PlayerUnit#getMovesRemaining() move remaining}. Returning {@link Move#EMPTY_MOVE} indicates
+	 * that the {@code PlayerUnit} will not make any more moves this turn.
+	 */
+	Move chooseMove(Board board, PlayerUnit unit);
+
+}
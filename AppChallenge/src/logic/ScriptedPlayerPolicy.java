@@ -0,0 +1,126 @@
+package logic;
+
+import java.util.*;
+
+import logic.abilities.*;
+
+/**
+ * <p>A simple, deterministic {@link PlayerPolicy}. For each {@link PlayerUnit}, it:
+ * <ol>
+ * <li>attacks the {@link EnemyUnit} with the lowest health that any of the unit's {@link AttackAbility AttackAbilities} can target, if there is one.
+ * Otherwise,</li>
+ * <li>heals the friendly {@code PlayerUnit} with the most missing health that any of the unit's {@link SingleHeal SingleHeals} can target, if
+ * there is one. Otherwise,</li>
+ * <li>moves to the spot that is closest (by Manhattan distance) to an {@code EnemyUnit}, if that is closer than where it is now. Otherwise,</li>
+ * <li>passes.</li>
+ * </ol>
+ * </p>
+ * @author Sam Hooper
+ *
+ */
+public class ScriptedPlayerPolicy implements PlayerPolicy {
+
+	/**
+	 * Creates a new {@link ScriptedPlayerPolicy}.
+	 */
+	public ScriptedPlayerPolicy() {
+	}
+
+	@Override
+	public Move chooseMove(Board board, PlayerUnit unit) {
+		Move move = chooseAttack(board, unit);
+		if(move != null)
+			return move;
+		move = chooseHeal(board, unit);
+		if(move != null)
+			return move;
+		move = chooseApproach(board, unit);
+		if(move != null)
+			return move;
+		return Move.EMPTY_MOVE;
+	}
+
+	/**
+	 * Returns {@code null} if the given {@link PlayerUnit} cannot attack any {@link EnemyUnit}.
+	 */
+	private static Move chooseAttack(Board board, PlayerUnit unit) {
+		TargetingAbility bestAbility = null;
+		Unit bestTarget = null;
+		for(Ability ability : unit.getAbilitiesUnmodifiable()) {
+			if(!(ability instanceof AttackAbility) || !(ability instanceof TargetingAbility))
+				continue;
+			TargetingAbility ta = (TargetingAbility) ability;
+			for(int[] legal : ability.getLegals()) {
+				Unit target = board.getUnitAtOrNull(legal);
+				if(target instanceof EnemyUnit && ta.canTarget(target) && (bestTarget == null || target.getHealth() < bestTarget.getHealth())) {
+					bestTarget = target;
+					bestAbility = ta;
+				}
+			}
+		}
+		if(bestTarget == null)
+			return null;
+		return bestAbility.createMoveFor(bestTarget.getRow(), bestTarget.getCol(), bestTarget);
+	}
+
+	/**
+	 * Returns {@code null} if the given {@link PlayerUnit} cannot heal any damaged {@code PlayerUnit}.
+	 */
+	private static Move chooseHeal(Board board, PlayerUnit unit) {
+		SingleHeal bestAbility = null;
+		Unit bestTarget = null;
+		int mostMissing = 0;
+		for(Ability ability : unit.getAbilitiesUnmodifiable()) {
+			if(!(ability instanceof SingleHeal))
+				continue;
+			for(int[] legal : ability.getLegals()) {
+				Unit target = board.getUnitAtOrNull(legal);
+				if(!(target instanceof PlayerUnit))
+					continue;
+				int missing = target.getMaxHealth() - target.getHealth();
+				if(missing > mostMissing) {
+					mostMissing = missing;
+					bestTarget = target;
+					bestAbility = (SingleHeal) ability;
+				}
+			}
+		}
+		if(bestTarget == null)
+			return null;
+		return bestAbility.createMoveFor(bestTarget.getRow(), bestTarget.getCol(), bestTarget);
+	}
+
+	/**
+	 * Returns {@code null} if the given {@link PlayerUnit} cannot get any closer to an {@link EnemyUnit}.
+	 */
+	private static Move chooseApproach(Board board, PlayerUnit unit) {
+		Collection<EnemyUnit> enemies = board.getCurrentEnemyUnits();
+		if(enemies.isEmpty())
+			return null;
+		MoveAbility bestAbility = null;
+		int[] best = null;
+		int bestDistance = distanceToNearest(enemies, unit.getRow(), unit.getCol());
+		for(Ability ability : unit.getAbilitiesUnmodifiable()) {
+			if(!(ability instanceof MoveAbility))
+				continue;
+			for(int[] legal : ability.getLegals()) {
+				int distance = distanceToNearest(enemies, legal[0], legal[1]);
+				if(distance < bestDistance) {
+					bestDistance = distance;
+					best = legal;
+					bestAbility = (MoveAbility) ability;
+				}
+			}
+		}
+		if(best == null)
+			return null;
+		return bestAbility.createMoveFor(best, null);
+	}
+
+	private static int distanceToNearest(Collection<? extends Unit> units, int row, int col) {
+		int min = Integer.MAX_VALUE;
+		for(Unit u : units)
+			min = Math.min(min, Math.abs(u.getRow() - row) + Math.abs(u.getCol() - col));
+		return min;
+	}
+}
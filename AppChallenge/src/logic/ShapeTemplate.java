@@ -0,0 +1,116 @@
+package logic;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>The tiles of a {@link Shape} of a given radius around every tile (the <i>origin</i>) of a board of a given size, precomputed as
+ * {@link Board#indexOf(int, int) packed indices} that are already clipped to the board. The tiles of each origin are listed in row-major order,
+ * and include the origin itself. Abilities and {@link Board} queries that work on a shape copy (and filter) the tiles of their origin instead of
+ * recomputing the shape and checking the bounds of every tile on each call.</p>
+ *
+ * <p>Templates are obtained from {@link #of(Shape, int, int, int)}, which caches one per shape, radius, and board size, so that every
+ * {@link Unit} and {@link Ability} with the same parameters shares one. Templates are immutable and may be shared by any number of threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class ShapeTemplate {
+	
+	/** The shapes that templates can be made of. */
+	public enum Shape {
+		/** The tiles within the radius in taxicab distance (the sum of the row and column distances). */
+		DIAMOND,
+		/** The tiles within the radius in both row and column distance. */
+		SQUARE;
+	}
+	
+	/** The largest radius that is cached separately. Any larger radius covers every board, as this one does. */
+	private static final int MAX_RADIUS = Board.MAX_ROWS + Board.MAX_COLS;
+	private static final Shape[] SHAPES = Shape.values();
+	/** Indexed by {@link #keyOf(Shape, int, int, int)}, so that looking a template up does not allocate. */
+	private static final AtomicReferenceArray<ShapeTemplate> CACHE =
+			new AtomicReferenceArray<>(SHAPES.length * (MAX_RADIUS + 1) * (Board.MAX_ROWS + 1) * (Board.MAX_COLS + 1));
+	
+	/** The tiles of every origin, one after another. */
+	private final int[] cells;
+	/** The tiles of origin {@code i} are {@code cells[starts[i]]} to {@code cells[starts[i + 1] - 1]}. */
+	private final int[] starts;
+	
+	private ShapeTemplate(Shape shape, int radius, int rows, int cols) {
+		starts = new int[rows * cols + 1];
+		int count = 0;
+		for(int origin = 0; origin < rows * cols; origin++)
+			count += fill(shape, radius, rows, cols, origin, null, 0);
+		cells = new int[count];
+		count = 0;
+		for(int origin = 0; origin < rows * cols; origin++) {
+			starts[origin] = count;
+			count = fill(shape, radius, rows, cols, origin, cells, count);
+		}
+		starts[rows * cols] = count;
+	}
+	
+	/**
+	 * Appends the tiles of the shape around the given origin to {@code buffer} (or only counts them if {@code buffer} is {@code null}), and
+	 * returns the new number of tiles in {@code buffer}.
+	 */
+	private static int fill(Shape shape, int radius, int rows, int cols, int origin, int[] buffer, int count) {
+		final int row = origin / cols, col = origin % cols;
+		for(int r = Math.max(row - radius, 0); r <= Math.min(row + radius, rows - 1); r++) {
+			final int width = shape == Shape.DIAMOND ? radius - Math.abs(r - row) : radius;
+			for(int c = Math.max(col - width, 0); c <= Math.min(col + width, cols - 1); c++) {
+				if(buffer != null)
+					buffer[count] = r * cols + c;
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the template of the given {@link Shape} and radius for a board with the given number of rows and columns.
+	 * @throws IllegalArgumentException if the radius is negative or the size is not a valid {@link Board} size.
+	 */
+	public static ShapeTemplate of(Shape shape, int radius, int rows, int cols) {
+		if(radius < 0)
+			throw new IllegalArgumentException("Radius must be >= 0");
+		if(rows < Board.MIN_ROWS || rows > Board.MAX_ROWS || cols < Board.MIN_COLS || cols > Board.MAX_COLS)
+			throw new IllegalArgumentException("Invalid board size: " + rows + "x" + cols);
+		final int clipped = Math.min(radius, MAX_RADIUS);
+		final int key = keyOf(shape, clipped, rows, cols);
+		ShapeTemplate template = CACHE.get(key);
+		if(template == null) {
+			CACHE.compareAndSet(key, null, new ShapeTemplate(shape, clipped, rows, cols));
+			template = CACHE.get(key);
+		}
+		return template;
+	}
+	
+	private static int keyOf(Shape shape, int radius, int rows, int cols) {
+		return ((shape.ordinal() * (MAX_RADIUS + 1) + radius) * (Board.MAX_ROWS + 1) + rows) * (Board.MAX_COLS + 1) + cols;
+	}
+	
+	/**
+	 * Returns the template of the given {@link Shape} and radius for the size of the given {@link Board}.
+	 */
+	public static ShapeTemplate of(Shape shape, int radius, Board board) {
+		return of(shape, radius, board.getRows(), board.getCols());
+	}
+	
+	/**
+	 * <b>IMPORTANT: the returned array is the actual array of tiles of this template, shared by everything that uses it. It must never be
+	 * modified.</b> The tiles of an origin are the elements from {@link #start(int)} (inclusive) to {@link #end(int)} (exclusive).
+	 */
+	public int[] cells() {
+		return cells;
+	}
+	
+	/** Returns the position in {@link #cells()} of the first tile of the given origin. */
+	public int start(int origin) {
+		return starts[origin];
+	}
+	
+	/** Returns the position in {@link #cells()} after the last tile of the given origin. */
+	public int end(int origin) {
+		return starts[origin + 1];
+	}
+}
@@ -0,0 +1,94 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * <p>Summed-area tables of a {@link Board}, one for each {@link TileCategory}, that give the number of tiles of a category in any rectangle of
+ * tiles in O(1) time. Entry {@code (r, c)} of a table (with {@code 0 <= r <= rows} and {@code 0 <= c <= cols}) is the number of tiles of the
+ * category with a row less than {@code r} and a column less than {@code c}.</p>
+ *
+ * <p>{@code SquareCounts} are obtained from {@link Board#getSquareCounts()}. The tables are built lazily, one category at a time: the first
+ * query of a category after a {@link Unit} or {@link Obstacle} has been added, removed, or moved rebuilds the table of that category only, which
+ * visits every tile. So the tables pay off when many squares are queried between changes to the {@code Board}.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class SquareCounts {
+	
+	private static final TileCategory[] CATEGORIES = TileCategory.values();
+	
+	private final Board board;
+	/** The width of a row of a table, which is one more than the number of columns of the {@link Board}. */
+	private final int stride;
+	/** The tables, indexed by {@link TileCategory} ordinal. */
+	private final int[][] tables;
+	/** The {@link Board#getOccupancyVersion() occupancy version} each table was built at, indexed by {@link TileCategory} ordinal. */
+	private final long[] occupancyVersions;
+	
+	SquareCounts(Board board) {
+		this.board = board;
+		this.stride = board.getCols() + 1;
+		this.tables = new int[CATEGORIES.length][(board.getRows() + 1) * stride];
+		this.occupancyVersions = new long[CATEGORIES.length];
+		Arrays.fill(occupancyVersions, -1);
+	}
+	
+	/**
+	 * Returns the table of the given {@link TileCategory}, rebuilding it first if a {@link Unit} or {@link Obstacle} has been added, removed, or
+	 * moved since it was last built.
+	 */
+	private int[] tableOf(TileCategory category) {
+		final int[] table = tables[category.ordinal()];
+		if(isCurrent(category))
+			return table;
+		final int rows = board.getRows(), cols = board.getCols();
+		for(int r = 0; r < rows; r++) {
+			int rowSum = 0;
+			for(int c = 0; c < cols; c++) {
+				if(category.isIn(board, r * cols + c))
+					rowSum++;
+				table[(r + 1) * stride + c + 1] = table[r * stride + c + 1] + rowSum;
+			}
+		}
+		occupancyVersions[category.ordinal()] = board.getOccupancyVersion();
+		return table;
+	}
+	
+	/**
+	 * Returns {@code true} if the table of the given {@link TileCategory} was built at the current {@link Board#getOccupancyVersion() occupancy
+	 * version}, so that querying it does not rebuild it.
+	 */
+	boolean isCurrent(TileCategory category) {
+		return occupancyVersions[category.ordinal()] == board.getOccupancyVersion();
+	}
+	
+	/**
+	 * Returns the number of tiles of the given {@link TileCategory} with a row from {@code fromRow} to {@code toRow} and a column from
+	 * {@code fromCol} to {@code toCol} (all inclusive). The rectangle is clipped to the {@link Board}, and may be empty. Rebuilds the table of
+	 * the category first if it is out of date.
+	 */
+	public int count(TileCategory category, int fromRow, int fromCol, int toRow, int toCol) {
+		fromRow = Math.max(fromRow, 0);
+		fromCol = Math.max(fromCol, 0);
+		toRow = Math.min(toRow, board.getRows() - 1);
+		toCol = Math.min(toCol, board.getCols() - 1);
+		if(fromRow > toRow || fromCol > toCol)
+			return 0;
+		final int[] table = tableOf(category);
+		return table[(toRow + 1) * stride + toCol + 1] - table[fromRow * stride + toCol + 1]
+				- table[(toRow + 1) * stride + fromCol] + table[fromRow * stride + fromCol];
+	}
+	
+	/**
+	 * Returns the number of tiles of the given {@link TileCategory} in the square of the given radius around the given tile, which need not be
+	 * in bounds. The center tile is only counted if {@code includeCenter} is {@code true}.
+	 */
+	public int countInSquare(TileCategory category, int row, int col, int radius, boolean includeCenter) {
+		int count = count(category, row - radius, col - radius, row + radius, col + radius);
+		if(!includeCenter && board.inBounds(row, col) && category.isIn(board, board.indexOf(row, col)))
+			count--;
+		return count;
+	}
+}
@@ -0,0 +1,182 @@
+package logic;
+
+import java.util.Arrays;
+
+import logic.abilities.*;
+
+/**
+ * <p>For every tile of a {@link Board}, how much damage a {@link HasHealth} on that tile could take if each {@link Unit} that plays a given
+ * {@link Turn} used its most damaging attack from where it stands. The attacks covered are:
+ * <ul>
+ * <li>{@link Shoot}: every tile in the unit's row and column up to and including the first {@code Unit} or {@link Obstacle},</li>
+ * <li>{@link Lob}: every tile in the unit's row and column that is at least the minimum distance away,</li>
+ * <li>{@link Melee}: the 8 adjacent tiles, and</li>
+ * <li>{@link Smash}: the square of its radius around the unit.</li>
+ * </ul>
+ * An attack only counts if the unit {@link AttackAbility#canAttackFrom(TileType) can use it} from the tile it is on. Each unit counts once per
+ * tile (with its most damaging attack there), and the damage of the units is added together.</p>
+ *
+ * <p>{@code ThreatMaps} are obtained from {@link Board#getThreatMap(Turn)}, which caches one per {@code Turn} and only recomputes it when a
+ * {@code Unit} or {@code Obstacle} is added, removed, or moved, or a tile's {@code TileType} changes (or a different tile is asked to be
+ * treated as empty, see {@link Board#getThreatMap(Turn, int)}). Changes to the damage or range of an
+ * {@link Ability} are not tracked. A {@code ThreatMap} must not be used after its {@code Board} has changed without getting it from the
+ * {@code Board} again.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class ThreatMap {
+
+	private final Board board;
+	private final Turn attackers;
+	/** The total damage on each tile, indexed by {@link Board#indexOf(int, int) packed index}. */
+	private final int[] damage;
+	/** The damage of the unit being added, which is added to {@link #damage} once all of its attacks have been applied. */
+	private final int[] unitDamage;
+	private int maxDamage;
+	/** The packed index of the tile treated as empty for line of sight, or {@code -1} if there is none. */
+	private int transparentIndex;
+	/** The {@link Board#getOccupancyVersion() occupancy} and {@link Board#getTerrainVersion() terrain} versions this map was computed at. */
+	private long occupancyVersion, terrainVersion;
+
+	ThreatMap(Board board, Turn attackers) {
+		this.board = board;
+		this.attackers = attackers;
+		this.damage = new int[board.getTileCount()];
+		this.unitDamage = new int[board.getTileCount()];
+		this.occupancyVersion = -1;
+		this.terrainVersion = -1;
+		this.transparentIndex = -1;
+	}
+
+	/**
+	 * Recomputes this map if the {@link Board} or the tile treated as empty for line of sight (given by its packed index, or {@code -1} for
+	 * none) has changed since it was last computed.
+	 */
+	void update(int transparentIndex) {
+		if(occupancyVersion == board.getOccupancyVersion() && terrainVersion == board.getTerrainVersion()
+				&& this.transparentIndex == transparentIndex)
+			return;
+		this.transparentIndex = transparentIndex;
+		Arrays.fill(damage, 0);
+		final Bitboard units = attackers == Turn.PLAYER ? board.getPlayerUnitMask() : board.getEnemyUnitMask();
+		for(int i = units.nextSetBit(0); i >= 0; i = units.nextSetBit(i + 1)) {
+			final Unit unit = board.unitAt(i);
+			final int row = board.rowOf(i), col = board.colOf(i);
+			final TileType standingOn = board.getTileAtIndex(i).getType();
+			for(Ability ability : unit.getAbilitiesUnmodifiable())
+				if(ability instanceof AttackAbility && ((AttackAbility) ability).canAttackFrom(standingOn))
+					applyAttack(ability, row, col);
+			for(int j = 0; j < damage.length; j++) {
+				damage[j] += unitDamage[j];
+				unitDamage[j] = 0;
+			}
+		}
+		maxDamage = 0;
+		for(int d : damage)
+			maxDamage = Math.max(maxDamage, d);
+		occupancyVersion = board.getOccupancyVersion();
+		terrainVersion = board.getTerrainVersion();
+	}
+
+	/** Raises {@link #unitDamage} to the damage of the given attack, used from the given tile, wherever the attack reaches. */
+	private void applyAttack(Ability ability, int row, int col) {
+		final int rows = board.getRows(), cols = board.getCols();
+		if(ability instanceof Shoot) {
+			final int d = ((Shoot) ability).damageProperty().get();
+			final int below = firstBlockerFrom(row, col, 1, 0), above = firstBlockerFrom(row, col, -1, 0);
+			final int right = firstBlockerFrom(row, col, 0, 1), left = firstBlockerFrom(row, col, 0, -1);
+			raiseCol(col, row + 1, below < 0 ? rows - 1 : board.rowOf(below), d);
+			raiseCol(col, above < 0 ? 0 : board.rowOf(above), row - 1, d);
+			raiseRow(row, col + 1, right < 0 ? cols - 1 : board.colOf(right), d);
+			raiseRow(row, left < 0 ? 0 : board.colOf(left), col - 1, d);
+		}
+		else if(ability instanceof Lob) {
+			final Lob lob = (Lob) ability;
+			final int d = lob.damageProperty().get(), min = Math.max(lob.getMinimumDistance(), 1);
+			raiseCol(col, row + min, rows - 1, d);
+			raiseCol(col, 0, row - min, d);
+			raiseRow(row, col + min, cols - 1, d);
+			raiseRow(row, 0, col - min, d);
+		}
+		else if(ability instanceof Melee) {
+			raiseSquare(row, col, 1, ((Melee) ability).damageProperty().get());
+		}
+		else if(ability instanceof Smash) {
+			final Smash smash = (Smash) ability;
+			raiseSquare(row, col, smash.getRadius(), smash.damageProperty().get());
+		}
+	}
+
+	/** Like {@link Board#firstOccupiedFrom(int, int, int, int)}, but looks past the {@link #transparentIndex transparent tile}. */
+	private int firstBlockerFrom(int row, int col, int dRow, int dCol) {
+		final int first = board.firstOccupiedFrom(row, col, dRow, dCol);
+		if(first < 0 || first != transparentIndex)
+			return first;
+		return board.firstOccupiedFrom(board.rowOf(first), board.colOf(first), dRow, dCol);
+	}
+
+	/** Raises the tiles of the given row from {@code fromCol} to {@code toCol} (inclusive) to at least {@code d}. Does nothing if the range is empty. */
+	private void raiseRow(int row, int fromCol, int toCol, int d) {
+		for(int i = board.indexOf(row, Math.max(fromCol, 0)), end = board.indexOf(row, Math.min(toCol, board.getCols() - 1)); i <= end; i++)
+			unitDamage[i] = Math.max(unitDamage[i], d);
+	}
+
+	/** Raises the tiles of the given column from {@code fromRow} to {@code toRow} (inclusive) to at least {@code d}. Does nothing if the range is empty. */
+	private void raiseCol(int col, int fromRow, int toRow, int d) {
+		final int cols = board.getCols();
+		for(int r = Math.max(fromRow, 0), end = Math.min(toRow, board.getRows() - 1); r <= end; r++) {
+			final int i = r * cols + col;
+			unitDamage[i] = Math.max(unitDamage[i], d);
+		}
+	}
+
+	/** Raises the tiles of the square of the given radius around the given tile, except the tile itself, to at least {@code d}. */
+	private void raiseSquare(int row, int col, int radius, int d) {
+		for(int r = Math.max(row - radius, 0), rEnd = Math.min(row + radius, board.getRows() - 1); r <= rEnd; r++) {
+			for(int c = Math.max(col - radius, 0), cEnd = Math.min(col + radius, board.getCols() - 1); c <= cEnd; c++) {
+				if(r == row && c == col)
+					continue;
+				final int i = board.indexOf(r, c);
+				unitDamage[i] = Math.max(unitDamage[i], d);
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Turn} whose {@link Unit Units} this map is for.
+	 */
+	public Turn getAttackers() {
+		return attackers;
+	}
+
+	/**
+	 * Returns the damage the indicated tile could take.
+	 */
+	public int damageAt(int row, int col) {
+		return damage[board.indexOf(row, col)];
+	}
+
+	/**
+	 * Equivalent to {@link #damageAt(int, int)}, but the tile is given by its {@link Board#indexOf(int, int) packed index}.
+	 */
+	public int damageAt(int index) {
+		return damage[index];
+	}
+
+	/**
+	 * Returns the greatest damage any tile could take, or {@code 0} if no tile is threatened.
+	 */
+	public int getMaxDamage() {
+		return maxDamage;
+	}
+
+	/**
+	 * Returns a copy of the damage of every tile, indexed by {@link Board#indexOf(int, int) packed index}. Unlike this map, the copy stays valid
+	 * when the {@link Board} changes, so it may be handed to another thread.
+	 */
+	public int[] toArray() {
+		return damage.clone();
+	}
+}
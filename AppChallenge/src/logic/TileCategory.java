@@ -0,0 +1,49 @@
+package logic;
+
+/**
+ * <p>Common {@link Board.TilePredicate TilePredicates} about what is on a tile. Counting queries over squares of tiles, such as
+ * {@link Board#countSatisfyingInSquare(int, int, int, Board.TilePredicate, boolean)} and
+ * {@link Board#anyInSquare(int, int, int, Board.TilePredicate, boolean)}, answer these in O(1) time from the {@link SquareCounts summed-area
+ * tables} of the {@link Board} while the tables are up to date, instead of testing every tile in the square. Otherwise, and for any other
+ * {@code TilePredicate}, the tiles are tested one by one.</p>
+ * @author Sam Hooper
+ *
+ */
+public enum TileCategory implements Board.TilePredicate {
+	/** The tile has a {@link PlayerUnit}. Equivalent to {@link BoardTile#hasPlayerUnit()}. */
+	PLAYER_UNIT {
+		@Override
+		boolean isIn(Board board, int index) {
+			return board.hasPlayerUnitAt(index);
+		}
+	},
+	/** The tile has an {@link EnemyUnit}. Equivalent to {@link BoardTile#hasEnemyUnit()}. */
+	ENEMY_UNIT {
+		@Override
+		boolean isIn(Board board, int index) {
+			return board.hasEnemyUnitAt(index);
+		}
+	},
+	/** The tile has a {@link HasHealth} (a {@link Unit} or an {@link Obstacle}). Equivalent to {@link BoardTile#hasHasHealth()}. */
+	HAS_HEALTH {
+		@Override
+		boolean isIn(Board board, int index) {
+			return board.hasUnitAt(index) || board.hasObstacleAt(index);
+		}
+	},
+	/** The tile has an {@link Obstacle}. Equivalent to {@link BoardTile#hasObstacle()}. */
+	OBSTACLE {
+		@Override
+		boolean isIn(Board board, int index) {
+			return board.hasObstacleAt(index);
+		}
+	};
+	
+	/** Returns whether the tile of the given {@link Board} with the given {@link Board#indexOf(int, int) packed index} is in this category. */
+	abstract boolean isIn(Board board, int index);
+	
+	@Override
+	public boolean test(BoardTile tile) {
+		return isIn(tile.getBoard(), tile.getIndex());
+	}
+}
@@ -0,0 +1,100 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * <p>A record of executed {@link Action Actions} that allows them to be undone, most recent first. Search code uses an {@code UndoJournal} to
+ * <i>make</i> a {@link Move} (see {@link Board#makeMove(Move, UndoJournal)}), look at the result, and then <i>unmake</i> it (see
+ * {@link Board#unmakeMove(UndoJournal, int)}), instead of copying the {@link Board} for every {@code Move} it tries.</p>
+ *
+ * <p>Each entry holds the {@code Action} and two {@code ints} of whatever state the {@code Action} needs to revert itself (see
+ * {@link Action#execute(Board, UndoJournal)} and {@link Action#undo(Board, int, int)}). Recording and undoing do not allocate once the journal
+ * has grown to the deepest sequence of {@code Actions} it is used for.</p>
+ *
+ * <p>Undoing restores the state of the {@code Board} and of the {@link GameObject GameObjects} on it, but not the listeners that were fired
+ * (such as {@link HasHealth.EtherealDeathListener EtherealDeathListeners}, which are removed once fired). It is meant to be used on
+ * {@link Board#copy() copies} of a {@code Board}, which have no listeners.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class UndoJournal {
+	
+	private static final int DEFAULT_INITIAL_CAPACITY = 64;
+	
+	private Action[] actions;
+	/** The two values recorded with each {@link Action}, at {@code 2 * i} and {@code 2 * i + 1} for the {@code Action} at {@code i}. */
+	private int[] values;
+	private int size;
+	
+	public UndoJournal() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+	
+	/**
+	 * Creates a new, empty {@link UndoJournal} with room for {@code initialCapacity} entries before it needs to grow.
+	 * @throws IllegalArgumentException if {@code initialCapacity} is not positive.
+	 */
+	public UndoJournal(int initialCapacity) {
+		if(initialCapacity <= 0)
+			throw new IllegalArgumentException("initialCapacity must be positive");
+		actions = new Action[initialCapacity];
+		values = new int[2 * initialCapacity];
+		size = 0;
+	}
+	
+	/**
+	 * Records that the given {@link Action} has been (or is about to be) executed, along with two values that will be passed back to
+	 * {@link Action#undo(Board, int, int)} when it is undone.
+	 */
+	public void record(Action action, int first, int second) {
+		if(size == actions.length) {
+			actions = Arrays.copyOf(actions, 2 * size);
+			values = Arrays.copyOf(values, 4 * size);
+		}
+		actions[size] = action;
+		values[2 * size] = first;
+		values[2 * size + 1] = second;
+		size++;
+	}
+	
+	/**
+	 * Returns the current position in this {@link UndoJournal}. Passing it to {@link #undoTo(Board, int)} later undoes every {@link Action}
+	 * recorded after this call.
+	 */
+	public int mark() {
+		return size;
+	}
+	
+	/**
+	 * Returns the number of {@link Action Actions} that are recorded and have not been undone.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Undoes, most recent first, every {@link Action} recorded since {@link #mark()} returned {@code mark}. The {@code Actions} must have been
+	 * executed on the given {@link Board}, and the {@code Board} must not have been changed since except by {@code Actions} recorded in this journal.
+	 * @throws IllegalArgumentException if {@code mark} is negative or greater than {@link #size()}.
+	 */
+	public void undoTo(Board board, int mark) {
+		if(mark < 0 || mark > size)
+			throw new IllegalArgumentException("Invalid mark: " + mark);
+		while(size > mark) {
+			size--;
+			final Action action = actions[size];
+			actions[size] = null;
+			action.undo(board, values[2 * size], values[2 * size + 1]);
+		}
+	}
+	
+	/**
+	 * Forgets every recorded {@link Action} without undoing any of them.
+	 */
+	public void clear() {
+		Arrays.fill(actions, 0, size, null);
+		size = 0;
+	}
+}
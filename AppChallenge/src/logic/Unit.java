@@ -48,5 +48,11 @@ public interface Unit extends HasHealth {
 	 * The {@link Turn} this {@link Unit} plays on.
 	 */
 	Turn playingTurn();
-	
+
+	/**
+	 * Returns a new {@link Unit} of the same class as this one, with the same health and maximum health, that is not on any {@link Board}.
+	 * Listeners registered with this {@code Unit} or its properties are <b>not</b> copied. The copy's {@link Ability Abilities} belong to the copy.
+	 */
+	Unit copy();
+
 }
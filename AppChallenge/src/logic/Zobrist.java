@@ -0,0 +1,66 @@
+package logic;
+
+/**
+ * <p>The random keys that make up the {@link Board#getZobristKey() Zobrist key} of a {@link Board}. A {@code Board's} key is the XOR of the key
+ * of the {@link TileType} of each tile, the key of each {@link Unit} and {@link Obstacle} (which depends on its tile, its class or size, and its
+ * health), and {@link #ENEMY_TURN} if it is the {@link Turn#ENEMY enemy's} turn. Since XOR is its own inverse, the {@code Board} can keep its key up
+ * to date by XORing out the old key of whatever changed and XORing in the new one.</p>
+ *
+ * <p>Rather than storing tables of random numbers, each key is computed by mixing its inputs with the SplitMix64 finalizer, which is fast and
+ * spreads nearby inputs over the whole range of {@code long}. Keys of {@code Unit} classes are derived from the class name, so every key is the
+ * same from one run of the game to the next.</p>
+ * @author Sam Hooper
+ *
+ */
+final class Zobrist {
+	
+	private static final long TILE_SEED = 0x5DEECE66DL, OBSTACLE_SEED = 0x2545F4914F6CDD1DL;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	/** Each tile's index, times this, plus a health, identifies a (tile, health) pair for any health less than this. */
+	private static final long HEALTH_RANGE = 1 << 10;
+	
+	/** XORed into the key of a {@link Board} when it is the {@link Turn#ENEMY enemy's} turn. */
+	static final long ENEMY_TURN = mix(0x1BD11BDAA9FC1A22L);
+	
+	private static final ClassValue<Long> CLASS_KEYS = new ClassValue<>() {
+		@Override
+		protected Long computeValue(Class<?> type) {
+			return mix(type.getName().hashCode());
+		}
+	};
+	
+	private Zobrist() {
+	}
+	
+	/**
+	 * Returns the key of the tile with the given {@link Board#indexOf(int, int) packed index} having the given {@link TileType}.
+	 */
+	static long tileKey(int index, TileType type) {
+		return mix(TILE_SEED + (index * (long) TileType.values().length + type.ordinal()) * GOLDEN_GAMMA);
+	}
+	
+	/**
+	 * Returns the key of the given {@link Unit} or {@link Obstacle} being on the tile with the given {@link Board#indexOf(int, int) packed index}
+	 * with the given health.
+	 */
+	static long objectKey(int index, GameObject object, int health) {
+		long kind = CLASS_KEYS.get(object.getClass());
+		if(object instanceof Obstacle)
+			kind ^= mix(OBSTACLE_SEED + ((Obstacle) object).getSize().ordinal());
+		return mix(kind + (index * HEALTH_RANGE + health) * GOLDEN_GAMMA);
+	}
+	
+	/**
+	 * Equivalent to {@code objectKey(index, object, object.getHealth())}.
+	 */
+	static long objectKey(int index, HasHealth object) {
+		return objectKey(index, object, object.getHealth());
+	}
+	
+	/** The SplitMix64 finalizer. */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -1,5 +1,7 @@
 package logic.abilities;
 
+import java.util.*;
+
 import logic.*;
 
 /**
@@ -33,4 +35,18 @@ public abstract class AbstractAnyAbility implements AnyAbility {
 			return unitArg instanceof PlayerUnit;
 		throw new UnsupportedOperationException("Unrecognized unit subtype: " + unitArg.getClass());
 	}
+	
+	/**
+	 * Returns the spots written by {@link #getLegals(int[])} as (row, col) ordered pairs, in the same order. Subclasses that override
+	 * {@link #getLegals(int[])} may implement {@link #getLegals()} by returning the result of this method.
+	 */
+	protected Collection<int[]> legalsFromIndices() {
+		final Board board = unit.getBoard();
+		final int[] buffer = new int[board.getTileCount()];
+		final int count = getLegals(buffer);
+		final List<int[]> legals = new ArrayList<>(count);
+		for(int i = 0; i < count; i++)
+			legals.add(new int[] {board.rowOf(buffer[i]), board.colOf(buffer[i])});
+		return legals;
+	}
 }
@@ -6,6 +6,7 @@ import logic.Board;
 import logic.GameObject;
 import logic.HasHealth;
 import logic.Move;
+import logic.ShapeTemplate;
 import logic.TileType;
 import logic.Unit;
 import logic.actions.Relocate;
@@ -48,20 +49,22 @@ public class DiamondTeleport extends AbstractAnyAbility implements MoveAbility {
 	
 	@Override
 	public Collection<int[]> getLegals() {
-		ArrayList<int[]> legals = new ArrayList<>();
+		return legalsFromIndices();
+	}
+	
+	@Override
+	public int getLegals(int[] buffer) {
 		final Board board = unit.getBoard();
-		final int distance = this.distance.get();
-		final int unitRow = unit.getRow(), unitCol = unit.getCol();
-		for(int i = -distance; i <= distance; i++) {
-			int j = Math.abs(Math.abs(i) - distance);
-			for(int k = -j; k <= j; k++) {
-				final int r = unitRow + i;
-				final int c = unitCol + k;
-				if(board.inBounds(r, c) && canTraverse(board.getTileAt(r, c).getType()) && !board.hasUnit(r, c) && !board.hasObstacle(r, c))
-					legals.add(new int[] {r, c});
-			}
+		final ShapeTemplate diamond = ShapeTemplate.of(ShapeTemplate.Shape.DIAMOND, this.distance.get(), board);
+		final int[] cells = diamond.cells();
+		final int origin = board.indexOf(unit.getRow(), unit.getCol());
+		int count = 0;
+		for(int i = diamond.start(origin), end = diamond.end(origin); i < end; i++) {
+			final int index = cells[i];
+			if(!board.hasUnitAt(index) && !board.hasObstacleAt(index) && canTraverse(board.getTileAtIndex(index).getType()))
+				buffer[count++] = index;
 		}
-		return legals;
+		return count;
 	}
 	
 	public int getDistance() {
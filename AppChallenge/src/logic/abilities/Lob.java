@@ -39,28 +39,46 @@ public class Lob extends AbstractAnyAbility implements SingleProjectileAbility
 	
 	@Override
 	public Collection<int[]> getLegals() 
+	{
+		return legalsFromIndices();
+	}
+	
+	/**
+	 * {@inheritDoc} The spots are every {@link Unit} or {@link Obstacle} at least the minimum distance above, to the right of, below, and to the
+	 * left of the unit, in that order, nearest first in each direction. They are read from the {@link Board#getOccupiedMaskInRow(int) occupancy
+	 * masks} of the unit's row and column, so empty tiles are never visited.
+	 */
+	@Override
+	public int getLegals(int[] buffer)
 	{
 		Board board = unit.getBoard();
 		int uRow = unit.getRow();
 		int uCol = unit.getCol();
 		int minimumDistance = this.minimumDistance.get();
-		ArrayList<int[]> legals = new ArrayList<>();
-		BoardTile myTile = board.getTileAt(uRow, uCol);
-		if(!canAttackFrom(myTile.getType()))
-			return Collections.emptySet();
-		for(int[] mult : Board.ADJACENT_4) {
-			int rMult = mult[0], cMult = mult[1];
-			int r = uRow + minimumDistance * rMult, c = uCol + minimumDistance * cMult;
-			while(board.inBounds(r, c)) {
-				BoardTile tile = board.getTileAt(r, c);
-				if(tile.hasUnit() || tile.hasObstacle())
-					legals.add(new int[] {r, c});
-				r += rMult;
-				c += cMult;
-			}
-		}
-		return legals;
+		if(!canAttackFrom(board.getTileAt(uRow, uCol).getType()))
+			return 0;
+		int count = 0;
+		final int inCol = board.getOccupiedMaskInCol(uCol), inRow = board.getOccupiedMaskInRow(uRow);
+		//above: rows at most uRow - minimumDistance, nearest (highest) first.
+		for(int bits = inCol & below(uRow - minimumDistance + 1); bits != 0; bits &= ~Integer.highestOneBit(bits))
+			buffer[count++] = board.indexOf(31 - Integer.numberOfLeadingZeros(bits), uCol);
+		//right: cols at least uCol + minimumDistance, nearest (lowest) first.
+		for(int bits = inRow & ~below(uCol + minimumDistance); bits != 0; bits &= bits - 1)
+			buffer[count++] = board.indexOf(uRow, Integer.numberOfTrailingZeros(bits));
+		//below: rows at least uRow + minimumDistance, nearest (lowest) first.
+		for(int bits = inCol & ~below(uRow + minimumDistance); bits != 0; bits &= bits - 1)
+			buffer[count++] = board.indexOf(Integer.numberOfTrailingZeros(bits), uCol);
+		//left: cols at most uCol - minimumDistance, nearest (highest) first.
+		for(int bits = inRow & below(uCol - minimumDistance + 1); bits != 0; bits &= ~Integer.highestOneBit(bits))
+			buffer[count++] = board.indexOf(uRow, 31 - Integer.numberOfLeadingZeros(bits));
+		return count;
 	}
+	
+	/** Returns a mask of the bits below bit {@code n}, which is {@code 0} if {@code n} is not positive and all bits if {@code n} is at least 32. */
+	private static int below(int n) {
+		return n <= 0 ? 0 : n >= 32 ? -1 : (1 << n) - 1;
+	}
+	
 	@Override
 	public boolean canTarget(GameObject object) {
 		return object instanceof Unit || object instanceof Obstacle;
@@ -41,38 +41,31 @@ public class Melee extends AbstractAnyAbility implements AttackAbility, Targetin
 	
 	@Override
 	public Collection<int[]> getLegals() 
+	{
+		return legalsFromIndices();
+	}
+	
+	@Override
+	public int getLegals(int[] buffer)
 	{
 		Board b = unit.getBoard();
 		int uRow = unit.getRow();
 		int uCol = unit.getCol();
-		ArrayList<int[]> arr = new ArrayList<>();
-		BoardTile tile = b.getTileAt(uRow, uCol);
+		int count = 0;
 		
-		if(attackFrom.contains(tile.getType()))
+		if(attackFrom.contains(b.getTileAt(uRow, uCol).getType()))
 		{
-			for(int i = uRow - 1; i < uRow + 2; i++)
+			final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, 1, b);
+			final int[] cells = square.cells();
+			final int origin = b.indexOf(uRow, uCol);
+			for(int i = square.start(origin), end = square.end(origin); i < end; i++)
 			{
-				if(b.inBounds(i, uCol - 1))
-				{
-					int[] arrC1 = new int[] {i, uCol - 1};
-					arr.add(arrC1);
-				}
-				
-				if(i != uRow && b.inBounds(i, uCol))
-				{
-					int[] arrC2 = new int[] {i, uCol};
-					arr.add(arrC2);
-				}
-				
-				if(b.inBounds(i, uCol + 1))
-				{
-					int[] arrC3 = new int[] {i, uCol + 1};
-					arr.add(arrC3);
-				}
+				if(cells[i] != origin)
+					buffer[count++] = cells[i];
 			}
 		}
 		
-		return arr;
+		return count;
 	}
 	
 	@Override
@@ -38,17 +38,22 @@ public class RadiusSummon extends AbstractAnyAbility {
 
 	@Override
 	public Collection<int[]> getLegals() {
-		final int myRow = unit.getRow(), myCol = unit.getCol(), radius = this.radius.get();
+		return legalsFromIndices();
+	}
+	
+	@Override
+	public int getLegals(int[] buffer) {
 		final Board board = unit.getBoard();
-		final List<int[]> legals = new ArrayList<>();
-		for(int r = myRow - radius; r <= myRow + radius; r++) {
-			for(int c = myCol - radius; c <= myCol + radius; c++) {
-				if(r == myRow && c == myCol || !board.inBounds(r, c) || board.isOccupied(r, c))
-					continue;
-				legals.add(new int[] {r, c});
-			}
+		final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, this.radius.get(), board);
+		final int[] cells = square.cells();
+		final int origin = board.indexOf(unit.getRow(), unit.getCol());
+		int count = 0;
+		for(int i = square.start(origin), end = square.end(origin); i < end; i++) {
+			final int index = cells[i];
+			if(index != origin && !board.hasUnitAt(index) && !board.hasObstacleAt(index))
+				buffer[count++] = index;
 		}
-		return legals;
+		return count;
 	}
 
 	/**
@@ -26,6 +26,14 @@ public class SelfHeal extends SingleHeal implements TargetingAbility {
 			return Collections.emptySet();
 		return Set.of(new int[] {unit.getRow(), unit.getCol()});
 	}
+	
+	@Override
+	public int getLegals(int[] buffer) {
+		if(unit.isFullHealth())
+			return 0;
+		buffer[0] = unit.getBoard().indexOf(unit.getRow(), unit.getCol());
+		return 1;
+	}
 
 	@Override
 	public boolean canTarget(GameObject object) {
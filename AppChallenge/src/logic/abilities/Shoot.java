@@ -24,66 +24,41 @@ public class Shoot extends AbstractAnyAbility implements SingleProjectileAbility
 
 	@Override
 	public Collection<int[]> getLegals() 
+	{
+		return legalsFromIndices();
+	}
+	
+	/**
+	 * {@inheritDoc} The spots are the first {@link Unit} or {@link Obstacle} below, above, to the right of, and to the left of the unit, in that order.
+	 */
+	@Override
+	public int getLegals(int[] buffer)
 	{
 		Board b = unit.getBoard();
-		int rows = b.getRows();
-		int cols = b.getCols();
 		int uRow = unit.getRow();
 		int uCol = unit.getCol();
-		ArrayList<int[]> arr = new ArrayList<>();
-		BoardTile tile = b.getTileAt(uRow, uCol);
+		int count = 0;
 		
-		if(tile.getType() != TileType.LIQUID)
+		if(b.getTileAt(uRow, uCol).getType() != TileType.LIQUID)
 		{
-			boolean found1 = false;
-			for(int r = uRow + 1; r < rows && !found1; r++)
-			{
-				if(b.hasUnit(r, uCol) || b.hasObstacle(r, uCol))
-				{
-					int[] tempArr = {r, uCol};
-					arr.add(tempArr);
-					found1 = true;
-				}
-		
-			}
-		
-			boolean found2 = false;
-			for(int r = uRow - 1; r >= 0 && !found2; r--)
-			{
-				if(b.hasUnit(r, uCol) || b.hasObstacle(r, uCol))
-				{
-					int[] tempArr = {r, uCol};
-					arr.add(tempArr);
-					found2 = true;
-				}
-			}
-		
-			boolean found3 = false;
-			for(int c = uCol + 1; c < cols && !found3; c++)
-			{
-				if(b.hasUnit(uRow, c) ||  b.hasObstacle(uRow, c))
-				{
-					int[] tempArr = {uRow, c};
-					arr.add(tempArr);
-					found3 = true;
-				}
-		
-			}
-		
-			boolean found4 = false;
-			for(int c = uCol - 1; c >= 0 && !found4; c--)
-			{
-				if(b.hasUnit(uRow, c) || b.hasObstacle(uRow, c))
-				{
-					int[] tempArr = {uRow, c};
-					arr.add(tempArr);
-					found4 = true;
-				}
-		
-			}
+			count = firstHit(b.firstOccupiedFrom(uRow, uCol, 1, 0), buffer, count);
+			count = firstHit(b.firstOccupiedFrom(uRow, uCol, -1, 0), buffer, count);
+			count = firstHit(b.firstOccupiedFrom(uRow, uCol, 0, 1), buffer, count);
+			count = firstHit(b.firstOccupiedFrom(uRow, uCol, 0, -1), buffer, count);
 		}
 		
-		return arr;
+		return count;
+	}
+	
+	/**
+	 * Appends the given {@link Board#firstOccupiedFrom(int, int, int, int) first occupied tile} to {@code buffer}, unless it is {@code -1}.
+	 * Returns the new number of spots in {@code buffer}.
+	 */
+	private static int firstHit(int index, int[] buffer, int count)
+	{
+		if(index >= 0)
+			buffer[count++] = index;
+		return count;
 	}
 
 	/**
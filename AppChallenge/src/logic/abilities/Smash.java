@@ -55,6 +55,26 @@ public class Smash extends AbstractAnyAbility implements AttackAbility {
 			return Set.of(new int[] {myRow, myCol});
 		return Collections.emptySet();
 	}
+	
+	@Override
+	public int getLegals(int[] buffer) {
+		final int myRow = unit.getRow();
+		final int myCol = unit.getCol();
+		final Board board = unit.getBoard();
+		if(!ATTACK_FROM.contains(board.getTileAt(myRow, myCol).getType()))
+			return 0;
+		for(int[] adj : Board.ADJACENT_8) {
+			final int r = myRow + adj[0], c = myCol + adj[1];
+			if(!board.inBounds(r, c))
+				continue;
+			final int index = board.indexOf(r, c);
+			if(board.hasUnitAt(index) || board.hasObstacleAt(index)) {
+				buffer[0] = board.indexOf(myRow, myCol);
+				return 1;
+			}
+		}
+		return 0;
+	}
 
 	/**
 	 * The {@link GameObject} parameter is ignored and can be {@code null}.
@@ -22,13 +22,25 @@ public class SquareSingleHeal extends SingleHeal implements TargetingAbility{
 
 	@Override
 	public Collection<int[]> getLegals() {
-		Board board = unit.getBoard();
-		Collection<int[]> legals = new ArrayList<>();
-		board.forTilesInSquare(unit.getRow(), unit.getCol(), radius.get(), tile -> {
-			if(tile.hasHasHealth())
-				legals.add(new int[] {tile.getRow(), tile.getCol()});
-		});
-		return legals;
+		return legalsFromIndices();
+	}
+	
+	/**
+	 * {@inheritDoc} The spots are the tiles with a {@link HasHealth} in the square around the unit, not including the unit's own tile.
+	 */
+	@Override
+	public int getLegals(int[] buffer) {
+		final Board board = unit.getBoard();
+		final ShapeTemplate square = ShapeTemplate.of(ShapeTemplate.Shape.SQUARE, this.radius.get(), board);
+		final int[] cells = square.cells();
+		final int origin = board.indexOf(unit.getRow(), unit.getCol());
+		int count = 0;
+		for(int i = square.start(origin), end = square.end(origin); i < end; i++) {
+			final int index = cells[i];
+			if(index != origin && (board.hasUnitAt(index) || board.hasObstacleAt(index)))
+				buffer[count++] = index;
+		}
+		return count;
 	}
 
 	@Override
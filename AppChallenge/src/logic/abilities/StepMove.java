@@ -2,8 +2,8 @@ package logic.abilities;
 
 import java.util.*;
 
+import logic.Bitboard;
 import logic.Board;
-import logic.BoardTile;
 import logic.GameObject;
 import logic.Move;
 import logic.TileType;
@@ -30,11 +30,11 @@ public class StepMove extends AbstractAnyAbility implements MoveAbility {
 	public static final int MAX_DISTANCE = 120;
 	public static final int MIN_DISTANCE = 1;
 	
-	private static final int[][] STEPS = {{-1,0}, {0,1}, {1,0}, {0,-1}};
-	
 	private IntRef distance;
 	/** If {@code null}, the {@link TileType}s traversable by this ability are the same as the unit's. */
 	private EnumSet<TileType> traversableTileTypes;
+	/** Scratch space for {@link #getLegals(int[])}. */
+	private final Bitboard visited;
 	
 	public StepMove(Unit unit, int distance) {
 		this(unit, distance, null);
@@ -53,6 +53,7 @@ public class StepMove extends AbstractAnyAbility implements MoveAbility {
 		verifyDistance(distance);
 		this.distance = new IntRef(distance);
 		this.traversableTileTypes = traversableTileTypes;
+		this.visited = new Bitboard();
 	}
 	
 	private static void verifyDistance(int distance) {
@@ -80,37 +81,52 @@ public class StepMove extends AbstractAnyAbility implements MoveAbility {
 
 	@Override
 	public Collection<int[]> getLegals() {
+		return legalsFromIndices();
+	}
+	
+	/**
+	 * {@inheritDoc} The spots are found by a breadth-first search outward from the unit, so they are written in order of
+	 * non-decreasing number of steps away from the unit. The buffer itself is used as the search queue.
+	 */
+	@Override
+	public int getLegals(int[] buffer) {
 		final Board board = unit.getBoard();
 		final int distance = this.distance.get();
-		final int boardSize = Math.max(board.getRows(), board.getCols());
-		final int boxSize = Math.min(distance * 2 + 1, boardSize * 2 + 1);
-		final boolean[][] beenInList = new boolean[boxSize][boxSize]; //coordintes are relative the location of the unit, with the unit at the center.
-		final int unitRow = unit.getRow(), unitCol = unit.getCol();
-		//Stores length-3 arrays of (row, col, stepsRemaining). (row, col) coordinates are for locations in visited, not on the board.
-		ArrayList<int[]> tilesToVisit = new ArrayList<>(); //all tiles in this have been added to allLegals (with the exception of the starting tile).
-		ArrayList<int[]> allLegals = new ArrayList<>();
-		tilesToVisit.add(new int[] {distance, distance, distance});
-		beenInList[distance][distance] = true;
-		while(!tilesToVisit.isEmpty()) {
-			int[] tile = tilesToVisit.remove(tilesToVisit.size() - 1);
-			assert beenInList[tile[0]][tile[1]];
-			if(tile[2] == 0) //if no more steps can be taken from this spot...
-				continue;
-			for(final int[] step : STEPS) {
-				int nr = tile[0] + step[0], nc = tile[1] + step[1];
-				int boardRow = nr + unitRow - distance, boardCol = nc + unitCol - distance;
-				if(!board.inBounds(boardRow, boardCol) || beenInList[nr][nc]) continue;
-				BoardTile boardTile = board.getTileAt(boardRow, boardCol);
-				if(boardTile.hasObstacle() || boardTile.hasUnit())
-					continue;
-				if(!canTraverse(boardTile.getType()))
-					continue;
-				tilesToVisit.add(new int[] {nr, nc, tile[2] - 1});
-				beenInList[nr][nc] = true;
-				allLegals.add(new int[] {boardRow, boardCol});
-			}			
+		final int rows = board.getRows(), cols = board.getCols();
+		final int start = board.indexOf(unit.getRow(), unit.getCol());
+		visited.clear();
+		visited.set(start);
+		int count = 0;
+		int head = -1; //-1 stands for the unit's own tile, which is searched from but is not itself a legal spot.
+		for(int steps = 0; steps < distance && head < count; steps++) {
+			final int levelEnd = count;
+			for(; head < levelEnd; head++) {
+				final int index = head < 0 ? start : buffer[head];
+				final int row = index / cols, col = index - row * cols;
+				if(row > 0)
+					count = visit(board, index - cols, buffer, count);
+				if(col < cols - 1)
+					count = visit(board, index + 1, buffer, count);
+				if(row < rows - 1)
+					count = visit(board, index + cols, buffer, count);
+				if(col > 0)
+					count = visit(board, index - 1, buffer, count);
+			}
 		}
-		return allLegals;
+		return count;
+	}
+	
+	/**
+	 * Appends the given tile to {@code buffer} if it has not been visited yet and can be moved onto. Returns the new number of spots in {@code buffer}.
+	 */
+	private int visit(final Board board, final int index, final int[] buffer, final int count) {
+		if(visited.get(index))
+			return count;
+		visited.set(index);
+		if(board.hasObstacleAt(index) || board.hasUnitAt(index) || !canTraverse(board.getTileAtIndex(index).getType()))
+			return count;
+		buffer[count] = index;
+		return count + 1;
 	}
 	
 	/**
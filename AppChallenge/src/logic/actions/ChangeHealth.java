@@ -3,6 +3,7 @@ package logic.actions;
 import logic.Action;
 import logic.Board;
 import logic.HasHealth;
+import logic.UndoJournal;
 
 /**
  * An {@link Action} that changes the health of some {@link HasHealth}. It can be used as a healing ability (if the {@link #getChange() change}) is positive
@@ -46,4 +47,23 @@ public class ChangeHealth implements Action {
 		}
 	}
 	
+	/**
+	 * Records the health and location of the {@link HasHealth} before it changes.
+	 */
+	@Override
+	public void execute(Board board, UndoJournal journal) {
+		journal.record(this, gameObject.getHealth(), board.indexOf(gameObject.getRow(), gameObject.getCol()));
+		execute(board);
+	}
+	
+	/**
+	 * Puts the {@link HasHealth} back on the {@link Board} if it died, then restores its health.
+	 */
+	@Override
+	public void undo(Board board, int oldHealth, int index) {
+		if(!gameObject.hasBoard())
+			board.addOrThrow(gameObject, board.rowOf(index), board.colOf(index));
+		gameObject.healthProperty().set(oldHealth);
+	}
+	
 }
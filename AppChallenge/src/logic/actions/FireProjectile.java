@@ -7,6 +7,7 @@ import logic.Action;
 import logic.Board;
 import logic.GameObject;
 import logic.HasHealth;
+import logic.UndoJournal;
 
 /**
  * An {@link Action} that represents a {@link Unit} firing a projectile from one that does a non-negative amount of damage to another {@link GameObject}.
@@ -64,6 +65,28 @@ public class FireProjectile implements Action{
 		}
 	}
 	
+	/**
+	 * Records the health and location of the target before it is hit.
+	 */
+	@Override
+	public void execute(Board board, UndoJournal journal) {
+		final int health = target instanceof HasHealth ? ((HasHealth) target).getHealth() : 0;
+		journal.record(this, health, board.indexOf(target.getRow(), target.getCol()));
+		execute(board);
+	}
+	
+	/**
+	 * Puts the target back on the {@link Board} if it died, then restores its health.
+	 */
+	@Override
+	public void undo(Board board, int oldHealth, int index) {
+		if(!(target instanceof HasHealth))
+			return;
+		if(!target.hasBoard())
+			board.addOrThrow(target, board.rowOf(index), board.colOf(index));
+		((HasHealth) target).healthProperty().set(oldHealth);
+	}
+	
 	@Override
 	public String toString() {
 		return String.format("FireProjectile[start=(%d,%d), damage=%d, target=%s]", startRow, startCol, damage, target);
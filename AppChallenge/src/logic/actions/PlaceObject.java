@@ -3,6 +3,7 @@ package logic.actions;
 import logic.Action;
 import logic.Board;
 import logic.GameObject;
+import logic.UndoJournal;
 
 /**
  * An {@link Action} that places a {@link GameObject} on the board. Throws an excpetion when {@link #execute(Board) executing} if the object cannot be placed.
@@ -37,5 +38,19 @@ public class PlaceObject implements Action {
 	public void execute(Board board) {
 		board.addOrThrow(object, row, col);
 	}
+	
+	@Override
+	public void execute(Board board, UndoJournal journal) {
+		journal.record(this, 0, 0);
+		execute(board);
+	}
+	
+	/**
+	 * Removes the placed {@link GameObject} from the {@link Board}.
+	 */
+	@Override
+	public void undo(Board board, int unused1, int unused2) {
+		board.removeGameObject(object, row, col);
+	}
 
 }
@@ -41,13 +41,31 @@ public class Relocate implements Action {
 	 */
 	@Override
 	public void execute(Board board) {
-		BoardTile startTile = board.getTileAt(startRow, startCol);
+		move(board, startRow, startCol, destRow, destCol);
+	}
+	
+	@Override
+	public void execute(Board board, UndoJournal journal) {
+		journal.record(this, 0, 0);
+		execute(board);
+	}
+	
+	/**
+	 * Moves the {@link Unit} from the destination tile back to the start tile.
+	 */
+	@Override
+	public void undo(Board board, int unused1, int unused2) {
+		move(board, destRow, destCol, startRow, startCol);
+	}
+	
+	private static void move(Board board, int fromRow, int fromCol, int toRow, int toCol) {
+		BoardTile startTile = board.getTileAt(fromRow, fromCol);
 		Unit unit = startTile.removeUnitIfPresent();
 		if(unit == null)
 			throw new IllegalStateException("No unit on the start tile.");
-		board.getTileAt(destRow, destCol).addUnitOrThrow(unit); //throws IllegalStateException for us
-		unit.setRow(destRow);
-		unit.setCol(destCol);
+		board.getTileAt(toRow, toCol).addUnitOrThrow(unit); //throws IllegalStateException for us
+		unit.setRow(toRow);
+		unit.setCol(toCol);
 	}
 	
 	@Override
@@ -0,0 +1,126 @@
+package logic.ai;
+
+import java.util.Iterator;
+
+import logic.*;
+import logic.abilities.TargetingAbility;
+
+/**
+ * <p>Static utility methods for <i>ability uses</i>. An ability use is a use of one of a {@link Unit Unit's} {@link Ability Abilities} on a
+ * particular destination tile, packed into a single {@code int} so that search code can generate and store them without allocating. The
+ * {@code Unit} is identified by the {@link Board#indexOf(int, int) packed index} of the tile it is on, and the {@code Ability} is identified
+ * by its position in the {@code Unit's} {@link Unit#getAbilitiesUnmodifiable() Abilities}. This means the same ability use can be turned into
+ * a {@link Move} on the {@link Board} it was made for or on any {@link Board#copy() copy} of that {@code Board}.</p>
+ *
+ * <p>{@link #PASS} is the ability use that does nothing.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class AbilityUse {
+
+	/** The ability use that does nothing. Its {@link #toMove(Board, int) Move} is {@link Move#EMPTY_MOVE}. */
+	public static final int PASS = -1;
+
+	/** The number of bits needed to hold any {@link Board#indexOf(int, int) packed index}. */
+	private static final int INDEX_BITS = 32 - Integer.numberOfLeadingZeros(Bitboard.CAPACITY - 1);
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+	private static final int ABILITY_BITS = 4;
+	private static final int ABILITY_MASK = (1 << ABILITY_BITS) - 1;
+
+	private AbilityUse() {
+	}
+
+	/**
+	 * Returns the ability use of the {@link Ability} at position {@code abilityIndex} of the {@link Unit} on the tile with packed index
+	 * {@code unitIndex}, used on the tile with packed index {@code destIndex}.
+	 * @throws IllegalArgumentException if {@code abilityIndex} is negative or too large to be packed.
+	 */
+	public static int of(int unitIndex, int abilityIndex, int destIndex) {
+		if(abilityIndex < 0 || abilityIndex > ABILITY_MASK)
+			throw new IllegalArgumentException("abilityIndex must be between 0 and " + ABILITY_MASK);
+		return (unitIndex << INDEX_BITS | destIndex) << ABILITY_BITS | abilityIndex;
+	}
+
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of the tile of the {@link Unit} of the given ability use, which must not be
+	 * {@link #PASS}.
+	 */
+	public static int unitIndexOf(int use) {
+		return use >>> ABILITY_BITS + INDEX_BITS;
+	}
+
+	/**
+	 * Returns the position of the {@link Ability} of the given ability use, which must not be {@link #PASS}, in its {@link Unit Unit's}
+	 * {@link Unit#getAbilitiesUnmodifiable() Abilities}.
+	 */
+	public static int abilityIndexOf(int use) {
+		return use & ABILITY_MASK;
+	}
+
+	/**
+	 * Returns the {@link Board#indexOf(int, int) packed index} of the destination tile of the given ability use, which must not be {@link #PASS}.
+	 */
+	public static int destIndexOf(int use) {
+		return use >>> ABILITY_BITS & INDEX_MASK;
+	}
+
+	/**
+	 * Returns the {@link Ability} at the given position in the given {@link Unit Unit's} {@link Unit#getAbilitiesUnmodifiable() Abilities}.
+	 * @throws IllegalArgumentException if the {@code Unit} has no {@code Ability} at that position.
+	 */
+	public static Ability abilityAt(Unit unit, int abilityIndex) {
+		final Iterator<Ability> itr = unit.getAbilitiesUnmodifiable().iterator();
+		for(int i = 0; itr.hasNext(); i++) {
+			final Ability ability = itr.next();
+			if(i == abilityIndex)
+				return ability;
+		}
+		throw new IllegalArgumentException(unit + " has no ability at index " + abilityIndex);
+	}
+
+	/**
+	 * Returns the target that the given {@link Ability} would have if it were used on the tile with the given packed index, or {@code null} if
+	 * it would have no target. Only {@link TargetingAbility TargetingAbilities} have targets: the target is the {@link Unit} on the tile if the
+	 * {@code Ability} {@link TargetingAbility#canTarget(GameObject) can target} it, or else the {@link Obstacle} on the tile if the {@code Ability}
+	 * can target that. If a {@code TargetingAbility} can target neither, the destination is not a real use of the {@code Ability} (for example, a
+	 * {@link logic.abilities.Melee Melee} on an empty tile) and {@code null} is returned.
+	 */
+	public static GameObject targetOf(Board board, Ability ability, int destIndex) {
+		if(!(ability instanceof TargetingAbility))
+			return null;
+		final TargetingAbility ta = (TargetingAbility) ability;
+		final BoardTile tile = board.getTileAtIndex(destIndex);
+		final Unit unit = tile.getUnitOrNull();
+		if(unit != null && ta.canTarget(unit))
+			return unit;
+		final Obstacle obstacle = tile.getObstacleOrNull();
+		if(obstacle != null && ta.canTarget(obstacle))
+			return obstacle;
+		return null;
+	}
+
+	/**
+	 * Creates the {@link Move} for the given ability use on the given {@link Board}. Returns {@link Move#EMPTY_MOVE} if {@code use} is {@link #PASS}.
+	 * @throws IllegalArgumentException if there is no {@link Unit} on the tile of the ability use, or it has no {@link Ability} at the position
+	 * of the ability use.
+	 */
+	public static Move toMove(Board board, int use) {
+		if(use == PASS)
+			return Move.EMPTY_MOVE;
+		final Unit unit = board.getTileAtIndex(unitIndexOf(use)).getUnitOrNull();
+		if(unit == null)
+			throw new IllegalArgumentException("No unit on the tile of the ability use");
+		final Ability ability = abilityAt(unit, abilityIndexOf(use));
+		final int dest = destIndexOf(use);
+		return ability.createMoveForIndex(dest, targetOf(board, ability, dest));
+	}
+
+	/**
+	 * Returns a {@link String} describing the given ability use, for debugging.
+	 */
+	public static String toString(int use) {
+		if(use == PASS)
+			return "AbilityUse[PASS]";
+		return String.format("AbilityUse[unit=%d, ability=%d, dest=%d]", unitIndexOf(use), abilityIndexOf(use), destIndexOf(use));
+	}
+}
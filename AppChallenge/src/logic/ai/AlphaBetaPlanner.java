@@ -0,0 +1,298 @@
+package logic.ai;
+
+import java.util.*;
+
+import logic.*;
+import logic.abilities.*;
+
+/**
+ * <p>An {@link EnemyPlanner} that chooses each {@link EnemyUnit EnemyUnit's} {@link Move} by searching ahead instead of following a fixed list
+ * of rules. The search looks at every sequence of the acting unit's remaining moves this turn followed by the player's replies, and picks the
+ * {@code Move} that leads to the best {@link BoardEvaluation evaluation} assuming the player replies as well as possible (minimax). It uses
+ * alpha-beta pruning, orders {@code Moves} so that the most promising ones (attacks on low-health opponents) are searched first, and searches
+ * with iterative deepening until its time budget runs out, returning the best {@code Move} of the deepest search that finished.</p>
+ *
+ * <p>To keep the search narrow, the player's replies only include uses of {@link Ability Abilities} that target a {@link Unit} (attacks and
+ * heals), as well as doing nothing. Each player reply is a single {@code Move} by any {@link PlayerUnit}. The search works on a
+ * {@link Board#copy() copy} of the {@code Board}, so the real {@code Board} is never modified, and tries each {@code Move} by
+ * {@link Board#makeMove(Move, UndoJournal) making} it and then {@link Board#unmakeMove(UndoJournal, int) unmaking} it. Positions it has
+ * already searched, possibly through a different order of {@code Moves}, are looked up in a {@link TranspositionTable}, which may be shared with
+ * other {@code AlphaBetaPlanners}.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads. Each {@link Board} that uses an {@code AlphaBetaPlanner} should have its own.</p>
+ * @author Sam Hooper
+ *
+ */
+public class AlphaBetaPlanner implements EnemyPlanner {
+
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+	public static final int DEFAULT_PLAYER_REPLIES = 1;
+
+	private static final int INFINITY = TranspositionTable.MAX_VALUE;
+	/** Ordering keys: higher keys are searched first. */
+	private static final int ATTACK_KEY = 1000, HEAL_KEY = 500, PLAIN_KEY = 0, PASS_KEY = -100, OBSTACLE_KEY = -500, FRIENDLY_FIRE_KEY = -1000;
+
+	private final long timeBudgetNanos;
+	private final int playerReplies;
+	/** The ability uses and their ordering keys generated at each ply, indexed by ply. */
+	private int[][] usesByPly, keysByPly;
+	private final int[] legals;
+	private final UndoJournal journal;
+	private final TranspositionTable table;
+	private int enemyPlies;
+	private long deadline;
+	private boolean outOfTime;
+
+	/**
+	 * Creates a new {@link AlphaBetaPlanner} with a time budget of {@link #DEFAULT_TIME_BUDGET_MILLIS} per {@link Move} that looks ahead
+	 * {@link #DEFAULT_PLAYER_REPLIES} player replies and has its own {@link TranspositionTable}.
+	 */
+	public AlphaBetaPlanner() {
+		this(DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_PLAYER_REPLIES);
+	}
+
+	/**
+	 * Creates a new {@link AlphaBetaPlanner} with its own {@link TranspositionTable}. Equivalent to
+	 * {@code new AlphaBetaPlanner(timeBudgetMillis, playerReplies, new TranspositionTable())}.
+	 */
+	public AlphaBetaPlanner(long timeBudgetMillis, int playerReplies) {
+		this(timeBudgetMillis, playerReplies, new TranspositionTable());
+	}
+
+	/**
+	 * Creates a new {@link AlphaBetaPlanner} that spends about {@code timeBudgetMillis} milliseconds choosing each {@link Move}, looks ahead
+	 * at most {@code playerReplies} player {@code Moves} after the acting {@link EnemyUnit EnemyUnit's} own, and uses the given
+	 * {@link TranspositionTable}, which may be shared.
+	 * @throws IllegalArgumentException if {@code timeBudgetMillis} is not positive or {@code playerReplies} is negative.
+	 * @throws NullPointerException if {@code table} is {@code null}.
+	 */
+	public AlphaBetaPlanner(long timeBudgetMillis, int playerReplies, TranspositionTable table) {
+		if(timeBudgetMillis <= 0)
+			throw new IllegalArgumentException("timeBudgetMillis must be positive");
+		if(playerReplies < 0)
+			throw new IllegalArgumentException("playerReplies must not be negative");
+		this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+		this.playerReplies = playerReplies;
+		this.usesByPly = new int[0][];
+		this.keysByPly = new int[0][];
+		this.legals = new int[Bitboard.CAPACITY];
+		this.journal = new UndoJournal();
+		this.table = Objects.requireNonNull(table);
+	}
+
+	public long getTimeBudgetMillis() {
+		return timeBudgetNanos / 1_000_000;
+	}
+
+	public int getPlayerReplies() {
+		return playerReplies;
+	}
+
+	public TranspositionTable getTranspositionTable() {
+		return table;
+	}
+
+	@Override
+	public Move chooseMove(Board board, EnemyUnit unit, int movesRemaining) {
+		deadline = System.nanoTime() + timeBudgetNanos;
+		outOfTime = false;
+		enemyPlies = movesRemaining;
+		final Board root = board.copy();
+		final Unit actor = root.getUnitAtOrNull(unit.getRow(), unit.getCol());
+		final int maxDepth = movesRemaining + playerReplies;
+		final int count = generate(root, actor, 0);
+		final int[] uses = usesByPly[0];
+		int best = uses[0];
+		for(int depth = 1; depth <= maxDepth && count > 1; depth++) {
+			int bestThisDepth = AbilityUse.PASS, bestIndex = -1, alpha = -INFINITY;
+			for(int i = 0; i < count; i++) {
+				final int value = searchChild(root, actor, uses[i], 1, depth - 1, alpha, INFINITY);
+				if(outOfTime)
+					break;
+				if(bestIndex < 0 || value > alpha) {
+					alpha = value;
+					bestThisDepth = uses[i];
+					bestIndex = i;
+				}
+			}
+			if(bestIndex >= 0 && (!outOfTime || depth == 1))
+				best = bestThisDepth;
+			if(outOfTime)
+				break;
+			//search the best use first at the next depth.
+			moveToFront(uses, count, bestThisDepth);
+		}
+		return AbilityUse.toMove(board, best);
+	}
+
+	/**
+	 * Returns the value of the given {@link Board} after the given ability use is made on it. The ability use is unmade before returning.
+	 * {@code actor} is the acting {@link EnemyUnit}.
+	 */
+	private int searchChild(Board board, Unit actor, int use, int ply, int depth, int alpha, int beta) {
+		final int mark = board.makeMove(AbilityUse.toMove(board, use), journal);
+		final int value = search(board, actor, ply, depth, alpha, beta);
+		board.unmakeMove(journal, mark);
+		return value;
+	}
+
+	/**
+	 * Returns the minimax value of the given {@link Board}, searching {@code depth} more plies, where the first {@link #enemyPlies} plies belong to
+	 * {@code actor} and the rest belong to the player. Plies of an {@code actor} that is no longer on the {@code Board} are skipped, but still
+	 * count towards {@code depth}, so that the player's replies are searched to the same horizon whichever ply the {@code actor} died in.
+	 */
+	private int search(Board board, Unit actor, int ply, int depth, int alpha, int beta) {
+		if(depth == 0 || board.getPlayerUnitCount() == 0 || board.getEnemyUnitCount() == 0)
+			return BoardEvaluation.evaluate(board);
+		if(System.nanoTime() - deadline > 0) {
+			outOfTime = true;
+			return 0;
+		}
+		final boolean maximizing = ply < enemyPlies;
+		if(maximizing && actor.getBoard() != board) //the acting unit died, so it has no more moves.
+			return search(board, actor, enemyPlies, Math.max(0, depth - (enemyPlies - ply)), alpha, beta);
+		final long key = nodeKey(board, actor, ply);
+		final long entry = table.probe(key);
+		if(entry != TranspositionTable.MISS && TranspositionTable.depthOf(entry) >= depth) {
+			final int value = TranspositionTable.valueOf(entry);
+			switch(TranspositionTable.boundOf(entry)) {
+				case EXACT: return value;
+				case LOWER: if(value >= beta) return value; break;
+				case UPPER: if(value <= alpha) return value; break;
+			}
+		}
+		final int count = generate(board, maximizing ? actor : null, ply);
+		final int[] uses = usesByPly[ply];
+		if(entry != TranspositionTable.MISS)
+			moveToFront(uses, count, TranspositionTable.abilityUseOf(entry));
+		final int alphaOrig = alpha, betaOrig = beta;
+		int best = maximizing ? -INFINITY : INFINITY, bestUse = AbilityUse.PASS;
+		for(int i = 0; i < count; i++) {
+			final int value = searchChild(board, actor, uses[i], ply + 1, depth - 1, alpha, beta);
+			if(outOfTime)
+				return 0;
+			if(maximizing ? value > best : value < best) {
+				best = value;
+				bestUse = uses[i];
+			}
+			if(maximizing)
+				alpha = Math.max(alpha, value);
+			else
+				beta = Math.min(beta, value);
+			if(alpha >= beta)
+				break;
+		}
+		final TranspositionTable.Bound bound = best <= alphaOrig ? TranspositionTable.Bound.UPPER :
+				best >= betaOrig ? TranspositionTable.Bound.LOWER : TranspositionTable.Bound.EXACT;
+		table.store(key, depth, best, bound, bestUse);
+		return best;
+	}
+
+	/**
+	 * Returns the key of the given search node in the {@link TranspositionTable}. Besides the position, the rest of the search from a node depends
+	 * on how many moves the acting unit has left and, if it has any left, where it is.
+	 */
+	private long nodeKey(Board board, Unit actor, int ply) {
+		final int enemyPliesLeft = Math.max(enemyPlies - ply, 0);
+		if(enemyPliesLeft == 0)
+			return board.getZobristKey();
+		final long actorIndex = board.indexOf(actor.getRow(), actor.getCol());
+		return board.getZobristKey() ^ ((actorIndex << 8 | enemyPliesLeft) + 1) * 0x9E3779B97F4A7C15L;
+	}
+
+	/** Moves the given ability use, if it is among the first {@code count} of {@code uses}, to the front, keeping the others in order. */
+	private static void moveToFront(int[] uses, int count, int use) {
+		for(int i = 0; i < count; i++) {
+			if(uses[i] == use) {
+				System.arraycopy(uses, 0, uses, 1, i);
+				uses[0] = use;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Generates the ability uses for the given ply into {@code usesByPly[ply]}, sorted so the most promising come first, and returns how many there
+	 * are. If {@code actor} is not {@code null}, generates every use of its {@link Ability Abilities}. Otherwise, generates the player's replies.
+	 * Either way, {@link AbilityUse#PASS} is included.
+	 */
+	private int generate(Board board, Unit actor, int ply) {
+		int count = 0;
+		if(actor != null) {
+			count = generateFor(board, actor, ply, count, false);
+		}
+		else {
+			final Bitboard players = board.getPlayerUnitMask();
+			for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1))
+				count = generateFor(board, board.getTileAtIndex(i).getUnitOrNull(), ply, count, true);
+		}
+		ensureCapacity(ply, count + 1);
+		usesByPly[ply][count] = AbilityUse.PASS;
+		keysByPly[ply][count] = PASS_KEY;
+		count++;
+		sort(usesByPly[ply], keysByPly[ply], count);
+		return count;
+	}
+
+	/**
+	 * Appends the ability uses of the given {@link Unit} to those of the given ply, starting at {@code count}, and returns the new count. If
+	 * {@code targetingUnitsOnly} is {@code true}, only uses that target a {@code Unit} are appended.
+	 */
+	private int generateFor(Board board, Unit unit, int ply, int count, boolean targetingUnitsOnly) {
+		final int unitIndex = board.indexOf(unit.getRow(), unit.getCol());
+		int abilityIndex = 0;
+		for(Ability ability : unit.getAbilitiesUnmodifiable()) {
+			final int legalCount = ability.getLegals(legals);
+			ensureCapacity(ply, count + legalCount);
+			final int[] uses = usesByPly[ply], keys = keysByPly[ply];
+			for(int i = 0; i < legalCount; i++) {
+				final GameObject target = AbilityUse.targetOf(board, ability, legals[i]);
+				if(target == null && ability instanceof TargetingAbility || targetingUnitsOnly && !(target instanceof Unit))
+					continue;
+				uses[count] = AbilityUse.of(unitIndex, abilityIndex, legals[i]);
+				keys[count] = orderingKey(unit, ability, target);
+				count++;
+			}
+			abilityIndex++;
+		}
+		return count;
+	}
+
+	private static int orderingKey(Unit user, Ability ability, GameObject target) {
+		if(target == null)
+			return PLAIN_KEY;
+		if(!(target instanceof Unit))
+			return OBSTACLE_KEY;
+		final Unit unit = (Unit) target;
+		final boolean opponent = unit.playingTurn() != user.playingTurn();
+		if(ability instanceof AttackAbility)
+			return opponent ? ATTACK_KEY - unit.getHealth() : FRIENDLY_FIRE_KEY;
+		return opponent ? FRIENDLY_FIRE_KEY : HEAL_KEY + unit.getMaxHealth() - unit.getHealth();
+	}
+
+	/** Sorts the first {@code count} elements of {@code uses} by descending {@code keys}, keeping equal keys in order. */
+	private static void sort(int[] uses, int[] keys, int count) {
+		for(int i = 1; i < count; i++) {
+			final int use = uses[i], key = keys[i];
+			int j = i - 1;
+			for(; j >= 0 && keys[j] < key; j--) {
+				uses[j + 1] = uses[j];
+				keys[j + 1] = keys[j];
+			}
+			uses[j + 1] = use;
+			keys[j + 1] = key;
+		}
+	}
+
+	private void ensureCapacity(int ply, int capacity) {
+		if(ply >= usesByPly.length) {
+			usesByPly = Arrays.copyOf(usesByPly, ply + 1);
+			keysByPly = Arrays.copyOf(keysByPly, ply + 1);
+		}
+		if(usesByPly[ply] == null || usesByPly[ply].length < capacity) {
+			final int length = Math.max(capacity, Bitboard.CAPACITY);
+			usesByPly[ply] = usesByPly[ply] == null ? new int[length] : Arrays.copyOf(usesByPly[ply], Math.max(length, 2 * usesByPly[ply].length));
+			keysByPly[ply] = keysByPly[ply] == null ? new int[length] : Arrays.copyOf(keysByPly[ply], usesByPly[ply].length);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package logic.ai;
+
+import logic.*;
+
+/**
+ * <p>The static evaluation of a {@link Board} used by the search-based {@link EnemyPlanner EnemyPlanners}. Values are from the enemy's point of view:
+ * higher is better for the enemy.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class BoardEvaluation {
+
+	/** The value of a {@link Board} where every {@link PlayerUnit} is dead. The value of a {@code Board} where every {@link EnemyUnit} is dead is the negative of this. */
+	public static final int WIN_VALUE = 1_000_000;
+	private static final int UNIT_VALUE = 40, HEALTH_VALUE = 10, EXPOSURE_VALUE = 1, MAX_DISTANCE_PENALTY = 10;
+
+	private BoardEvaluation() {
+	}
+
+	/**
+	 * Returns the value of the given {@link Board} for the enemy. The value is {@link #WIN_VALUE} if there are no {@link PlayerUnit PlayerUnits}
+	 * and {@code -WIN_VALUE} if there are no {@link EnemyUnit EnemyUnits}. Otherwise, each side scores for every living {@link Unit} and every point
+	 * of health it has, and each {@code EnemyUnit} loses a little for being far (by Manhattan distance) from the nearest {@code PlayerUnit} and for
+	 * sharing its row and column with {@code PlayerUnits}.
+	 */
+	public static int evaluate(Board board) {
+		final Bitboard players = board.getPlayerUnitMask(), enemies = board.getEnemyUnitMask();
+		if(players.isEmpty())
+			return WIN_VALUE;
+		if(enemies.isEmpty())
+			return -WIN_VALUE;
+		int score = 0;
+		for(int i = enemies.nextSetBit(0); i >= 0; i = enemies.nextSetBit(i + 1)) {
+			final int row = board.rowOf(i), col = board.colOf(i);
+			score += UNIT_VALUE + HEALTH_VALUE * board.getTileAtIndex(i).getUnitOrNull().getHealth();
+			int nearest = MAX_DISTANCE_PENALTY;
+			for(int j = players.nextSetBit(0); j >= 0; j = players.nextSetBit(j + 1))
+				nearest = Math.min(nearest, Math.abs(board.rowOf(j) - row) + Math.abs(board.colOf(j) - col));
+			score -= nearest;
+			score -= EXPOSURE_VALUE * (board.getPlayerUnitCountInRow(row) + board.getPlayerUnitCountInCol(col));
+		}
+		for(int i = players.nextSetBit(0); i >= 0; i = players.nextSetBit(i + 1))
+			score -= UNIT_VALUE + HEALTH_VALUE * board.getTileAtIndex(i).getUnitOrNull().getHealth();
+		return score;
+	}
+}
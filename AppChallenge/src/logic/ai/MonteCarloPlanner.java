@@ -0,0 +1,414 @@
+package logic.ai;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import logic.*;
+import logic.abilities.TargetingAbility;
+
+/**
+ * <p>An {@link EnemyPlanner} that plans for the whole enemy team at once using Monte Carlo tree search (MCTS). Whenever it is asked for a
+ * {@link Move}, it searches over the joint {@code Moves} of every {@link EnemyUnit} that has yet to play this turn: each level of the search tree
+ * is the next enemy {@code Move} in {@link Board#getEnemyTurnOrder() turn order}, so a path from the root is a plan for the rest of the turn.
+ * Paths are chosen with UCT (upper confidence bounds applied to trees), which balances trying the plans that have done well so far against
+ * trying plans that have not been tried much.</p>
+ *
+ * <p>Each path is scored by a <i>rollout</i>: the rest of the enemy turn is played by letting each {@code EnemyUnit}
+ * {@link EnemyUnit#chooseMove(Board, int) choose its own Move} (or, with probability {@link #setRolloutRandomness(double) rolloutRandomness}, a
+ * random legal one), then {@link #setRolloutPlayerTurns(int) a number of} player turns are played by a {@link ScriptedPlayerPolicy}, each
+ * followed by another greedy enemy turn, and the resulting {@link Board} is {@link BoardEvaluation#evaluate(Board) evaluated}. Only the first
+ * {@code Move} of the best plan is returned; the next time this planner is asked, it plans again from the {@code Board} as it is then, so the
+ * plan adapts to whatever actually happened.</p>
+ *
+ * <p>The search is parallelized by root parallelization: each of {@link #setWorkers(int) several workers} builds its own tree on its own
+ * {@link Board#copy() copy} of the {@code Board} in the {@link ForkJoinPool} given to {@link #setPool(ForkJoinPool)}, and the visit counts of the
+ * first {@code Moves} are added together at the end. The search stops when its {@link #setTimeBudgetMillis(long) time budget} runs out or when
+ * {@link #setMaxIterations(int) enough rollouts} have been played, whichever happens first. The real {@code Board} is never modified, and nothing
+ * here depends on the graphics, so this planner can be used headless (for example, by a {@link MatchSimulator}).</p>
+ *
+ * <p>The setters of this class return {@code this} so that they may be chained. This class is not safe for use by multiple concurrent threads
+ * (although each search uses several threads internally). Each {@link Board} that uses a {@code MonteCarloPlanner} should have its own.</p>
+ * @author Sam Hooper
+ *
+ */
+public class MonteCarloPlanner implements EnemyPlanner {
+
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+	/** The default maximum number of rollouts per {@link Move}. {@code 0} means there is no maximum. */
+	public static final int DEFAULT_MAX_ITERATIONS = 0;
+	/** The default UCT exploration constant. Rewards are between {@code 0} and {@code 1}. */
+	public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+	public static final double DEFAULT_ROLLOUT_RANDOMNESS = 0.1;
+	public static final int DEFAULT_ROLLOUT_PLAYER_TURNS = 1;
+
+	/** {@link BoardEvaluation#evaluate(Board) Evaluations} are divided by this before being squashed into rewards between {@code 0} and {@code 1}. */
+	private static final double REWARD_SCALE = 100;
+	private static final int[] PASS_ONLY = {AbilityUse.PASS};
+
+	private long timeBudgetMillis;
+	private int maxIterations;
+	private double exploration, rolloutRandomness;
+	private int rolloutPlayerTurns;
+	private ForkJoinPool pool;
+	private int workers;
+	private final SplittableRandom random;
+	private final PlayerPolicy playerPolicy;
+
+	/**
+	 * Creates a new {@link MonteCarloPlanner} with the default settings. Its random choices are seeded randomly.
+	 */
+	public MonteCarloPlanner() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Creates a new {@link MonteCarloPlanner} with the default settings. Its random choices are seeded with the given seed.
+	 */
+	public MonteCarloPlanner(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	private MonteCarloPlanner(SplittableRandom random) {
+		this.random = random;
+		this.playerPolicy = new ScriptedPlayerPolicy();
+		this.timeBudgetMillis = DEFAULT_TIME_BUDGET_MILLIS;
+		this.maxIterations = DEFAULT_MAX_ITERATIONS;
+		this.exploration = DEFAULT_EXPLORATION;
+		this.rolloutRandomness = DEFAULT_ROLLOUT_RANDOMNESS;
+		this.rolloutPlayerTurns = DEFAULT_ROLLOUT_PLAYER_TURNS;
+		this.pool = ForkJoinPool.commonPool();
+		this.workers = pool.getParallelism();
+	}
+
+	/**
+	 * Sets the number of milliseconds to spend choosing each {@link Move}. {@code 0} means there is no time limit, in which case there must be a
+	 * {@link #setMaxIterations(int) maximum number of iterations}.
+	 * @throws IllegalArgumentException if {@code timeBudgetMillis} is negative.
+	 */
+	public MonteCarloPlanner setTimeBudgetMillis(long timeBudgetMillis) {
+		if(timeBudgetMillis < 0)
+			throw new IllegalArgumentException("timeBudgetMillis must not be negative");
+		this.timeBudgetMillis = timeBudgetMillis;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of rollouts, across all workers, to play when choosing each {@link Move}. {@code 0} means there is no maximum, in
+	 * which case there must be a {@link #setTimeBudgetMillis(long) time budget}.
+	 * @throws IllegalArgumentException if {@code maxIterations} is negative.
+	 */
+	public MonteCarloPlanner setMaxIterations(int maxIterations) {
+		if(maxIterations < 0)
+			throw new IllegalArgumentException("maxIterations must not be negative");
+		this.maxIterations = maxIterations;
+		return this;
+	}
+
+	/**
+	 * Sets the UCT exploration constant. Larger values try less promising plans more often.
+	 * @throws IllegalArgumentException if {@code exploration} is negative or not finite.
+	 */
+	public MonteCarloPlanner setExploration(double exploration) {
+		if(!(exploration >= 0) || Double.isInfinite(exploration))
+			throw new IllegalArgumentException("exploration must be non-negative and finite");
+		this.exploration = exploration;
+		return this;
+	}
+
+	/**
+	 * Sets the probability that an {@link EnemyUnit} makes a random legal {@link Move} instead of its {@link EnemyUnit#chooseMove(Board, int) own
+	 * choice} during rollouts. {@code 0} gives purely greedy rollouts and {@code 1} gives purely random ones.
+	 * @throws IllegalArgumentException if {@code rolloutRandomness} is not between {@code 0} and {@code 1} (inclusive).
+	 */
+	public MonteCarloPlanner setRolloutRandomness(double rolloutRandomness) {
+		if(!(rolloutRandomness >= 0 && rolloutRandomness <= 1))
+			throw new IllegalArgumentException("rolloutRandomness must be between 0 and 1");
+		this.rolloutRandomness = rolloutRandomness;
+		return this;
+	}
+
+	/**
+	 * Sets the number of player turns (each followed by an enemy turn) that each rollout plays after the current enemy turn before the
+	 * {@link Board} is evaluated. {@code 0} evaluates the {@code Board} at the end of the current enemy turn.
+	 * @throws IllegalArgumentException if {@code rolloutPlayerTurns} is negative.
+	 */
+	public MonteCarloPlanner setRolloutPlayerTurns(int rolloutPlayerTurns) {
+		if(rolloutPlayerTurns < 0)
+			throw new IllegalArgumentException("rolloutPlayerTurns must not be negative");
+		this.rolloutPlayerTurns = rolloutPlayerTurns;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link ForkJoinPool} that the workers run in. The default is the {@link ForkJoinPool#commonPool() common pool}. This does not
+	 * change the {@link #setWorkers(int) number of workers}.
+	 * @throws NullPointerException if {@code pool} is {@code null}.
+	 */
+	public MonteCarloPlanner setPool(ForkJoinPool pool) {
+		this.pool = Objects.requireNonNull(pool);
+		return this;
+	}
+
+	/**
+	 * Sets the number of workers, each of which builds its own search tree. The default is the {@link ForkJoinPool#getParallelism() parallelism}
+	 * of the common pool.
+	 * @throws IllegalArgumentException if {@code workers} is not positive.
+	 */
+	public MonteCarloPlanner setWorkers(int workers) {
+		if(workers <= 0)
+			throw new IllegalArgumentException("workers must be positive");
+		this.workers = workers;
+		return this;
+	}
+
+	/**
+	 * @throws IllegalStateException if there is neither a {@link #setTimeBudgetMillis(long) time budget} nor a
+	 * {@link #setMaxIterations(int) maximum number of iterations}.
+	 */
+	@Override
+	public Move chooseMove(Board board, EnemyUnit unit, int movesRemaining) {
+		if(timeBudgetMillis == 0 && maxIterations == 0)
+			throw new IllegalStateException("There must be a time budget or a maximum number of iterations");
+		final long deadline = timeBudgetMillis == 0 ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+		final int iterationsPerWorker = maxIterations == 0 ? Integer.MAX_VALUE : Math.max(1, (maxIterations + workers - 1) / workers);
+		final int actorIndex = board.indexOf(unit.getRow(), unit.getCol());
+		final List<ForkJoinTask<Node>> tasks = new ArrayList<>(workers);
+		for(int i = 0; i < workers; i++) {
+			/* Copies are made here, on the calling thread, so that the workers never read the real Board. */
+			final Search search = new Search(board.copy(), actorIndex, movesRemaining, random.split());
+			tasks.add(pool.submit(() -> search.run(iterationsPerWorker, deadline)));
+		}
+		final Map<Integer, Node> merged = new HashMap<>();
+		for(ForkJoinTask<Node> task : tasks) {
+			final Node root = task.join();
+			for(int i = 0; i < root.childCount; i++) {
+				final Node child = root.children[i];
+				merged.computeIfAbsent(child.use, use -> new Node(use, null)).add(child.visits, child.reward);
+			}
+		}
+		Node best = null;
+		for(Node node : merged.values())
+			if(best == null || node.visits > best.visits || node.visits == best.visits && node.mean() > best.mean())
+				best = node;
+		if(best == null) //the time budget ran out before any rollout finished.
+			return unit.chooseMove(board, movesRemaining);
+		return AbilityUse.toMove(board, best.use);
+	}
+
+	/**
+	 * Returns the reward, between {@code 0} and {@code 1}, for the given {@link BoardEvaluation#evaluate(Board) evaluation}.
+	 */
+	private static double rewardOf(int value) {
+		return 1 / (1 + Math.exp(-value / REWARD_SCALE));
+	}
+
+	/**
+	 * A node of a search tree. The root stands for the {@link Board} being planned for, and every other node stands for the {@code Board} after
+	 * its ability use (and those of its ancestors) has been made.
+	 */
+	private static final class Node {
+		final int use;
+		final Node parent;
+		/** The ability uses that do not have a child yet, in the first {@code untriedCount} elements. {@code null} until this node is first reached. */
+		int[] untried;
+		int untriedCount;
+		Node[] children;
+		int childCount;
+		int visits;
+		double reward;
+
+		Node(int use, Node parent) {
+			this.use = use;
+			this.parent = parent;
+		}
+
+		void add(int visits, double reward) {
+			this.visits += visits;
+			this.reward += reward;
+		}
+
+		double mean() {
+			return visits == 0 ? 0 : reward / visits;
+		}
+
+		Node addChild(int use) {
+			final Node child = new Node(use, this);
+			if(children == null)
+				children = new Node[Math.max(4, untriedCount + 1)];
+			else if(childCount == children.length)
+				children = Arrays.copyOf(children, 2 * childCount);
+			children[childCount++] = child;
+			return child;
+		}
+	}
+
+	/**
+	 * One worker's search, on its own {@link Board}.
+	 */
+	private final class Search {
+		private final Board board;
+		private final UndoJournal journal;
+		private final SplittableRandom random;
+		private final int[] legals;
+		/** The {@link Unit} that makes each enemy {@link Move} of the plan, and the moves it has remaining when it does. */
+		private final Unit[] deciders;
+		private final int[] decidersMovesRemaining;
+
+		Search(Board board, int actorIndex, int movesRemaining, SplittableRandom random) {
+			this.board = board;
+			this.journal = new UndoJournal();
+			this.random = random;
+			this.legals = new int[Bitboard.CAPACITY];
+			final Unit actor = board.getTileAtIndex(actorIndex).getUnitOrNull();
+			final List<Unit> units = new ArrayList<>();
+			final List<Integer> moves = new ArrayList<>();
+			units.add(actor);
+			moves.add(movesRemaining);
+			if(board.getTurn() == Turn.ENEMY) {
+				final List<EnemyUnit> order = board.getEnemyTurnOrder();
+				final int perEnemy = board.getMovesPerEnemy(), total = order.size() * perEnemy;
+				for(int left = board.getEnemyMovesRemaining(); left > 0; left--) {
+					units.add(order.get((total - left) / perEnemy));
+					moves.add(left % perEnemy == 0 ? perEnemy : left % perEnemy);
+				}
+			}
+			else {
+				for(int left = movesRemaining - 1; left > 0; left--) {
+					units.add(actor);
+					moves.add(left);
+				}
+			}
+			this.deciders = units.toArray(new Unit[0]);
+			this.decidersMovesRemaining = moves.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		Node run(int iterations, long deadline) {
+			final Node root = new Node(AbilityUse.PASS, null);
+			root.untried = usesOf(deciders[0]);
+			root.untriedCount = root.untried.length;
+			for(int i = 0; i < iterations && System.nanoTime() - deadline < 0; i++) {
+				Node node = root;
+				int decision = 0;
+				/* Selection */
+				while(node.untriedCount == 0 && node.childCount > 0) {
+					node = selectChild(node);
+					make(node.use);
+					decision++;
+				}
+				/* Expansion */
+				if(decision < deciders.length) {
+					if(node.untried == null) {
+						node.untried = usesOf(deciders[decision]);
+						node.untriedCount = node.untried.length;
+					}
+					final int pick = random.nextInt(node.untriedCount);
+					final int use = node.untried[pick];
+					node.untried[pick] = node.untried[--node.untriedCount];
+					node = node.addChild(use);
+					make(use);
+					decision++;
+				}
+				/* Simulation */
+				final double reward = rollout(decision);
+				/* Backpropagation */
+				for(Node n = node; n != null; n = n.parent)
+					n.add(1, reward);
+				board.unmakeMove(journal, 0);
+			}
+			return root;
+		}
+
+		private Node selectChild(Node node) {
+			final double logVisits = Math.log(node.visits);
+			Node best = null;
+			double bestScore = Double.NEGATIVE_INFINITY;
+			for(int i = 0; i < node.childCount; i++) {
+				final Node child = node.children[i];
+				final double score = child.mean() + exploration * Math.sqrt(logVisits / child.visits);
+				if(score > bestScore) {
+					bestScore = score;
+					best = child;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Plays the enemy {@link Move Moves} from the given decision to the end of the turn, then {@link #rolloutPlayerTurns} more turns, and
+		 * returns the reward. The {@code Moves} are recorded in {@link #journal}.
+		 */
+		private double rollout(int decision) {
+			for(; decision < deciders.length && !isOver(); decision++)
+				playEnemyMove(deciders[decision], decidersMovesRemaining[decision]);
+			for(int turn = 0; turn < rolloutPlayerTurns && !isOver(); turn++) {
+				final int perPlayer = board.getMovesPerPlayer();
+				for(PlayerUnit unit : board.getCurrentPlayerUnits())
+					for(int move = 0; move < perPlayer && unit.getBoard() == board && !isOver(); move++)
+						if(!make(playerPolicy.chooseMove(board, unit)))
+							break;
+				final int perEnemy = board.getMovesPerEnemy();
+				for(EnemyUnit unit : board.getCurrentEnemyUnits())
+					for(int left = perEnemy; left > 0 && !isOver(); left--)
+						playEnemyMove(unit, left);
+			}
+			return rewardOf(BoardEvaluation.evaluate(board));
+		}
+
+		private void playEnemyMove(Unit unit, int movesRemaining) {
+			if(!isOnBoard(unit))
+				return;
+			if(random.nextDouble() < rolloutRandomness) {
+				final int[] uses = usesOf(unit);
+				make(uses[random.nextInt(uses.length)]);
+			}
+			else {
+				make(((EnemyUnit) unit).chooseMove(board, movesRemaining));
+			}
+		}
+
+		private boolean isOver() {
+			return board.getPlayerUnitCount() == 0 || board.getEnemyUnitCount() == 0;
+		}
+
+		private boolean isOnBoard(Unit unit) {
+			return unit.isAlive() && unit.getBoard() == board;
+		}
+
+		private void make(int use) {
+			make(AbilityUse.toMove(board, use));
+		}
+
+		/** Makes the given {@link Move} and returns {@code true} if it was not {@link Move#isEmpty() empty}. */
+		private boolean make(Move move) {
+			if(move.isEmpty())
+				return false;
+			board.makeMove(move, journal);
+			return true;
+		}
+
+		/**
+		 * Returns the ability uses of the given {@link Unit}, including {@link AbilityUse#PASS}. If the {@code Unit} is not on the {@link Board},
+		 * the only ability use is {@code PASS}.
+		 */
+		private int[] usesOf(Unit unit) {
+			if(!isOnBoard(unit))
+				return PASS_ONLY;
+			final int unitIndex = board.indexOf(unit.getRow(), unit.getCol());
+			int[] uses = new int[16];
+			int count = 0, abilityIndex = 0;
+			for(Ability ability : unit.getAbilitiesUnmodifiable()) {
+				final int legalCount = ability.getLegals(legals);
+				for(int i = 0; i < legalCount; i++) {
+					if(ability instanceof TargetingAbility && AbilityUse.targetOf(board, ability, legals[i]) == null)
+						continue;
+					if(count + 1 >= uses.length)
+						uses = Arrays.copyOf(uses, 2 * uses.length);
+					uses[count++] = AbilityUse.of(unitIndex, abilityIndex, legals[i]);
+				}
+				abilityIndex++;
+			}
+			uses[count++] = AbilityUse.PASS;
+			return Arrays.copyOf(uses, count);
+		}
+	}
+}
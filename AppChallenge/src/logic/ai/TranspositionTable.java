@@ -0,0 +1,139 @@
+package logic.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import logic.Board;
+
+/**
+ * <p>A fixed-size hash table of search results, keyed by {@link Board#getZobristKey() Zobrist keys}, that lets a search skip positions it
+ * (or another search sharing the table) has already explored. Each entry holds a value, the depth it was searched to, whether the value is exact
+ * or only a bound, and the best {@link AbilityUse ability use} found. Entries are packed into a single {@code long}, so {@link #probe(long)} does not
+ * allocate; the {@code static} methods of this class unpack them.</p>
+ *
+ * <p>The table is lock-free and may be shared by any number of threads. Each slot stores the entry and the entry XORed with its key, using
+ * atomic reads and writes of each {@code long}. A reader only accepts a slot whose two halves agree with the key it is looking for, so a slot
+ * that was being written by another thread at the same time is treated as a miss rather than returning a mixture of two entries. When two keys
+ * map to the same slot, the newer entry replaces the older one unless the older one is for the same key and was searched deeper.</p>
+ *
+ * <p>Searches whose results depend on more than the position (for example, on which {@link logic.Unit Unit} moves next) should combine that
+ * information into the key they use.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class TranspositionTable {
+
+	/** Whether the value of an entry is exact or only a bound on the true value. */
+	public enum Bound {
+		/** The value is the true value. */
+		EXACT,
+		/** The true value is at least the value. */
+		LOWER,
+		/** The true value is at most the value. */
+		UPPER;
+
+		private static final Bound[] VALUES = values();
+	}
+
+	public static final int DEFAULT_SIZE_LOG2 = 16;
+	/** Returned by {@link #probe(long)} when there is no entry for the key. No entry is ever equal to this. */
+	public static final long MISS = 0;
+	/** The largest depth that can be stored. Greater depths are stored as this. */
+	public static final int MAX_DEPTH = (1 << 6) - 1;
+	/** Values must be between {@code -MAX_VALUE} and {@code MAX_VALUE} (inclusive). */
+	public static final int MAX_VALUE = (1 << 23) - 1;
+
+	/* Layout of an entry, from the low bits: value (24 bits, two's complement), depth (6 bits), bound ordinal + 1 (2 bits), ability use (32 bits). */
+	private static final int DEPTH_SHIFT = 24, BOUND_SHIFT = 30, USE_SHIFT = 32;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+
+	/**
+	 * Creates a new, empty {@link TranspositionTable} with {@code 2^}{@link #DEFAULT_SIZE_LOG2} entries.
+	 */
+	public TranspositionTable() {
+		this(DEFAULT_SIZE_LOG2);
+	}
+
+	/**
+	 * Creates a new, empty {@link TranspositionTable} with {@code 2^sizeLog2} entries. Each entry takes 16 bytes.
+	 * @throws IllegalArgumentException if {@code sizeLog2} is not between {@code 0} and {@code 26} (inclusive).
+	 */
+	public TranspositionTable(int sizeLog2) {
+		if(sizeLog2 < 0 || sizeLog2 > 26)
+			throw new IllegalArgumentException("sizeLog2 must be between 0 and 26");
+		this.slots = new AtomicLongArray(2 << sizeLog2);
+		this.mask = (1 << sizeLog2) - 1;
+	}
+
+	/**
+	 * Returns the number of entries this {@link TranspositionTable} can hold.
+	 */
+	public int size() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the entry for the given key, or {@link #MISS} if there is none.
+	 */
+	public long probe(long key) {
+		final int slot = slotOf(key);
+		final long entry = slots.getOpaque(slot + 1);
+		if(entry == MISS || (slots.getOpaque(slot) ^ entry) != key)
+			return MISS;
+		return entry;
+	}
+
+	/**
+	 * Stores an entry for the given key, unless there is already an entry for the same key with a greater depth.
+	 * @throws IllegalArgumentException if {@code depth} is negative or {@code value} is out of range.
+	 */
+	public void store(long key, int depth, int value, Bound bound, int abilityUse) {
+		if(depth < 0)
+			throw new IllegalArgumentException("depth must not be negative");
+		if(value < -MAX_VALUE || value > MAX_VALUE)
+			throw new IllegalArgumentException("value out of range: " + value);
+		final int slot = slotOf(key);
+		final long old = probe(key);
+		if(old != MISS && depthOf(old) > depth)
+			return;
+		final long entry = value & 0xFFFFFFL
+				| (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT
+				| (long) (bound.ordinal() + 1) << BOUND_SHIFT
+				| (long) abilityUse << USE_SHIFT;
+		slots.setOpaque(slot, key ^ entry);
+		slots.setOpaque(slot + 1, entry);
+	}
+
+	/**
+	 * Removes every entry. This should not be called while other threads are using this {@link TranspositionTable}.
+	 */
+	public void clear() {
+		for(int i = 0; i < slots.length(); i++)
+			slots.setOpaque(i, 0);
+	}
+
+	private int slotOf(long key) {
+		return ((int) (key ^ key >>> 32) & mask) << 1;
+	}
+
+	/** Returns the value of the given entry, which must not be {@link #MISS}. */
+	public static int valueOf(long entry) {
+		return (int) entry << 8 >> 8;
+	}
+
+	/** Returns the depth of the given entry, which must not be {@link #MISS}. */
+	public static int depthOf(long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & MAX_DEPTH;
+	}
+
+	/** Returns the {@link Bound} of the given entry, which must not be {@link #MISS}. */
+	public static Bound boundOf(long entry) {
+		return Bound.VALUES[((int) (entry >>> BOUND_SHIFT) & 3) - 1];
+	}
+
+	/** Returns the {@link AbilityUse ability use} of the given entry, which must not be {@link #MISS}. */
+	public static int abilityUseOf(long entry) {
+		return (int) (entry >>> USE_SHIFT);
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Search-based artificial intelligence for the game, such as {@link logic.EnemyPlanner EnemyPlanners} that look ahead instead of following fixed rules.
+ * Like the rest of the {@link logic} package, this package knows nothing about the graphics package.
+ * @author Sam Hooper
+ *
+ */
+package logic.ai;
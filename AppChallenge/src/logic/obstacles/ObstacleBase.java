@@ -68,4 +68,9 @@ public class ObstacleBase extends AbstractHasHealth implements Obstacle {
 	public void setCol(int col) {
 		this.col = col;
 	}
+
+	@Override
+	public Obstacle copy() {
+		return new ObstacleBase(size, getMaxHealth(), getHealth());
+	}
 }
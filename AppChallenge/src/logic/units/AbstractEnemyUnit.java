@@ -5,10 +5,15 @@ import java.util.Collection;
 import java.util.List;
 
 import logic.Ability;
+import logic.AttackFromIndex;
+import logic.Bitboard;
 import logic.Board;
 import logic.EnemyUnit;
 import logic.PlayerUnit;
+import logic.ThreatMap;
+import logic.Turn;
 import logic.Unit;
+import logic.abilities.AttackAbility;
 
 /**
  * @author Sam Hooper
@@ -29,44 +34,21 @@ public abstract class AbstractEnemyUnit extends AbstractUnit implements EnemyUni
 		super(board, row, col, maxHealth, currentHealth, abilities);
 	}
 	
+	/** Scratch space for {@link #fewestTargetsSpotOf(Board, AttackAbility, int[], int, boolean)}. */
+	private final Bitboard candidates = new Bitboard();
+	
+	private static final int[][] VISIBILITY_DIRECTIONS = {{0, -1}, {0, 1}, {1, 0}, {-1, 0}};
+	
 	/**
-	 *	The returned array contains (rowCounts, colCounts).
+	 * Returns the {@link PlayerUnit PlayerUnits} that are the first {@link Unit} or {@link logic.Obstacle Obstacle} to the left of, to the right
+	 * of, below, and above the given tile, in that order. Each direction is one {@link Board#firstOccupiedFrom(int, int, int, int) lookup}.
 	 */
-	protected int[][] getRowColCountsOfTeamUnits(Board board) {
-		int[] rowUnitCounts = new int[board.getRows()]; //do NOT include this unit
-		int[] colUnitCounts = new int[board.getCols()]; //do NOT include this unit
-		for(int i = 0; i < board.getRows(); i++) {
-			for(int j = 0; j < board.getCols(); j++) {
-				if(board.getUnitAtOrNull(i, j) instanceof PlayerUnit) {
-					rowUnitCounts[i]++;
-					colUnitCounts[j]++;
-				}
-			}
-		}
-		return new int[][] {rowUnitCounts, colUnitCounts};
-	}
-	
 	protected Collection<PlayerUnit> playerUnitsVisibleFrom(Board board, final int startRow, final int startCol) {
-		final int[][] deltas = {{0, -1}, {0, 1}, {1, 0}, {-1, 0}};
 		ArrayList<PlayerUnit> unitsList = new ArrayList<>(4);
-		outer:
-		for(int[] delta : deltas) {
-			int dr = delta[0], dc = delta[1];
-			int r = startRow + dr, c = startCol + dc;
-			while(board.inBounds(r, c)) {
-				if(board.hasObstacle(r, c))
-					continue outer;
-				Unit unit = board.getUnitAtOrNull(r, c);
-				if(unit instanceof PlayerUnit) {
-					unitsList.add((PlayerUnit) unit);
-					continue outer;
-				}
-				else if(unit != null) {
-					continue outer;
-				}
-				r += dr;
-				c += dc;
-			}
+		for(int[] delta : VISIBILITY_DIRECTIONS) {
+			final int index = board.firstOccupiedFrom(startRow, startCol, delta[0], delta[1]);
+			if(index >= 0 && board.hasPlayerUnitAt(index) && !board.hasObstacleAt(index))
+				unitsList.add((PlayerUnit) board.getUnitAtOrNull(board.rowOf(index), board.colOf(index)));
 		}
 		return unitsList;
 	}
@@ -90,16 +72,72 @@ public abstract class AbstractEnemyUnit extends AbstractUnit implements EnemyUni
 	}
 	
 	/**
-	 * Returns the spot in the given {@link Collection} where the sum of the number of {@link PlayerUnit}s on that spot's row and the number of {@link PlayerUnit}s
-	 * on that spot's column is minimized. Returns {@code null} if {@code legals} is empty.
+	 * Returns the spot among the first {@code count} {@link Board#indexOf(int, int) packed indices} in {@code legals}, that {@code ability} can
+	 * attack from, from which the fewest (but at least one) {@link PlayerUnit PlayerUnits} are {@link #playerUnitsVisibleFrom(Board, int, int)
+	 * visible}. Ties go to the earliest spot in {@code legals}. Returns {@code -1} if there is no such spot. The spots are found by intersecting
+	 * {@code legals} with the {@link AttackFromIndex#getShootFromUnion() shoot-from union} of the {@link Board#getAttackFromIndex() attack-from
+	 * index}.
+	 */
+	protected int fewestShootTargetsSpotOf(final Board board, final AttackAbility ability, final int[] legals, final int count) {
+		return fewestTargetsSpotOf(board, ability, legals, count, false);
+	}
+	
+	/**
+	 * Returns the spot among the first {@code count} {@link Board#indexOf(int, int) packed indices} in {@code legals}, that {@code ability} can
+	 * attack from, that is 8-adjacent to the fewest (but at least one) {@link PlayerUnit PlayerUnits}. Ties go to the earliest spot in
+	 * {@code legals}. Returns {@code -1} if there is no such spot. The spots are found by intersecting {@code legals} with the
+	 * {@link AttackFromIndex#getMeleeFromUnion() melee-from union} of the {@link Board#getAttackFromIndex() attack-from index}.
+	 */
+	protected int fewestMeleeTargetsSpotOf(final Board board, final AttackAbility ability, final int[] legals, final int count) {
+		return fewestTargetsSpotOf(board, ability, legals, count, true);
+	}
+	
+	/**
+	 * Spots on a tile whose type {@code ability} {@link AttackAbility#canAttackFrom(logic.TileType) cannot attack from} are skipped even if
+	 * {@link PlayerUnit PlayerUnits} could be attacked from them, since moving there would not let this unit attack. When every spot with
+	 * targets is skipped, {@code -1} is returned and the caller falls back to its next case.
+	 */
+	private int fewestTargetsSpotOf(final Board board, final AttackAbility ability, final int[] legals, final int count, final boolean melee) {
+		final AttackFromIndex index = board.getAttackFromIndex();
+		candidates.clear();
+		for(int i = 0; i < count; i++)
+			candidates.set(legals[i]);
+		candidates.and(melee ? index.getMeleeFromUnion() : index.getShootFromUnion());
+		if(candidates.isEmpty())
+			return -1;
+		int pref = -1;
+		int fewestOptions = Integer.MAX_VALUE;
+		for(int i = 0; i < count; i++) {
+			final int legal = legals[i];
+			if(!candidates.get(legal) || !ability.canAttackFrom(board.getTileAtIndex(legal).getType()))
+				continue;
+			final int options = melee ? index.meleeTargetCountAt(legal) : index.shootTargetCountAt(legal);
+			if(options < fewestOptions) {
+				pref = legal;
+				fewestOptions = options;
+			}
+		}
+		return pref;
+	}
+	
+	/**
+	 * Returns the spot among the first {@code count} {@link Board#indexOf(int, int) packed indices} in {@code legals} that the
+	 * {@link PlayerUnit PlayerUnits} could do the least damage to, according to the {@link Board#getThreatMap(Turn, int) threat map} with this
+	 * unit's own tile treated as empty (since this unit will no longer block any shots once it moves). Ties are broken
+	 * by the sum of the number of {@code PlayerUnits} on that spot's row and the number of {@code PlayerUnits} on that spot's column. Returns the
+	 * packed index of the chosen spot, or {@code -1} if {@code count} is {@code 0}.
 	 */
-	protected int[] leastVisibleSpotOf(final Collection<int[]> legals, int[][] rowColCountsOfTeamUnits) {
-		int[] pref = null;
-		int bestScore = Integer.MAX_VALUE;
-		for(int[] legal : legals) {
-			final int score = rowColCountsOfTeamUnits[0][legal[0]] + rowColCountsOfTeamUnits[1][legal[1]];
-			if(score <  bestScore) {
+	protected int leastVisibleSpotOf(final Board board, final int[] legals, final int count) {
+		final ThreatMap threats = board.getThreatMap(Turn.PLAYER, board.indexOf(getRow(), getCol()));
+		int pref = -1;
+		int bestDamage = Integer.MAX_VALUE, bestScore = Integer.MAX_VALUE;
+		for(int i = 0; i < count; i++) {
+			final int legal = legals[i];
+			final int damage = threats.damageAt(legal);
+			final int score = board.getPlayerUnitCountInRow(board.rowOf(legal)) + board.getPlayerUnitCountInCol(board.colOf(legal));
+			if(damage < bestDamage || damage == bestDamage && score < bestScore) {
 				pref = legal;
+				bestDamage = damage;
 				bestScore = score;
 			}
 		}
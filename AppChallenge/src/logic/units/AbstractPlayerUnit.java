@@ -38,4 +38,14 @@ public abstract class AbstractPlayerUnit extends AbstractUnit implements PlayerU
 	public IntRef movesRemainingProperty() {
 		return movesRemaining;
 	}
+	
+	/**
+	 * {@inheritDoc} The copy has the same number of {@link #getMovesRemaining() moves remaining} as this {@code Unit}.
+	 */
+	@Override
+	public Unit copy() {
+		final AbstractPlayerUnit copy = (AbstractPlayerUnit) super.copy();
+		copy.movesRemaining.set(movesRemaining.get());
+		return copy;
+	}
 }
@@ -1,5 +1,6 @@
 package logic.units;
 
+import java.lang.reflect.*;
 import java.util.*;
 
 import logic.*;
@@ -14,6 +15,19 @@ import utils.*;
  */
 public abstract class AbstractUnit extends AbstractHasHealth implements Unit {
 	
+	/** The no-arg constructor of each subclass, used by {@link #copy()}. */
+	private static final ClassValue<Constructor<?>> NO_ARG_CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected Constructor<?> computeValue(Class<?> type) {
+			try {
+				return type.getDeclaredConstructor();
+			}
+			catch(NoSuchMethodException e) {
+				throw new IllegalStateException(type + " does not define a no-arg constructor", e);
+			}
+		}
+	};
+	
 	protected final CollectionRef<Ability> abilities;
 	
 	/**
@@ -148,4 +162,23 @@ public abstract class AbstractUnit extends AbstractHasHealth implements Unit {
 		this.col = col;
 	}
 	
+	/**
+	 * {@inheritDoc} This implementation creates the copy with the no-arg constructor of this {@code Unit}'s class, which must exist, and then copies
+	 * the health and maximum health. Subclasses with other state that can change during a game should override this method to copy it as well.
+	 * @throws IllegalStateException if this {@code Unit}'s class does not define a no-arg constructor or it cannot be invoked.
+	 */
+	@Override
+	public Unit copy() {
+		final AbstractUnit copy;
+		try {
+			copy = (AbstractUnit) NO_ARG_CONSTRUCTORS.get(getClass()).newInstance();
+		}
+		catch(InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Could not copy " + this, e);
+		}
+		copy.maxHealth.set(maxHealth.get());
+		copy.health.set(health.get());
+		return copy;
+	}
+	
 }
@@ -22,6 +22,8 @@ public class Assassin extends AbstractEnemyUnit {
 
 	private final DiamondTeleport teleportAbility;
 	private final Melee meleeAbility;
+	/** Reusable buffers for {@link Ability#getLegals(int[])}. */
+	private final int[] meleeLegals, teleportLegals;
 	
 	public Assassin() {
 		super(DEFAULT_MAX_HEALTH);
@@ -29,17 +31,19 @@ public class Assassin extends AbstractEnemyUnit {
 		this.teleportAbility = new DiamondTeleport(this, DEFAULT_TELEPORT_DISTANCE);
 		this.meleeAbility = new Melee(this, DEFAULT_MELEE_DAMAGE);
 		this.abilities.addAll(teleportAbility, meleeAbility);
+		this.meleeLegals = new int[Bitboard.CAPACITY];
+		this.teleportLegals = new int[Bitboard.CAPACITY];
 	}
 
 	@Override
 	public Move chooseMove(Board board, int movesRemaining) {
-		Collection<int[]> meleeLegals = meleeAbility.getLegals();
-		Collection<int[]> teleportLegals = teleportAbility.getLegals();
-		if(meleeLegals.size() > 0) {
+		final int meleeCount = meleeAbility.getLegals(meleeLegals);
+		final int teleportCount = teleportAbility.getLegals(teleportLegals);
+		if(meleeCount > 0) {
 			Unit bestUnit = null;
 			int bestHealth = Integer.MIN_VALUE;
-			for(int[] legal : meleeLegals) {
-				Unit unit = board.getUnitAtOrNull(legal[0], legal[1]);
+			for(int i = 0; i < meleeCount; i++) {
+				Unit unit = board.getTileAtIndex(meleeLegals[i]).getUnitOrNull();
 				if(!(unit instanceof PlayerUnit))
 					continue;
 				if(unit.getHealth() > bestHealth) {
@@ -54,29 +58,18 @@ public class Assassin extends AbstractEnemyUnit {
 		//case 2: no legal attacks:
 		if(movesRemaining == 1) {
 			//case 2.1: no legal attacks, and no time to make one (only 1 move remaining)
-			int[][] teamUnitCounts = getRowColCountsOfTeamUnits(board);
-			int[] pref = leastVisibleSpotOf(teleportLegals, teamUnitCounts);
-			if(pref == null)
+			int pref = leastVisibleSpotOf(board, teleportLegals, teleportCount);
+			if(pref < 0)
 				return Move.EMPTY_MOVE;
-			return teleportAbility.createMoveFor(pref, null);
+			return teleportAbility.createMoveForIndex(pref, null);
 		}
 		//case 2.2: no legal attacks, but there may be time to make one on a future move.
-		int[] pref = null;
-		int fewestOptions = Integer.MAX_VALUE;
-		for(int[] legal : teleportLegals) {
-			if(!meleeAbility.canAttackFrom(board.getTileAt(legal).getType()))
-				continue;
-			int options = playerUnits8Adjacent(board, legal).size();
-			if(options > 0 && options < fewestOptions) {
-				pref = legal;
-				fewestOptions = options;
-			}
-		}
-		if(pref == null) {
-			if(teleportLegals.size() > 0)
-				return teleportAbility.createMoveFor(Coll.getRandom(teleportLegals), null); //make random move, it might take us closer and we can attack on a future turn
+		int pref = fewestMeleeTargetsSpotOf(board, meleeAbility, teleportLegals, teleportCount);
+		if(pref < 0) {
+			if(teleportCount > 0)
+				return teleportAbility.createMoveForIndex(Coll.getRandom(teleportLegals, teleportCount, board.getRandom()), null); //make random move, it might take us closer and we can attack on a future turn
 			return Move.EMPTY_MOVE;
 		}
-		return teleportAbility.createMoveFor(pref, null);
+		return teleportAbility.createMoveForIndex(pref, null);
 	}
 }
@@ -1,6 +1,5 @@
 package logic.units;
 
-import java.util.Collection;
 import java.util.EnumSet;
 
 import logic.*;
@@ -23,6 +22,8 @@ public class Brute extends AbstractEnemyUnit {
 	private final StepMove stepMoveAbility;
 	private final Shoot shootAbility;
 	private final Smash smashAbility;
+	/** Reusable buffers for {@link Ability#getLegals(int[])}. */
+	private final int[] smashLegals, moveLegals, shootLegals;
 	
 	public Brute() {
 		super(DEFAULT_MAX_HEALTH);
@@ -31,6 +32,9 @@ public class Brute extends AbstractEnemyUnit {
 		this.shootAbility = new Shoot(this, DEFAULT_SHOOT_DAMAGE);
 		this.smashAbility = new Smash(this, DEFAULT_SMASH_DAMAGE, DEFAULT_SMASH_RADIUS);
 		this.abilities.addAll(stepMoveAbility, shootAbility, smashAbility);
+		this.smashLegals = new int[Bitboard.CAPACITY];
+		this.moveLegals = new int[Bitboard.CAPACITY];
+		this.shootLegals = new int[Bitboard.CAPACITY];
 	}
 	
 	public StepMove getStepMoveAbility() {
@@ -49,55 +53,48 @@ public class Brute extends AbstractEnemyUnit {
 	public Move chooseMove(Board board, int movesRemaining) {
 		//case 1: If we can smash, and it would damage at least one player unit, DO IT:
 		final int myRow = getRow(), myCol = getCol(), smashRadius = smashAbility.getRadius();
-		final Collection<int[]> smashLegals = smashAbility.getLegals();
-		if(smashLegals.size() > 0 && board.anyInSquare(myRow, myCol, smashRadius, BoardTile::hasPlayerUnit))
-			return smashAbility.createMoveFor(smashLegals.iterator().next(), null);
+		final SquareCounts counts = board.getSquareCounts(); //cases 1 and 2 make up to one square query per legal step, so build the tables once.
+		if(smashAbility.getLegals(smashLegals) > 0 && counts.countInSquare(TileCategory.PLAYER_UNIT, myRow, myCol, smashRadius, false) > 0)
+			return smashAbility.createMoveForIndex(smashLegals[0], null);
 		//case 2: otherwise, if we could make a move that would put us into a position to smash on our next move, do so:
-		final Collection<int[]> moveLegals = stepMoveAbility.getLegals();
+		final int moveCount = stepMoveAbility.getLegals(moveLegals);
 		if(movesRemaining > 1) {
-			int[] best = null;
+			int best = -1;
 			int bestCount = Integer.MIN_VALUE;
-			for(int[] legal : moveLegals) {
-				int count = board.countSatisfyingInSquare(legal, smashRadius, BoardTile::hasPlayerUnit);
+			for(int i = 0; i < moveCount; i++) {
+				final int legal = moveLegals[i];
+				int count = counts.countInSquare(TileCategory.PLAYER_UNIT, board.rowOf(legal), board.colOf(legal), smashRadius, false);
 				if(count > bestCount) {
-					count = bestCount;
+					bestCount = count;
 					best = legal;
 				}
 			}
 			if(bestCount > 0) {
-				return stepMoveAbility.createMoveFor(best, null);
+				return stepMoveAbility.createMoveForIndex(best, null);
 			} //otherwise, fall through.
 		}
 		//case 3: either we can't make a move that would put us into a position to smash, or we don't have enough moves remaining to do so. Try shooting:
-		final Collection<int[]> shootLegals = shootAbility.getLegals();
-		int[] best = null;
+		final int shootCount = shootAbility.getLegals(shootLegals);
+		Unit target = null;
 		int maxHealth = Integer.MIN_VALUE;
-		for(int[] legal : shootLegals) {
-			Unit u = board.getUnitAtOrNull(legal);
+		for(int i = 0; i < shootCount; i++) {
+			Unit u = board.getTileAtIndex(shootLegals[i]).getUnitOrNull();
 			if(u instanceof PlayerUnit && shootAbility.canTarget(u) && u.getHealth() > maxHealth) {
 				maxHealth = u.getHealth();
-				best = legal;
+				target = u;
 			}
 		}
 		if(maxHealth > 0) {
-			return shootAbility.createMoveFor(best, board.getUnitAtOrThrow(best));
+			return shootAbility.createMoveFor(target.getRow(), target.getCol(), target);
 		}
 		//case 4: can't smash or shoot, can't move into a position to smash on the next turn. Try moving into a position to shoot on the next turn.
-		best = null;
-		int fewestOptions = Integer.MAX_VALUE;
-		for(int[] legal : moveLegals) {
-			int options = playerUnitsVisibleFrom(board, legal[0], legal[1]).size();
-			if(options > 0 && options < fewestOptions) {
-				fewestOptions = options;
-				best = legal;
-			}
-		}
-		if(best != null) {
-			return stepMoveAbility.createMoveFor(best, null);
+		int best = fewestShootTargetsSpotOf(board, shootAbility, moveLegals, moveCount);
+		if(best >= 0) {
+			return stepMoveAbility.createMoveForIndex(best, null);
 		}
 		//case 5: none of the above, but we have legal movements, so pick one at random:
-		if(moveLegals.size() > 0) {
-			return stepMoveAbility.createMoveFor(Coll.getRandom(moveLegals), null);
+		if(moveCount > 0) {
+			return stepMoveAbility.createMoveForIndex(Coll.getRandom(moveLegals, moveCount, board.getRandom()), null);
 		}
 		//case 6: can't smash, shoot, or move:
 		return Move.EMPTY_MOVE;
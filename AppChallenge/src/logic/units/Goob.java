@@ -26,6 +26,8 @@ public class Goob extends AbstractEnemyUnit {
 	
 	private final StepMove stepMoveAbility;
 	private final Shoot shootAbility;
+	/** Reusable buffers for {@link Ability#getLegals(int[])}. */
+	private final int[] stepMoveLegals, shootLegals;
 	
 	public Goob() {
 		super(DEFAULT_MAX_HEALTH);
@@ -33,6 +35,8 @@ public class Goob extends AbstractEnemyUnit {
 		this.stepMoveAbility = new StepMove(this, DEFAULT_MOVE_DISTANCE);
 		this.shootAbility = new Shoot(this, DEFAULT_SHOOT_DAMAGE);
 		this.abilities.addAll(stepMoveAbility, shootAbility);
+		this.stepMoveLegals = new int[Bitboard.CAPACITY];
+		this.shootLegals = new int[Bitboard.CAPACITY];
 	}
 	
 	public StepMove getStepMoveAbility() {
@@ -50,53 +54,36 @@ public class Goob extends AbstractEnemyUnit {
 	 */
 	@Override
 	public Move chooseMove(final Board board, final int movesRemaining) {
-		final Collection<int[]> stepMoveLegals = stepMoveAbility.getLegals();
-		final Collection<int[]> shootLegals = shootAbility.getLegals();
-		final int myRow = getRow(), myCol = getCol();
-//		System.out.printf("\tentered Goob::chooseMove for Goob@(%d,%d), shootLegals=%s%n", row, col, 
-//				shootLegals.stream().map(Arrays::toString).collect(Collectors.joining(", ","[","]")
-//				));
-		if(shootLegals.size() > 0) {
-			int[] min = null;
+		final int stepMoveCount = stepMoveAbility.getLegals(stepMoveLegals);
+		final int shootCount = shootAbility.getLegals(shootLegals);
+		if(shootCount > 0) {
 			Unit minUnit = null;
-			for(int[] legal : shootLegals) {
-				Unit unit = board.getUnitAtOrNull(legal[0], legal[1]);
+			for(int i = 0; i < shootCount; i++) {
+				Unit unit = board.getTileAtIndex(shootLegals[i]).getUnitOrNull();
 				if(unit == null || unit instanceof EnemyUnit)
 					continue;
-				if(minUnit == null || unit.getHealth() > minUnit.getHealth()) {
+				if(minUnit == null || unit.getHealth() > minUnit.getHealth())
 					minUnit = unit;
-					min = legal;
-				}
 			}
 			if(minUnit != null)
-				return shootAbility.createMoveFor(min, minUnit);
+				return shootAbility.createMoveFor(minUnit.getRow(), minUnit.getCol(), minUnit);
 		}
 		
-		int[][] teamUnitCounts = getRowColCountsOfTeamUnits(board);
 		if(movesRemaining == 1) {
-			int[] pref = leastVisibleSpotOf(stepMoveLegals, teamUnitCounts);
-			if(pref == null)
+			int pref = leastVisibleSpotOf(board, stepMoveLegals, stepMoveCount);
+			if(pref < 0)
 				return Move.EMPTY_MOVE;
-			return stepMoveAbility.createMoveFor(pref, null);
+			return stepMoveAbility.createMoveForIndex(pref, null);
 		}
 		// more than one move remaining, but there's nothing we can shoot immediately:
-		int[] pref = null;
-		int fewestOptions = Integer.MAX_VALUE; //search for the spot with the fewest (non-zero) number of units attackable, and attack there. That way we're not in the crossfire of several units.
-		for(int[] legal : stepMoveLegals) {
-			if(!shootAbility.canAttackFrom(board.getTileAt(legal[0], legal[1]).getType()))
-				continue;
-			int options = playerUnitsVisibleFrom(board, legal[0], legal[1]).size();
-			if(options > 0 && options < fewestOptions) {
-				pref = legal;
-				fewestOptions = options;
-			}
-		}
-		if(pref == null) {
-			if(stepMoveLegals.size() > 0)
-				return stepMoveAbility.createMoveFor(Coll.getRandom(stepMoveLegals), null); //make a random move
+		//search for the spot with the fewest (non-zero) number of units attackable, and attack there. That way we're not in the crossfire of several units.
+		int pref = fewestShootTargetsSpotOf(board, shootAbility, stepMoveLegals, stepMoveCount);
+		if(pref < 0) {
+			if(stepMoveCount > 0)
+				return stepMoveAbility.createMoveForIndex(Coll.getRandom(stepMoveLegals, stepMoveCount, board.getRandom()), null); //make a random move
 			return Move.EMPTY_MOVE;
 		}
-		return stepMoveAbility.createMoveFor(pref, null);
+		return stepMoveAbility.createMoveForIndex(pref, null);
 	}
 	
 	@Override
@@ -4,7 +4,7 @@ import java.util.*;
 
 import logic.*;
 import logic.abilities.*;
-import utils.BFS;
+import utils.GridBFS;
 import utils.Coll;
 
 /**
@@ -21,6 +21,8 @@ public class Lobber extends AbstractEnemyUnit {
 	
 	private final StepMove stepMoveAbility;
 	private final Lob lobAbility;
+	/** Reusable buffers for {@link Ability#getLegals(int[])}. */
+	private final int[] stepMoveLegals, lobLegals;
 	
 	public Lobber() {
 		super(DEFAULT_MAX_HEALTH);
@@ -28,56 +30,60 @@ public class Lobber extends AbstractEnemyUnit {
 		this.stepMoveAbility = new StepMove(this, DEFAULT_MOVE_DISTANCE);
 		this.lobAbility = new Lob(this, DEFAULT_LOB_DAMAGE, DEFAULT_LOB_MIN_DISTANCE);
 		this.abilities.addAll(stepMoveAbility, lobAbility);
+		this.stepMoveLegals = new int[Bitboard.CAPACITY];
+		this.lobLegals = new int[Bitboard.CAPACITY];
 	}
 
 	@Override
 	public Move chooseMove(Board board, int movesRemaining) {
 		final int myRow = getRow(), myCol = getCol();
 		//case 1: if we can lob, do so:
-		Collection<int[]> lobLegals = lobAbility.getLegals();
+		final int lobCount = lobAbility.getLegals(lobLegals);
 		final int lobMin = lobAbility.getMinimumDistance();
-		int[] best = null;
+		Unit target = null;
 		int bestHealth = Integer.MIN_VALUE;
-		for(int[] legal : lobLegals) {
-			Unit u = board.getTileAt(legal).getUnitOrNull();
+		for(int i = 0; i < lobCount; i++) {
+			Unit u = board.getTileAtIndex(lobLegals[i]).getUnitOrNull();
 			if(u instanceof PlayerUnit) {
 				int uHealth = u.getHealth();
 				if(uHealth > bestHealth) {
 					bestHealth = uHealth;
-					best = legal;
+					target = u;
 				}
 			}
 		}
-		if(best != null) {
-			return lobAbility.createMoveFor(best, board.getTileAt(best).getPlayerUnitOrThrow());
+		if(target != null) {
+			return lobAbility.createMoveFor(target.getRow(), target.getCol(), target);
 		}
 		//case 2: we can't lob, so try to move to a spot where we could in the future:
-		Collection<int[]> stepMoveLegals = stepMoveAbility.getLegals();
+		final int stepMoveCount = stepMoveAbility.getLegals(stepMoveLegals);
 		BoardTile nearestTile = board.getNearestTileWithPlayerUnit(myRow, myCol, traversableTileTypes);
 		if(nearestTile == null) { //no PlayerUnits on the board
 			return Move.EMPTY_MOVE;
 		}
-		int nearestRow = nearestTile.getRow(), nearestCol = nearestTile.getCol();
-		best = null;
+		//flood outward from every spot we could lob the nearest PlayerUnit from (reusing lobLegals to hold them); the distance to each of our legal moves is then a lookup.
+		final int nearestRow = nearestTile.getRow(), nearestCol = nearestTile.getCol();
+		int lobFromCount = 0;
+		for(int c = 0; c < board.getCols(); c++)
+			if(Math.abs(c - nearestCol) >= lobMin)
+				lobLegals[lobFromCount++] = board.indexOf(nearestRow, c);
+		for(int r = 0; r < board.getRows(); r++)
+			if(Math.abs(r - nearestRow) >= lobMin)
+				lobLegals[lobFromCount++] = board.indexOf(r, nearestCol);
+		final GridBFS bfs = board.getGridBFS();
+		bfs.fill(lobLegals, lobFromCount, (r, c) -> !traversableTileTypes.contains(board.getTileAt(r, c).getType()));
+		int best = -1;
 		int minDist = Integer.MAX_VALUE;
-		for(int[] legal : stepMoveLegals) {
-			BFS.Result<BoardTile> bfsResult = BFS.of(board.getRawTiles(), legal[0], legal[1], tile -> {
-				final int tileRow = tile.getRow(), tileCol = tile.getCol();
-				return 	tileRow == nearestRow && Math.abs(tileCol - nearestCol) >= lobMin ||
-						tileCol == nearestCol && Math.abs(tileRow - nearestRow) >= lobMin;
-			}, tile -> !traversableTileTypes.contains(tile.getType()))
-					.setIncludeStart(true)
-					.search();
-			if(bfsResult.found()) {
-				int pathLength = bfsResult.startNode().length();
-				if(pathLength < minDist) {
-					minDist = pathLength;
-					best = legal;
-				}
+		for(int i = 0; i < stepMoveCount; i++) {
+			final int legal = stepMoveLegals[i];
+			final int pathLength = bfs.distanceTo(legal);
+			if(pathLength >= 0 && pathLength < minDist) {
+				minDist = pathLength;
+				best = legal;
 			}
 		}
-		if(best != null) {
-			return stepMoveAbility.createMoveFor(best, null);
+		if(best >= 0) {
+			return stepMoveAbility.createMoveForIndex(best, null);
 		}
 		//case 3: can't do anything.
 		return Move.EMPTY_MOVE;
@@ -22,6 +22,8 @@ public class Summoner extends AbstractEnemyUnit {
 	private final RadiusSummon summonAbility;
 	private final StepMove stepMoveAbility;
 	private final SelfHeal selfHealAbility;
+	/** Reusable buffer for {@link Ability#getLegals(int[])}. */
+	private final int[] legals;
 	
 	public Summoner() {
 		super(DEFAULT_MAX_HEALTH);
@@ -30,31 +32,32 @@ public class Summoner extends AbstractEnemyUnit {
 		stepMoveAbility = new StepMove(this, DEFAULT_MOVE_DISTANCE);
 		selfHealAbility = new SelfHeal(this, DEFAULT_HEAL_AMOUNT);
 		this.abilities.addAll(summonAbility, stepMoveAbility, selfHealAbility);
+		legals = new int[Bitboard.CAPACITY];
 	}
 
 	@Override
 	public Move chooseMove(Board board, int movesRemaining) {
 		// case 1: if we're below half health and we can heal, do so.
 		final int maxHealth = getMaxHealth();
-		final Collection<int[]> healLegals = selfHealAbility.getLegals();
-		if(healLegals.size() > 0 && getHealth() < maxHealth / 2.0) {
-			return selfHealAbility.createMoveFor(healLegals.iterator().next(), null);
+		final boolean canHeal = selfHealAbility.getLegals(legals) > 0;
+		if(canHeal && getHealth() < maxHealth / 2.0) {
+			return selfHealAbility.createMoveFor(getRow(), getCol(), null);
 		}
 		//case 2: Randomly move sometimes, because otherwise this Unit would never have a reason to do so:
-		if(Math.random() < MOVE_CHANCE) {
-			Collection<int[]> moveLegals = stepMoveAbility.getLegals();
-			if(moveLegals.size() > 0) {
-				return stepMoveAbility.createMoveFor(Coll.getRandom(moveLegals), null);
+		if(board.getRandom().nextDouble() < MOVE_CHANCE) {
+			final int moveCount = stepMoveAbility.getLegals(legals);
+			if(moveCount > 0) {
+				return stepMoveAbility.createMoveForIndex(Coll.getRandom(legals, moveCount, board.getRandom()), null);
 			} //otherwise, fall through and maybe we can heal or summon instead.
 		}
 		//case 3: we don't want to/can't heal, so if we can summon, do it:
-		final Collection<int[]> summonLegals = summonAbility.getLegals();
-		if(summonLegals.size() > 0) {
-			return summonAbility.createMoveFor(Coll.getRandom(summonLegals), null);
+		final int summonCount = summonAbility.getLegals(legals);
+		if(summonCount > 0) {
+			return summonAbility.createMoveForIndex(Coll.getRandom(legals, summonCount, board.getRandom()), null);
 		}
 		//case 4: we're above half health, but we can't summon. Let's heal then (if we're not at full health).
-		if(healLegals.size() > 0) {
-			return selfHealAbility.createMoveFor(healLegals.iterator().next(), null);
+		if(canHeal) {
+			return selfHealAbility.createMoveFor(getRow(), getCol(), null);
 		}
 		//case 5: We're at full health and we can't summon. We can't move, since if we could move we could necessarily summon in one of the spots we could move to. Do nothing.
 		return Move.EMPTY_MOVE;
@@ -10,5 +10,6 @@ module appChallenge {
 	exports graphics;
 	exports logic;
 	exports logic.abilities;
+	exports logic.ai;
 	exports utils;
 }
\ No newline at end of file
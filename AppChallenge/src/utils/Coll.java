@@ -1,6 +1,7 @@
 package utils;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Utility methods for {@link Collection Collections}.
@@ -9,11 +10,17 @@ import java.util.*;
  */
 public final class Coll {
 	/**
-	 * Returns a random item in the given {@link Collection}. <b>This is an O(n) operation and should be used with care.</b>
+	 * Returns a random item in the given {@link Collection}, using the current thread's {@link ThreadLocalRandom}. <b>This is an O(n) operation and
+	 * should be used with care.</b>
 	 * @throws IllegalArgumentException if the given {@linkplain Collection} is empty.
 	 */
 	public static <T> T getRandom(Collection<T> items) {
-		int itemSpot = (int) (Math.random() * items.size());
+		if(items.isEmpty())
+			throw new IllegalArgumentException("Collection is empty. items.size() == " + items.size());
+		return getItem(items, ThreadLocalRandom.current().nextInt(items.size()));
+	}
+	
+	private static <T> T getItem(Collection<T> items, int itemSpot) {
 		for(T item : items) {
 			if(itemSpot == 0)
 				return item;
@@ -21,4 +28,14 @@ public final class Coll {
 		}
 		throw new IllegalArgumentException("Collection is empty. items.size() == " + items.size());
 	}
+	
+	/**
+	 * Returns a random item from the first {@code length} items of the given array, chosen using the given {@link SplittableRandom}.
+	 * @throws IllegalArgumentException if {@code length} is not positive.
+	 */
+	public static int getRandom(int[] items, int length, SplittableRandom random) {
+		if(length <= 0)
+			throw new IllegalArgumentException("No items to choose from. length == " + length);
+		return items[random.nextInt(length)];
+	}
 }
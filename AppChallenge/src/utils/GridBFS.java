@@ -0,0 +1,213 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * <p>A breadth-first search over a rectangular grid that can be reused for any number of searches without allocating. Cells are identified by
+ * their packed index, {@code row * cols + col}. Movement is between 4-adjacent cells.</p>
+ *
+ * <p>A {@code GridBFS} keeps an {@code int[]} queue, a parent array, a distance array, and an epoch-stamped visited array, all sized to the grid.
+ * Each search increments the epoch instead of clearing the visited array, so starting a search is O(1). After a search, the path to any
+ * visited cell can be reconstructed with {@link #parentOf(int)} or {@link #getPath(int, int[])}. The results of a search are valid until the next
+ * search begins.</p>
+ *
+ * <p>Besides single-source searches for a target, a {@code GridBFS} can {@link #fill(int[], int, CellPredicate) flood} outward from many
+ * sources at once, after which {@link #distanceTo(int)} gives the distance from each cell to its nearest source and {@link #originOf(int)} gives
+ * that source.</p>
+ *
+ * <p>A search has a stop predicate and a target predicate:
+ * <ul>
+ * <li><b>Stop Predicate:</b> evaluates to {@code true} if the search is not allowed to access a cell. If the stop predicate evaluates to
+ * {@code true} on a cell, that cell cannot be the target.</li>
+ * <li><b>Target Predicate:</b> evaluates to {@code true} if the given cell is the thing being searched for.</li>
+ * </ul>
+ * If the start is included, the predicates are evaluated on the start cell like any other. Otherwise, they are never evaluated on the start cell.</p>
+ *
+ * <p>This class is not safe for use by multiple concurrent threads.</p>
+ * @author Sam Hooper
+ *
+ */
+public final class GridBFS {
+
+	/**
+	 * A predicate on a single cell of the grid, given by its row and column.
+	 */
+	@FunctionalInterface
+	public interface CellPredicate {
+		boolean test(int row, int col);
+	}
+
+	/** Returned by {@link #search(int, int, boolean, CellPredicate, CellPredicate)} when no target is found. */
+	public static final int NOT_FOUND = -1;
+
+	private static final CellPredicate NEVER = (r, c) -> false;
+
+	private final int rows, cols;
+	private final int[] queue, parent, distance, origin, stamp;
+	private int epoch;
+
+	public GridBFS(int rows, int cols) {
+		if(rows <= 0 || cols <= 0)
+			throw new IllegalArgumentException("rows and cols must be positive");
+		this.rows = rows;
+		this.cols = cols;
+		this.queue = new int[rows * cols];
+		this.parent = new int[rows * cols];
+		this.distance = new int[rows * cols];
+		this.origin = new int[rows * cols];
+		this.stamp = new int[rows * cols];
+		this.epoch = 0;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getCols() {
+		return cols;
+	}
+
+	/**
+	 * Equivalent to {@code search(startRow, startCol, includeStart, target, null)}.
+	 */
+	public int search(int startRow, int startCol, boolean includeStart, CellPredicate target) {
+		return search(startRow, startCol, includeStart, target, null);
+	}
+
+	/**
+	 * Searches outward from the given start cell and returns the packed index of the nearest cell satisfying {@code target}, or {@link #NOT_FOUND}
+	 * if there is none. If {@code stop} is {@code null}, every cell may be accessed.
+	 */
+	public int search(int startRow, int startCol, boolean includeStart, CellPredicate target, CellPredicate stop) {
+		if(stop == null)
+			stop = NEVER;
+		nextEpoch();
+		final int start = startRow * cols + startCol;
+		visit(start, -1, 0, start);
+		if(includeStart) {
+			if(stop.test(startRow, startCol))
+				return NOT_FOUND;
+			if(target.test(startRow, startCol))
+				return start;
+		}
+		int head = 0, tail = 0;
+		queue[tail++] = start;
+		while(head < tail) {
+			final int index = queue[head++];
+			final int row = index / cols, col = index - row * cols;
+			if(row > 0 && (tail = expand(index - cols, row - 1, col, index, tail, target, stop)) < 0)
+				return queue[-tail - 1];
+			if(col < cols - 1 && (tail = expand(index + 1, row, col + 1, index, tail, target, stop)) < 0)
+				return queue[-tail - 1];
+			if(row < rows - 1 && (tail = expand(index + cols, row + 1, col, index, tail, target, stop)) < 0)
+				return queue[-tail - 1];
+			if(col > 0 && (tail = expand(index - 1, row, col - 1, index, tail, target, stop)) < 0)
+				return queue[-tail - 1];
+		}
+		return NOT_FOUND;
+	}
+	
+	/**
+	 * Floods outward from the first {@code count} packed indices in {@code sources} at once, visiting every cell that can be reached from any of them.
+	 * Sources on which {@code stop} evaluates to {@code true} are ignored. If {@code stop} is {@code null}, every cell may be accessed. Returns the
+	 * number of cells visited, including the sources.
+	 */
+	public int fill(int[] sources, int count, CellPredicate stop) {
+		if(stop == null)
+			stop = NEVER;
+		nextEpoch();
+		int head = 0, tail = 0;
+		for(int i = 0; i < count; i++) {
+			final int source = sources[i];
+			if(stamp[source] == epoch || stop.test(source / cols, source % cols))
+				continue;
+			visit(source, -1, 0, source);
+			queue[tail++] = source;
+		}
+		while(head < tail) {
+			final int index = queue[head++];
+			final int row = index / cols, col = index - row * cols;
+			if(row > 0)
+				tail = expand(index - cols, row - 1, col, index, tail, NEVER, stop);
+			if(col < cols - 1)
+				tail = expand(index + 1, row, col + 1, index, tail, NEVER, stop);
+			if(row < rows - 1)
+				tail = expand(index + cols, row + 1, col, index, tail, NEVER, stop);
+			if(col > 0)
+				tail = expand(index - 1, row, col - 1, index, tail, NEVER, stop);
+		}
+		return tail;
+	}
+
+	/**
+	 * Visits the given cell if it has not been visited and is not stopped. Returns the new tail of the queue, or {@code -(tail + 1)} if the cell
+	 * is the target, in which case the target is the last element of the queue.
+	 */
+	private int expand(int index, int row, int col, int from, int tail, CellPredicate target, CellPredicate stop) {
+		if(stamp[index] == epoch || stop.test(row, col))
+			return tail;
+		visit(index, from, distance[from] + 1, origin[from]);
+		queue[tail++] = index;
+		return target.test(row, col) ? -tail : tail;
+	}
+
+	private void visit(int index, int from, int d, int source) {
+		stamp[index] = epoch;
+		parent[index] = from;
+		distance[index] = d;
+		origin[index] = source;
+	}
+
+	private void nextEpoch() {
+		if(++epoch == 0) { //wrapped around: every stamp might now look current, so clear them.
+			Arrays.fill(stamp, 0);
+			epoch = 1;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the cell with the given packed index was reached by the most recent search, {@code false} otherwise. A search that
+	 * found its target stops early, so cells further away than the target may not have been reached.
+	 */
+	public boolean wasVisited(int index) {
+		return stamp[index] == epoch;
+	}
+
+	/**
+	 * Returns the number of steps from the start of the most recent search to the given cell, or {@code -1} if the cell was not
+	 * {@link #wasVisited(int) visited}.
+	 */
+	public int distanceTo(int index) {
+		return wasVisited(index) ? distance[index] : -1;
+	}
+
+	/**
+	 * Returns the packed index of the start or source cell that the most recent search reached the given cell from, or {@code -1} if the cell
+	 * was not {@link #wasVisited(int) visited}. After a {@link #fill(int[], int, CellPredicate) fill}, this is the nearest source to the cell.
+	 */
+	public int originOf(int index) {
+		return wasVisited(index) ? origin[index] : -1;
+	}
+	
+	/**
+	 * Returns the packed index of the cell before the given one on the path from the start of the most recent search, or {@code -1} if the given
+	 * cell is the start or was not {@link #wasVisited(int) visited}.
+	 */
+	public int parentOf(int index) {
+		return wasVisited(index) ? parent[index] : -1;
+	}
+
+	/**
+	 * Writes the path from the start of the most recent search to the given cell (both inclusive) into {@code buffer}, starting at index {@code 0},
+	 * and returns its length. Returns {@code 0} if the cell was not {@link #wasVisited(int) visited}. {@code buffer} must have room for
+	 * {@code distanceTo(index) + 1} elements.
+	 */
+	public int getPath(int index, int[] buffer) {
+		if(!wasVisited(index))
+			return 0;
+		final int length = distance[index] + 1;
+		for(int i = length - 1; i >= 0; i--, index = parent[index])
+			buffer[i] = index;
+		return length;
+	}
+}